@@ -0,0 +1,122 @@
+package kr.co.mash_up.benchmark;
+
+import kr.co.mash_up.nine_tique.config.JwtSettings;
+import kr.co.mash_up.nine_tique.domain.*;
+import kr.co.mash_up.nine_tique.security.Authorities;
+import kr.co.mash_up.nine_tique.security.JwtTokenUtil;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * benchmark 공통 객체 생성
+ * Spring context 없이 측정하기 위해 설정값과 entity를 직접 만든다. 값은 application.properties, 운영 데이터와 비슷하게 맞춘다.
+ */
+public final class BenchmarkFixtures {
+
+    private static final String SIGNING_KEY = "qTLY/BYBom546U8mvYwdE/59JbYY+qKucaEme8Z8jQbyF5MvXuWNnkJOmTSguaWbB9R00hpoI/DUdZF2zee26A";
+
+    public static final int IMAGE_COUNT = 3;  // 상품당 이미지 수
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * @param claimsCacheSize 검증된 claim 캐시 크기. 0이면 캐시하지 않는다.
+     */
+    public static JwtSettings jwtSettings(long claimsCacheSize) {
+        JwtSettings jwtSettings = new JwtSettings();
+        ReflectionTestUtils.setField(jwtSettings, "tokenHeader", "Authorization");
+        ReflectionTestUtils.setField(jwtSettings, "tokenExpirationTime", 604800L);
+        ReflectionTestUtils.setField(jwtSettings, "tokenIssuer", "http://mash-up.co.kr/9tique");
+        ReflectionTestUtils.setField(jwtSettings, "tokenSigningKey", SIGNING_KEY);
+        ReflectionTestUtils.setField(jwtSettings, "claimsCacheSize", claimsCacheSize);
+        ReflectionTestUtils.setField(jwtSettings, "principalFromClaims", true);
+        ReflectionTestUtils.setField(jwtSettings, "principalCacheSize", 1000L);
+        ReflectionTestUtils.setField(jwtSettings, "principalCacheExpirationTime", 600L);
+        return jwtSettings;
+    }
+
+    public static JwtTokenUtil jwtTokenUtil(JwtSettings jwtSettings) {
+        JwtTokenUtil jwtTokenUtil = new JwtTokenUtil();
+        ReflectionTestUtils.setField(jwtTokenUtil, "jwtSettings", jwtSettings);
+        jwtTokenUtil.init();
+        return jwtTokenUtil;
+    }
+
+    /**
+     * @return USER 권한을 가진 id 1 유저
+     */
+    public static User user() {
+        Authority authority = new Authority();
+        authority.setAuthority(Authorities.USER);
+        User user = new User("benchmarkOauthToken", User.OauthType.KAKAO, new HashSet<>());
+        user.addAuthority(authority);
+        user.setId(1L);
+        return user;
+    }
+
+    /**
+     * 1번 매장, 1번 카테고리에 속한 상품. id는 1부터 순서대로
+     *
+     * @param count 상품 수
+     */
+    public static List<Product> products(int count) {
+        Shop shop = new Shop();
+        ReflectionTestUtils.setField(shop, "id", 1L);
+        shop.setName("9tique benchmark shop");
+        shop.setInfo("빈티지 셀렉샵. 매주 월, 목 신상품 입고");
+        shop.setPhone("010-1234-5678");
+        shop.setKakaoOpenChatUrl("https://open.kakao.com/o/benchmark");
+
+        Category category = new Category();
+        ReflectionTestUtils.setField(category, "id", 1L);
+        category.setMain("OUTER");
+        category.setSub("COAT");
+        category.setEnabled(true);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Product product = new Product();
+            ReflectionTestUtils.setField(product, "id", (long) i);
+            product.setName("빈티지 울 코트 " + i);
+            product.setBrandName("Burberry");
+            product.setSize("M");
+            product.setPrice(89000 + i * 1000);
+            product.setDescription("어깨 48, 가슴 56, 총장 110. 오염 없음, 단추 1개 교체");
+            product.setStatus(i % 5 == 0 ? Product.Status.SOLD_OUT : Product.Status.SELL);
+            product.setEnabled(true);
+            product.setShop(shop);
+            product.setCategory(category);
+            ReflectionTestUtils.setField(product, "createdAt", now.minusMinutes(i));
+            ReflectionTestUtils.setField(product, "updatedAt", now.minusMinutes(i));
+            products.add(product);
+        }
+        return products;
+    }
+
+    /**
+     * @return 상품마다 IMAGE_COUNT개의 이미지가 있는 상품 카드
+     */
+    public static List<ProductCard> productCards(List<Product> products) {
+        List<ProductCard> productCards = new ArrayList<>(products.size());
+        for (Product product : products) {
+            List<ProductImage> productImages = new ArrayList<>(IMAGE_COUNT);
+            for (int i = 0; i < IMAGE_COUNT; i++) {
+                ProductImage productImage = new ProductImage();
+                productImage.setFileName("c0a8012e-4f1b-4a6e-9d3c-" + product.getId() + "_1508313600_" + i + ".jpg");
+                productImage.setProduct(product);
+                productImages.add(productImage);
+            }
+
+            ProductCard productCard = new ProductCard(product.getId());
+            productCard.update(product, productImages);
+            productCards.add(productCard);
+        }
+        return productCards;
+    }
+}
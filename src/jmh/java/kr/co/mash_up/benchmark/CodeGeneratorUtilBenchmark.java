@@ -0,0 +1,39 @@
+package kr.co.mash_up.benchmark;
+
+import kr.co.mash_up.nine_tique.util.CodeGeneratorUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이미지 업로드마다 호출되는 파일 이름 생성 비용
+ * UUID.randomUUID()는 SecureRandom을 사용하므로 여러 thread에서 동시에 호출할 때도 측정한다.
+ * <p>
+ * ./gradlew jmh -PjmhInclude=CodeGeneratorUtilBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodeGeneratorUtilBenchmark {
+
+    private String originalFileName = "IMG_20171018_153012.jpg";
+
+    @Benchmark
+    public String generateFileName() {
+        return CodeGeneratorUtil.generateFileName(originalFileName);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String generateFileNameContended() {
+        return CodeGeneratorUtil.generateFileName(originalFileName);
+    }
+
+    @Benchmark
+    public String generateAuthentiCode() {
+        return CodeGeneratorUtil.generateAuthentiCode();
+    }
+}
@@ -0,0 +1,80 @@
+package kr.co.mash_up.benchmark;
+
+import kr.co.mash_up.nine_tique.config.JwtSettings;
+import kr.co.mash_up.nine_tique.repository.UserRepository;
+import kr.co.mash_up.nine_tique.security.Authorities;
+import kr.co.mash_up.nine_tique.security.JwtAuthenticationTokenFilter;
+import kr.co.mash_up.nine_tique.security.JwtTokenUtil;
+import kr.co.mash_up.nine_tique.security.UserPrincipalStore;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 인증된 요청 1건이 JwtAuthenticationTokenFilter를 통과하는 처리량
+ * claimsCacheSize=0 은 캐시 없이 요청마다 parse & 서명 검증, 10000 은 검증된 claim 캐시 사용
+ * legacyParseTwice는 변경 전 filter처럼 같은 token을 2번 parse & 서명 검증하는 비용
+ * <p>
+ * ./gradlew jmh -PjmhInclude=JwtAuthenticationFilterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"0", "10000"})
+    public long claimsCacheSize;
+
+    private JwtTokenUtil jwtTokenUtil;
+
+    private JwtAuthenticationTokenFilter filter;
+
+    private String token;
+
+    @Setup
+    public void setup() {
+        JwtSettings jwtSettings = BenchmarkFixtures.jwtSettings(claimsCacheSize);
+        jwtTokenUtil = BenchmarkFixtures.jwtTokenUtil(jwtSettings);
+        token = jwtTokenUtil.generateToken(BenchmarkFixtures.user());
+
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findAuthorities(1L)).thenReturn(Collections.singletonList(Authorities.USER));
+
+        UserPrincipalStore userPrincipalStore = new UserPrincipalStore();
+        ReflectionTestUtils.setField(userPrincipalStore, "userRepository", userRepository);
+        ReflectionTestUtils.setField(userPrincipalStore, "jwtSettings", jwtSettings);
+        userPrincipalStore.init();
+
+        filter = new JwtAuthenticationTokenFilter();
+        ReflectionTestUtils.setField(filter, "jwtSettings", jwtSettings);
+        ReflectionTestUtils.setField(filter, "jwtTokenUtil", jwtTokenUtil);
+        ReflectionTestUtils.setField(filter, "userPrincipalStore", userPrincipalStore);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse filter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products/1");
+        request.addHeader("Authorization", JwtAuthenticationTokenFilter.HEADER_PREFIX + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+        SecurityContextHolder.clearContext();
+        return response;
+    }
+
+    @Benchmark
+    public Long legacyParseTwice() {
+        jwtTokenUtil.getClaimsFromToken(token).getExpiration();
+        return Long.valueOf((String) jwtTokenUtil.getClaimsFromToken(token).get("user_id"));
+    }
+}
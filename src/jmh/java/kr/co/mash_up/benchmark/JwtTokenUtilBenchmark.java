@@ -0,0 +1,52 @@
+package kr.co.mash_up.benchmark;
+
+import io.jsonwebtoken.Claims;
+import kr.co.mash_up.nine_tique.domain.User;
+import kr.co.mash_up.nine_tique.security.JwtClaims;
+import kr.co.mash_up.nine_tique.security.JwtTokenUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * token 발급(login, 권한 추가)과 parse & 서명 검증 1회 비용
+ * parseToken은 검증된 claim 캐시(jwt.claims_cache_size)를 거치는 filter의 실제 경로
+ * <p>
+ * ./gradlew jmh -PjmhInclude=JwtTokenUtilBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenUtilBenchmark {
+
+    private JwtTokenUtil jwtTokenUtil;
+
+    private User user;
+
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtTokenUtil = BenchmarkFixtures.jwtTokenUtil(BenchmarkFixtures.jwtSettings(10000L));
+        user = BenchmarkFixtures.user();
+        token = jwtTokenUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public Claims getClaimsFromToken() {
+        return jwtTokenUtil.getClaimsFromToken(token);
+    }
+
+    @Benchmark
+    public JwtClaims parseTokenCached() {
+        return jwtTokenUtil.parseToken(token);
+    }
+}
@@ -0,0 +1,97 @@
+package kr.co.mash_up.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.co.mash_up.nine_tique.domain.Product;
+import kr.co.mash_up.nine_tique.domain.ProductCard;
+import kr.co.mash_up.nine_tique.dto.ProductDto;
+import kr.co.mash_up.nine_tique.service.ProductCardService;
+import kr.co.mash_up.nine_tique.util.LongHashSet;
+import kr.co.mash_up.nine_tique.vo.DataListResponseVO;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 상품 리스트 1페이지를 응답으로 만드는 CPU 비용(DB 조회 제외)
+ * - toProductDtos: 상품 카드 -> ProductDto 변환과 찜/판매자 여부 표시(ProductService.toProductDtos와 같은 변환)
+ * - checkProductZzim: 페이지 상품마다 Product.checkProductZzim
+ * - serializeListResponse: DataListResponseVO<ProductDto> JSON 직렬화. Spring MVC와 같은 설정의 ObjectMapper 사용
+ * <p>
+ * ./gradlew jmh -PjmhInclude=ProductListingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductListingBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ProductCardService productCardService;
+
+    private ObjectMapper objectMapper;
+
+    private List<Product> products;
+
+    private List<ProductCard> productCards;
+
+    private LongHashSet zzimProductIds;
+
+    private LongHashSet sellerProductIds;
+
+    private DataListResponseVO<ProductDto> listResponse;
+
+    @Setup
+    public void setup() {
+        productCardService = new ProductCardService();  // toProductDto는 다른 bean을 사용하지 않는다.
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        products = BenchmarkFixtures.products(pageSize);
+        productCards = BenchmarkFixtures.productCards(products);
+
+        // 페이지 상품 중 1/3은 찜, 1/10은 내가 등록한 상품
+        zzimProductIds = LongHashSet.of(products.stream()
+                .map(Product::getId)
+                .filter(id -> id % 3 == 0)
+                .collect(Collectors.toList()));
+        sellerProductIds = LongHashSet.of(products.stream()
+                .map(Product::getId)
+                .filter(id -> id % 10 == 0)
+                .collect(Collectors.toList()));
+
+        listResponse = new DataListResponseVO<ProductDto>(
+                new SliceImpl<ProductDto>(toProductDtos(), new PageRequest(0, pageSize), true));
+    }
+
+    @Benchmark
+    public List<ProductDto> toProductDtos() {
+        return productCards.stream()
+                .map(productCard -> productCardService.toProductDto(productCard)
+                        .withZzimStatus(zzimProductIds.contains(productCard.getProductId()))
+                        .withSeller(sellerProductIds.contains(productCard.getProductId()))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public void checkProductZzim(Blackhole blackhole) {
+        for (Product product : products) {
+            blackhole.consume(product.checkProductZzim(zzimProductIds));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeListResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(listResponse);
+    }
+}
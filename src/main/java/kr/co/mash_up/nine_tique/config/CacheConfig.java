@@ -0,0 +1,14 @@
+package kr.co.mash_up.nine_tique.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caffeine cache 설정
+ * cache 이름, 크기/TTL은 application.properties의 spring.cache.* 에서 설정
+ * recordStats로 집계된 hit/miss는 /management/metrics의 cache.{cache 이름}.* 로 확인
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
@@ -0,0 +1,93 @@
+package kr.co.mash_up.nine_tique.config;
+
+import com.zaxxer.hikari.metrics.MetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import kr.co.mash_up.nine_tique.util.LatencyHistogram;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * connection pool(HikariCP) metric
+ * latency가 튈 때 connection을 기다린 시간(pool 고갈)인지 쿼리 자체가 느린 것인지 구분할 수 있도록
+ * connection 획득 시간과 사용 시간을 histogram으로 모으고, pool 상태와 함께 /management/metrics로 보여준다.
+ * <p>
+ * datasource.pool.{total,active,idle,pending} - 현재 connection 수, 기다리는 thread 수
+ * datasource.pool.acquire.* - connection 획득(대기) 시간(ms). count, time.total, mean, p50, p95, p99, max, bucket.le_*(누적 개수)
+ * datasource.pool.usage.* - 빌린 connection을 반납하기까지 사용한 시간(ms)
+ * datasource.pool.timeouts - connection-timeout 안에 connection을 얻지 못한 수
+ */
+public class ConnectionPoolMetrics implements MetricsTrackerFactory, PublicMetrics {
+
+    private static final String PREFIX = "datasource.pool.";
+
+    private final LatencyHistogram acquireHistogram = new LatencyHistogram();
+
+    private final LatencyHistogram usageHistogram = new LatencyHistogram();
+
+    private final LongAdder timeouts = new LongAdder();
+
+    private volatile PoolStats poolStats;
+
+    @Override
+    public MetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolStats = poolStats;
+        return new MetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquireHistogram.record(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                usageHistogram.record(elapsedBorrowedMillis * 1_000_000);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+        };
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        PoolStats stats = poolStats;
+        if (stats == null) {  // 아직 pool이 시작되지 않음
+            return Collections.emptyList();
+        }
+
+        List<Metric<?>> metrics = new ArrayList<>();
+        metrics.add(new Metric<>(PREFIX + "total", stats.getTotalConnections()));
+        metrics.add(new Metric<>(PREFIX + "active", stats.getActiveConnections()));
+        metrics.add(new Metric<>(PREFIX + "idle", stats.getIdleConnections()));
+        metrics.add(new Metric<>(PREFIX + "pending", stats.getPendingThreads()));
+        metrics.add(new Metric<>(PREFIX + "timeouts", timeouts.sum()));
+        addHistogram(metrics, PREFIX + "acquire.", acquireHistogram);
+        metrics.add(new Metric<>(PREFIX + "acquire.time.total", acquireHistogram.getTotalMillis()));
+        addHistogram(metrics, PREFIX + "usage.", usageHistogram);
+
+        long[] bounds = LatencyHistogram.getBoundsMicros();
+        long[] cumulativeCounts = acquireHistogram.getCumulativeCounts();
+        for (int i = 0; i < bounds.length; i++) {
+            metrics.add(new Metric<>(PREFIX + "acquire.bucket.le_" + bounds[i] + "us", cumulativeCounts[i]));
+        }
+        metrics.add(new Metric<>(PREFIX + "acquire.bucket.le_inf", cumulativeCounts[bounds.length]));
+        return metrics;
+    }
+
+    private static void addHistogram(List<Metric<?>> metrics, String prefix, LatencyHistogram histogram) {
+        metrics.add(new Metric<>(prefix + "count", histogram.getCount()));
+        metrics.add(new Metric<>(prefix + "mean", histogram.getMeanMillis()));
+        metrics.add(new Metric<>(prefix + "p50", histogram.getPercentileMillis(0.50)));
+        metrics.add(new Metric<>(prefix + "p95", histogram.getPercentileMillis(0.95)));
+        metrics.add(new Metric<>(prefix + "p99", histogram.getPercentileMillis(0.99)));
+        metrics.add(new Metric<>(prefix + "max", histogram.getMaxMillis()));
+    }
+}
@@ -0,0 +1,45 @@
+package kr.co.mash_up.nine_tique.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * connection pool(HikariCP) 설정
+ * pool 크기, timeout 등은 spring.datasource.hikari.*로 설정하고, 여기서는 설정 파일로 지정할 수 없는 것만 붙인다.
+ * - connection 획득/사용 시간 metric(ConnectionPoolMetrics)
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    public static ConnectionPoolMetrics connectionPoolMetrics() {
+        return new ConnectionPoolMetrics();
+    }
+
+    /**
+     * spring.datasource.hikari.* 가 바인딩된 후, pool이 시작(첫 getConnection)되기 전에 적용
+     */
+    @Bean
+    public static BeanPostProcessor hikariDataSourcePostProcessor(ConnectionPoolMetrics connectionPoolMetrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+                return bean;
+            }
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+                if (!(bean instanceof HikariDataSource)) {
+                    return bean;
+                }
+
+                HikariDataSource dataSource = (HikariDataSource) bean;
+                dataSource.setMetricsTrackerFactory(connectionPoolMetrics);
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,58 @@
+package kr.co.mash_up.nine_tique.config;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Hibernate 통계(hibernate.generate_statistics) metric. 서버 시작 후 누적값
+ * <p>
+ * hibernate.statements.{prepared,closed} - JDBC statement 수
+ * hibernate.queries.executed, hibernate.queries.max_time - HQL/JPQL 실행 수, 가장 느린 쿼리 시간(ms)
+ * hibernate.entities.{loaded,fetched,inserted,updated,deleted} - fetched는 lazy loading 등으로 따로 조회한 수
+ * hibernate.collections.{loaded,fetched}
+ * hibernate.sessions.opened, hibernate.transactions, hibernate.flushes, hibernate.connections
+ */
+@Component
+public class HibernateMetrics implements PublicMetrics {
+
+    private static final String PREFIX = "hibernate.";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            return Collections.emptyList();
+        }
+
+        List<Metric<?>> metrics = new ArrayList<>();
+        metrics.add(new Metric<>(PREFIX + "statements.prepared", statistics.getPrepareStatementCount()));
+        metrics.add(new Metric<>(PREFIX + "statements.closed", statistics.getCloseStatementCount()));
+        metrics.add(new Metric<>(PREFIX + "queries.executed", statistics.getQueryExecutionCount()));
+        metrics.add(new Metric<>(PREFIX + "queries.max_time", statistics.getQueryExecutionMaxTime()));
+        metrics.add(new Metric<>(PREFIX + "entities.loaded", statistics.getEntityLoadCount()));
+        metrics.add(new Metric<>(PREFIX + "entities.fetched", statistics.getEntityFetchCount()));
+        metrics.add(new Metric<>(PREFIX + "entities.inserted", statistics.getEntityInsertCount()));
+        metrics.add(new Metric<>(PREFIX + "entities.updated", statistics.getEntityUpdateCount()));
+        metrics.add(new Metric<>(PREFIX + "entities.deleted", statistics.getEntityDeleteCount()));
+        metrics.add(new Metric<>(PREFIX + "collections.loaded", statistics.getCollectionLoadCount()));
+        metrics.add(new Metric<>(PREFIX + "collections.fetched", statistics.getCollectionFetchCount()));
+        metrics.add(new Metric<>(PREFIX + "sessions.opened", statistics.getSessionOpenCount()));
+        metrics.add(new Metric<>(PREFIX + "transactions", statistics.getTransactionCount()));
+        metrics.add(new Metric<>(PREFIX + "flushes", statistics.getFlushCount()));
+        metrics.add(new Metric<>(PREFIX + "connections", statistics.getConnectCount()));
+        return metrics;
+    }
+}
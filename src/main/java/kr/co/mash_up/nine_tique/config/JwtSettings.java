@@ -21,6 +21,18 @@ public class JwtSettings {
     @Value(value = "${jwt.refresh_token_expiration_time}")
     private long refreshTokenExpTime;
 
+    @Value(value = "${jwt.claims_cache_size:10000}")
+    private long claimsCacheSize;  // 검증된 claim 캐시 크기. 0이면 캐시하지 않는다.
+
+    @Value(value = "${jwt.principal_from_claims:true}")
+    private boolean principalFromClaims;  // token의 권한 claim으로 principal 생성. false면 항상 principal 캐시 사용
+
+    @Value(value = "${jwt.principal_cache_size:1000}")
+    private long principalCacheSize;
+
+    @Value(value = "${jwt.principal_cache_expiration_time:600}")
+    private long principalCacheExpirationTime;
+
     public String getTokenHeader() {
         return tokenHeader;
     }
@@ -40,4 +52,20 @@ public class JwtSettings {
     public long getRefreshTokenExpTime() {
         return refreshTokenExpTime;
     }
+
+    public long getClaimsCacheSize() {
+        return claimsCacheSize;
+    }
+
+    public boolean isPrincipalFromClaims() {
+        return principalFromClaims;
+    }
+
+    public long getPrincipalCacheSize() {
+        return principalCacheSize;
+    }
+
+    public long getPrincipalCacheExpirationTime() {
+        return principalCacheExpirationTime;
+    }
 }
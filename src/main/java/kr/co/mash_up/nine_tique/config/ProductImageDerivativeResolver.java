@@ -0,0 +1,66 @@
+package kr.co.mash_up.nine_tique.config;
+
+import kr.co.mash_up.nine_tique.domain.ProductImage;
+import kr.co.mash_up.nine_tique.service.ProductImageDerivativeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.resource.AbstractResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 파생 이미지(product/{id}/{thumb|compressed}/{fileName}.jpg)가 아직 없으면 원본을 응답하고 생성 작업을 등록한다.
+ * worker queue가 가득 차서 버려졌거나 기능 추가 전에 올라간 이미지도 처음 요청될 때 만들어진다.
+ */
+@Slf4j
+public class ProductImageDerivativeResolver extends AbstractResourceResolver {
+
+    private static final Pattern DERIVATIVE_PATH = Pattern.compile("^product/(\\d+)/([a-z]+)/([\\w.-]+\\.jpg)$");
+
+    private final ProductImageDerivativeService productImageDerivativeService;
+
+    public ProductImageDerivativeResolver(ProductImageDerivativeService productImageDerivativeService) {
+        this.productImageDerivativeService = productImageDerivativeService;
+    }
+
+    @Override
+    protected Resource resolveResourceInternal(HttpServletRequest request, String requestPath,
+                                               List<? extends Resource> locations, ResourceResolverChain chain) {
+        Resource resource = chain.resolveResource(request, requestPath, locations);
+        if (resource != null) {
+            return resource;
+        }
+
+        Matcher matcher = DERIVATIVE_PATH.matcher(requestPath);
+        if (!matcher.matches()) {
+            return null;
+        }
+        ProductImage.Derivative derivative = ProductImage.Derivative.fromDirName(matcher.group(2));
+        if (derivative == null) {
+            return null;
+        }
+
+        String originalPath = "product/" + matcher.group(1) + "/" + derivative.getOriginalFileName(matcher.group(3));
+        Resource original = chain.resolveResource(request, originalPath, locations);
+        if (original != null) {
+            try {
+                productImageDerivativeService.submit(original.getFile());
+            } catch (IOException e) {
+                log.warn("image derivative original is not a file {}", original, e);
+            }
+        }
+        return original;
+    }
+
+    @Override
+    protected String resolveUrlPathInternal(String resourceUrlPath, List<? extends Resource> locations,
+                                            ResourceResolverChain chain) {
+        return chain.resolveUrlPath(resourceUrlPath, locations);
+    }
+}
@@ -0,0 +1,126 @@
+package kr.co.mash_up.nine_tique.config;
+
+import kr.co.mash_up.nine_tique.util.LatencyHistogram;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.MetricsEndpoint;
+import org.springframework.boot.actuate.endpoint.mvc.AbstractMvcEndpoint;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * /management/prometheus - Prometheus text format(0.0.4)
+ * controller method별 latency summary, 에러 수, SQL 수/시간(RequestMetrics)과
+ * /management/metrics의 값(connection pool, cache, Hibernate 통계, jvm)을 gauge로 내보낸다.
+ * metric 이름의 '.'은 '_'로 바꾼다. ex) datasource.pool.active -> datasource_pool_active
+ * <p>
+ * 다른 actuator endpoint처럼 ADMIN만 접근 가능(SecurityConfig)하고, endpoints.prometheus.enabled로 켠다.
+ */
+@Component
+@ConfigurationProperties(prefix = "endpoints.prometheus")
+public class PrometheusEndpoint extends AbstractMvcEndpoint {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final double[] QUANTILES = {0.5, 0.95, 0.99};
+
+    @Autowired
+    private RequestMetrics requestMetrics;
+
+    @Autowired
+    private MetricsEndpoint metricsEndpoint;
+
+    public PrometheusEndpoint() {
+        super("/prometheus", true);
+    }
+
+    @RequestMapping(method = RequestMethod.GET, produces = CONTENT_TYPE)
+    @ResponseBody
+    public ResponseEntity<String> scrape() {
+        if (!isEnabled()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+
+        StringBuilder out = new StringBuilder(16 * 1024);
+        writeRequestMetrics(out, requestMetrics.getHandlers());
+
+        for (Map.Entry<String, Object> metric : metricsEndpoint.invoke().entrySet()) {
+            if (metric.getValue() instanceof Number) {
+                String name = sanitize(metric.getKey());
+                out.append("# TYPE ").append(name).append(" gauge\n");
+                sample(out, name, null, ((Number) metric.getValue()).doubleValue());
+            }
+        }
+        return ResponseEntity.ok(out.toString());
+    }
+
+    private static void writeRequestMetrics(StringBuilder out, Map<String, RequestMetrics.HandlerMetrics> handlers) {
+        String latency = "http_server_requests_seconds";
+        out.append("# HELP ").append(latency).append(" Controller method latency\n");
+        out.append("# TYPE ").append(latency).append(" summary\n");
+        handlers.forEach((handler, metrics) -> {
+            LatencyHistogram histogram = metrics.getLatency();
+            for (double quantile : QUANTILES) {
+                sample(out, latency, handlerLabel(handler) + ",quantile=\"" + quantile + "\"",
+                        histogram.getPercentileMillis(quantile) / 1_000);
+            }
+            sample(out, latency + "_count", handlerLabel(handler), histogram.getCount());
+            sample(out, latency + "_sum", handlerLabel(handler), histogram.getTotalMillis() / 1_000);
+        });
+
+        family(out, "http_server_requests_seconds_max", "gauge", "Slowest controller method call",
+                handlers, metrics -> metrics.getLatency().getMaxMillis() / 1_000);
+        family(out, "http_server_requests_errors_total", "counter", "Controller method calls ended with an exception",
+                handlers, metrics -> (double) metrics.getErrors());
+        family(out, "http_server_requests_sql_statements_total", "counter", "SQL statements executed by controller method calls",
+                handlers, metrics -> (double) metrics.getSqlStatements());
+        family(out, "http_server_requests_sql_seconds_total", "counter", "SQL execution time of controller method calls",
+                handlers, RequestMetrics.HandlerMetrics::getSqlSeconds);
+        family(out, "http_server_requests_sql_statements_max", "gauge", "Most SQL statements executed by one call",
+                handlers, metrics -> (double) metrics.getMaxSqlStatements());
+    }
+
+    private static void family(StringBuilder out, String name, String type, String help,
+                               Map<String, RequestMetrics.HandlerMetrics> handlers,
+                               Function<RequestMetrics.HandlerMetrics, Double> value) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        handlers.forEach((handler, metrics) -> sample(out, name, handlerLabel(handler), value.apply(metrics)));
+    }
+
+    private static String handlerLabel(String handler) {
+        return "handler=\"" + handler + "\"";
+    }
+
+    /**
+     * @param labels label="value",... 없으면 null
+     */
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(name);
+        if (labels != null) {
+            out.append('{').append(labels).append('}');
+        }
+        out.append(' ').append(format(value)).append('\n');
+    }
+
+    private static String format(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        return Double.toString(value);
+    }
+
+    private static String sanitize(String name) {
+        return name.replaceAll("[^a-zA-Z0-9_:]", "_");
+    }
+}
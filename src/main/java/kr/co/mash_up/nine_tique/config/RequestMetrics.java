@@ -0,0 +1,140 @@
+package kr.co.mash_up.nine_tique.config;
+
+import kr.co.mash_up.nine_tique.util.LatencyHistogram;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * controller method별 latency와 SQL 수/시간
+ * kr.co.mash_up.nine_tique.controller 의 handler method(@RequestMapping, @GetMapping 등)를 감싸서 기록하고, /management/prometheus로 보여준다.
+ * GetMapping 등은 RequestMapping을 meta annotation으로 붙인 composed annotation이라 @annotation(RequestMapping)에 걸리지 않으므로 모두 나열한다.
+ * 예외로 끝난 호출도 latency에 포함하고 errors를 센다.
+ * <p>
+ * SQL 요약 로그(kr.co.mash_up.nine_tique.sql) - 요청마다 SQL 문장을 남기는 대신 요청별 SQL 수와 시간을 key=value 1줄로 남긴다.
+ * sql.log.sample_rate 비율로 샘플링하고, sql.log.slow_millis 이상 SQL을 실행한 요청은 항상 남긴다.
+ */
+@Aspect
+@Component
+public class RequestMetrics {
+
+    private static final Logger SQL_LOG = LoggerFactory.getLogger("kr.co.mash_up.nine_tique.sql");
+
+    @Value(value = "${sql.log.sample_rate:0.01}")
+    private double sqlLogSampleRate;
+
+    @Value(value = "${sql.log.slow_millis:500}")
+    private long sqlLogSlowMillis;
+
+    private final ConcurrentMap<String, HandlerMetrics> handlers = new ConcurrentHashMap<>();
+
+    @Pointcut("@annotation(org.springframework.web.bind.annotation.RequestMapping)"
+            + " || @annotation(org.springframework.web.bind.annotation.GetMapping)"
+            + " || @annotation(org.springframework.web.bind.annotation.PostMapping)"
+            + " || @annotation(org.springframework.web.bind.annotation.PutMapping)"
+            + " || @annotation(org.springframework.web.bind.annotation.DeleteMapping)"
+            + " || @annotation(org.springframework.web.bind.annotation.PatchMapping)")
+    public void handlerMethod() {
+    }
+
+    @Around("within(kr.co.mash_up.nine_tique.controller..*) && handlerMethod()")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        String handler = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+        boolean outermost = SqlStatementListener.open();
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Object result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            SqlStatementListener.Counter sql = outermost ? SqlStatementListener.close() : null;
+            handlers.computeIfAbsent(handler, key -> new HandlerMetrics()).record(elapsed, sql, failed);
+            if (sql != null && sql.getStatements() > 0) {
+                logSql(handler, elapsed, sql, failed);
+            }
+        }
+    }
+
+    private void logSql(String handler, long elapsedNanos, SqlStatementListener.Counter sql, boolean failed) {
+        long sqlMillis = sql.getNanos() / 1_000_000;
+        boolean slow = sqlMillis >= sqlLogSlowMillis;
+        if (slow) {
+            SQL_LOG.warn("handler={} statements={} sql_ms={} latency_ms={} failed={} slow=true",
+                    handler, sql.getStatements(), sqlMillis, elapsedNanos / 1_000_000, failed);
+        } else if (SQL_LOG.isInfoEnabled() && ThreadLocalRandom.current().nextDouble() < sqlLogSampleRate) {
+            SQL_LOG.info("handler={} statements={} sql_ms={} latency_ms={} failed={}",
+                    handler, sql.getStatements(), sqlMillis, elapsedNanos / 1_000_000, failed);
+        }
+    }
+
+    /**
+     * @return handler(Controller.method) 이름순
+     */
+    public Map<String, HandlerMetrics> getHandlers() {
+        return Collections.unmodifiableMap(new TreeMap<>(handlers));
+    }
+
+    public static class HandlerMetrics {
+
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        private final LongAdder errors = new LongAdder();
+
+        private final LongAdder sqlStatements = new LongAdder();
+
+        private final LongAdder sqlNanos = new LongAdder();
+
+        private final LongAccumulator maxSqlStatements = new LongAccumulator(Math::max, 0);
+
+        void record(long nanos, SqlStatementListener.Counter sql, boolean failed) {
+            latency.record(nanos);
+            if (failed) {
+                errors.increment();
+            }
+            if (sql != null) {
+                sqlStatements.add(sql.getStatements());
+                sqlNanos.add(sql.getNanos());
+                maxSqlStatements.accumulate(sql.getStatements());
+            }
+        }
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        public long getSqlStatements() {
+            return sqlStatements.sum();
+        }
+
+        public double getSqlSeconds() {
+            return sqlNanos.sum() / 1_000_000_000.0;
+        }
+
+        /**
+         * @return 요청 1개에서 실행한 SQL 수의 최대값. N+1 확인용
+         */
+        public long getMaxSqlStatements() {
+            return maxSqlStatements.get();
+        }
+    }
+}
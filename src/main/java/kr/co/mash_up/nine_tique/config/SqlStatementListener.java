@@ -0,0 +1,75 @@
+package kr.co.mash_up.nine_tique.config;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * 요청 1개에서 실행한 SQL 수와 시간
+ * hibernate.session.events.auto 로 모든 Session에 붙고, 실행 시간을 현재 thread의 Counter에 더한다.
+ * Counter는 RequestMetrics가 controller 호출 동안 열어둔다. 열려 있지 않으면(scheduler, 비동기 작업) 기록하지 않는다.
+ */
+public class SqlStatementListener extends BaseSessionEventListener {
+
+    private static final ThreadLocal<Counter> CURRENT = new ThreadLocal<>();
+
+    private transient long executionStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record();
+    }
+
+    private void record() {
+        Counter counter = CURRENT.get();
+        if (counter != null) {
+            counter.statements++;
+            counter.nanos += System.nanoTime() - executionStart;
+        }
+    }
+
+    /**
+     * @return 새로 열었으면 true. 이미 열려 있으면(중첩 호출) false이고, 바깥 호출이 close() 한다.
+     */
+    static boolean open() {
+        if (CURRENT.get() != null) {
+            return false;
+        }
+        CURRENT.set(new Counter());
+        return true;
+    }
+
+    static Counter close() {
+        Counter counter = CURRENT.get();
+        CURRENT.remove();
+        return counter;
+    }
+
+    static class Counter {
+
+        private int statements;
+
+        private long nanos;
+
+        int getStatements() {
+            return statements;
+        }
+
+        long getNanos() {
+            return nanos;
+        }
+    }
+}
@@ -1,26 +1,62 @@
 package kr.co.mash_up.nine_tique.config;
 
+import kr.co.mash_up.nine_tique.service.ProductImageDerivativeService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
-import org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
+import org.springframework.web.servlet.resource.PathResourceResolver;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static kr.co.mash_up.nine_tique.util.Constant.RestEndpoint.STORAGE;
+import static kr.co.mash_up.nine_tique.util.Constant.RestEndpoint.SUFFIX;
 
 /**
  * 정적 리소스 매칭
- * ex) 127.0.0.1:8080/storage/product -> classpath:/storage/product 로 매칭
+ * ex) 127.0.0.1:8080/storage/product -> file:///.../storage/product 로 매칭
  * http://jsonobject.tistory.com/221
+ * <p>
+ * 캐시 헤더, sendfile 때문에 ResourceHandlerRegistry 대신 StorageResourceHttpRequestHandler를 직접 등록한다.
+ * /storage는 SecurityConfig에서 ignoring이라 security의 no-cache 헤더가 붙지 않는다.
  */
 @Configuration
-public class StaticResourceConfig extends WebMvcConfigurerAdapter {
+public class StaticResourceConfig {
 
     @Value(value = "${static.resource.location}")
     private String staticResourceLocation;
 
-    @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        if (!registry.hasMappingForPattern("/storage/**")) {
-            registry.addResourceHandler("/storage/**")
-                    .addResourceLocations(staticResourceLocation);
-        }
+    @Value(value = "${storage.cache_max_age:31536000}")
+    private long cacheMaxAge;
+
+    @Value(value = "${storage.sendfile_min_size:49152}")
+    private long sendfileMinSize;
+
+    @Autowired
+    private ResourceLoader resourceLoader;
+
+    @Autowired
+    private ProductImageDerivativeService productImageDerivativeService;
+
+    @Bean
+    public SimpleUrlHandlerMapping storageHandlerMapping() {
+        SimpleUrlHandlerMapping handlerMapping = new SimpleUrlHandlerMapping();
+        handlerMapping.setOrder(Ordered.LOWEST_PRECEDENCE - 2);  // ResourceHandlerRegistry(/**, LOWEST_PRECEDENCE - 1)보다 먼저
+        handlerMapping.setUrlMap(Collections.singletonMap(STORAGE + SUFFIX, storageResourceHandler()));
+        return handlerMapping;
+    }
+
+    @Bean
+    public StorageResourceHttpRequestHandler storageResourceHandler() {
+        StorageResourceHttpRequestHandler handler = new StorageResourceHttpRequestHandler(cacheMaxAge, sendfileMinSize);
+        handler.setLocations(Collections.singletonList(resourceLoader.getResource(staticResourceLocation)));
+        handler.setResourceResolvers(Arrays.asList(
+                new ProductImageDerivativeResolver(productImageDerivativeService),  // 썸네일이 없으면 원본
+                new PathResourceResolver()));
+        return handler;
     }
 }
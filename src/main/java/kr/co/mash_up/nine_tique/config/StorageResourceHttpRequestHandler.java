@@ -0,0 +1,131 @@
+package kr.co.mash_up.nine_tique.config;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * /storage 파일 응답
+ * 업로드 파일명은 UUID(CodeGeneratorUtil.generateFileName)라 같은 URL의 내용이 바뀌지 않으므로 client, proxy가 오래 캐시하게 한다.
+ * - Cache-Control: public, max-age, immutable
+ * - strong ETag(수정시각-크기), Last-Modified -> If-None-Match, If-Modified-Since면 304
+ * - Range 요청은 ResourceHttpRequestHandler가 206으로 응답
+ * - Range가 없고 storage.sendfile_min_size 이상인 파일은 Tomcat sendfile로 보낸다.(파일 -> socket, JVM heap으로 복사 없음)
+ * <p>
+ * 파생 이미지(thumb, compressed)가 아직 없어 원본을 대신 응답할 때는 요청한 파일이 아니므로
+ * 캐시하지 않고(no-cache) 다음 요청에서 파생 이미지를 받게 한다.
+ */
+public class StorageResourceHttpRequestHandler extends ResourceHttpRequestHandler {
+
+    // Tomcat sendfile request attribute (org.apache.catalina.Globals)
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_FILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_FILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    private static final String RESOLVED_RESOURCE_ATTR = StorageResourceHttpRequestHandler.class.getName() + ".resource";
+
+    private final String immutableCacheControl;
+
+    private final long sendfileMinSize;
+
+    /**
+     * @param cacheMaxAgeSeconds Cache-Control max-age
+     * @param sendfileMinSize    sendfile로 보낼 최소 파일 크기(byte). 작은 파일은 복사가 더 싸다.
+     */
+    public StorageResourceHttpRequestHandler(long cacheMaxAgeSeconds, long sendfileMinSize) {
+        this.immutableCacheControl = CacheControl.maxAge(cacheMaxAgeSeconds, TimeUnit.SECONDS)
+                .cachePublic()
+                .getHeaderValue() + ", immutable";
+        this.sendfileMinSize = sendfileMinSize;
+    }
+
+    @Override
+    public void handleRequest(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        Resource resource = getResource(request);
+        boolean getOrHead = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+        if (resource == null || !getOrHead) {
+            super.handleRequest(request, response);  // 404, 405
+            return;
+        }
+
+        long lastModified = resource.lastModified();
+        long length = resource.contentLength();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, isRequestedFile(request, resource)
+                ? immutableCacheControl : CacheControl.noCache().getHeaderValue());
+        String eTag = "\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(length) + "\"";
+        if (new ServletWebRequest(request, response).checkNotModified(eTag, lastModified)) {
+            return;  // 304
+        }
+
+        File file = getFile(resource);
+        if (file != null && length >= sendfileMinSize && request.getHeader(HttpHeaders.RANGE) == null
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+            sendfile(request, response, resource, file, length);
+            return;
+        }
+
+        super.handleRequest(request, response);
+    }
+
+    /**
+     * handleRequest()와 super.handleRequest()에서 2번 호출되므로 resolver chain(파일 확인, 파생 이미지 등록)은 1번만 실행
+     */
+    @Override
+    protected Resource getResource(HttpServletRequest request) throws IOException {
+        Object resolved = request.getAttribute(RESOLVED_RESOURCE_ATTR);
+        if (resolved instanceof Resource) {
+            return (Resource) resolved;
+        }
+
+        Resource resource = super.getResource(request);
+        if (resource != null) {
+            request.setAttribute(RESOLVED_RESOURCE_ATTR, resource);
+        }
+        return resource;
+    }
+
+    private void sendfile(HttpServletRequest request, HttpServletResponse response,
+                          Resource resource, File file, long length) throws IOException {
+        MediaType mediaType = getMediaType(request, resource);
+        if (mediaType != null) {
+            response.setContentType(mediaType.toString());
+        }
+        response.setContentLengthLong(length);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (HttpMethod.HEAD.matches(request.getMethod())) {
+            return;
+        }
+
+        // body를 쓰지 않고 Tomcat이 응답 후 파일을 socket으로 보낸다.
+        request.setAttribute(SENDFILE_FILENAME_ATTR, file.getCanonicalPath());
+        request.setAttribute(SENDFILE_FILE_START_ATTR, 0L);
+        request.setAttribute(SENDFILE_FILE_END_ATTR, length);
+    }
+
+    private boolean isRequestedFile(HttpServletRequest request, Resource resource) {
+        String path = (String) request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE);
+        return path != null && StringUtils.getFilename(path).equals(resource.getFilename());
+    }
+
+    private File getFile(Resource resource) {
+        try {
+            return resource.getFile();
+        } catch (IOException e) {
+            return null;  // jar 안의 resource 등
+        }
+    }
+}
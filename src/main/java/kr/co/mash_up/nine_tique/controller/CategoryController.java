@@ -5,18 +5,19 @@ import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import kr.co.mash_up.nine_tique.domain.Category;
+import kr.co.mash_up.nine_tique.service.CategoryRegistry;
 import kr.co.mash_up.nine_tique.service.CategorySservice;
 import kr.co.mash_up.nine_tique.util.ParameterUtil;
 import kr.co.mash_up.nine_tique.vo.CategoryRequestVO;
-import kr.co.mash_up.nine_tique.vo.DataListResponseVO;
+import kr.co.mash_up.nine_tique.vo.CategoryListResponseVO;
 import kr.co.mash_up.nine_tique.vo.DataResponseVO;
 import kr.co.mash_up.nine_tique.vo.ResponseVO;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 import static kr.co.mash_up.nine_tique.util.Constant.RestEndpoint.API_CATEGORY;
 
 @RestController
@@ -29,6 +30,9 @@ public class CategoryController {
     @Autowired
     private CategorySservice categorySservice;
 
+    @Autowired
+    private CategoryRegistry categoryRegistry;
+
     /**
      * 카테고리 생성
      *
@@ -39,7 +43,7 @@ public class CategoryController {
     @RequestMapping(method = RequestMethod.POST)
     public ResponseVO add(@RequestBody CategoryRequestVO requestVO) {
         ParameterUtil.checkParameterEmpty(requestVO.getMain(), requestVO.getSub());
-        log.debug(requestVO.getMain() + ", " + requestVO.getSub());
+        log.debug("{}, {}", requestVO.getMain(), requestVO.getSub());
         Category category = categorySservice.create(requestVO);
 
         if (category != null) {  // 생성 성공
@@ -86,14 +90,19 @@ public class CategoryController {
 
     /**
      * 카테고리 리스트 조회
+     * 서브/메인 카테고리별 상품 수(판매중, 판매완료)를 포함한다.
+     * CategoryRegistry에 미리 직렬화된 body를 그대로 내려주고, If-None-Match가 ETag와 같으면 body 없이 304
      *
      * @return 카테고리 목록
      */
-    @ApiOperation(value = "카테고리 리스트 조회")
+    @ApiOperation(value = "카테고리 리스트 조회", response = CategoryListResponseVO.class)
     @RequestMapping(method = RequestMethod.GET)
-    public DataListResponseVO<Category> list() {
-        List<Category> categories = categorySservice.findCategories();
-        return new DataListResponseVO<Category>(categories);
+    public ResponseEntity<byte[]> list() {
+        CategoryRegistry.ListResponse listResponse = categoryRegistry.getListResponse();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .eTag(listResponse.getETag())
+                .body(listResponse.getBody());
     }
 
     /**
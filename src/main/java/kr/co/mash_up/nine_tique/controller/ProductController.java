@@ -5,13 +5,17 @@ import io.swagger.annotations.ApiOperation;
 import kr.co.mash_up.nine_tique.domain.Product;
 import kr.co.mash_up.nine_tique.dto.ProductDto;
 import kr.co.mash_up.nine_tique.security.SecurityUtil;
+import kr.co.mash_up.nine_tique.service.ProductListCache;
 import kr.co.mash_up.nine_tique.service.ProductService;
 import kr.co.mash_up.nine_tique.util.ParameterUtil;
 import kr.co.mash_up.nine_tique.vo.*;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import static kr.co.mash_up.nine_tique.util.Constant.RestEndpoint.API_PRODUCT;
 
@@ -24,6 +28,9 @@ public class ProductController {
     @Autowired
     private ProductService productService;
 
+    @Autowired
+    private ProductListCache productListCache;
+
     /**
      * 상품 생성
      *
@@ -37,7 +44,7 @@ public class ProductController {
                 requestVO.getPrice(), requestVO.getDescription(), requestVO.getMainCategory(), requestVO.getProductImages());
 
         Long userId = SecurityUtil.getCurrentUser().getId();
-        log.info(userId + " ");
+        log.debug("add product user {}", userId);
         requestVO.setStatus(Product.Status.SELL.name());
 
         Product product = productService.create(userId, requestVO);
@@ -132,22 +139,41 @@ public class ProductController {
 
     /**
      * 카테고리별 상품 리스트 조회
+     * cursor 파라미터가 있으면 cursor paging, 없으면 기존 client를 위해 pageNo로 offset paging
+     * offset paging은 ProductListCache에 직렬화된 페이지에 유저별 찜/판매 여부만 붙여서 내려주고,
+     * If-None-Match가 ETag와 같으면 body 없이 304
      *
-     * @param requestVO request parameter가 담긴 VO
+     * @param requestVO  request parameter가 담긴 VO
+     * @param webRequest If-None-Match 확인용
      * @return 카테고리별 상품 리스트
      */
-    @ApiOperation(value = "카테고리별 상품 리스트 조회")
+    @ApiOperation(value = "카테고리별 상품 리스트 조회", response = DataListResponseVO.class)
     @RequestMapping(method = RequestMethod.GET)
-    public DataListResponseVO<ProductDto> list(ProductListRequestVO requestVO) {
+    public ResponseEntity<?> list(ProductListRequestVO requestVO, WebRequest webRequest) {
         ParameterUtil.checkParameterEmpty(requestVO.getMainCategory());
         Long userId = SecurityUtil.getCurrentUser().getId();
 
-        Page<ProductDto> page = productService.findProductsByCategory(userId, requestVO);
+        log.debug("{} {} {} {} {}", requestVO.getPageNo(), requestVO.getPageSize(), requestVO.getPageable(),
+                requestVO.getMainCategory(), requestVO.getSubCategory());
 
-        log.debug(requestVO.getPageNo() + " " + requestVO.getPageSize() + " " + requestVO.getPageable() +
-                " " + requestVO.getMainCategory() + " " + requestVO.getSubCategory());
+        if (requestVO.isCursorPaging()) {
+            CursorSlice<ProductDto> slice = productService.findProductsByCategoryWithCursor(userId, requestVO);
+            return ResponseEntity.ok(new DataListResponseVO<ProductDto>(slice));
+        }
+
+        if (productListCache.isCacheable(requestVO)) {
+            ProductListCache.UserPage page = productService.findProductsByCategoryCached(userId, requestVO);
+            if (webRequest.checkNotModified(page.getETag())) {
+                return null;  // 304
+            }
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON_UTF8)
+                    .eTag(page.getETag())
+                    .body(page.getBody());
+        }
 
-        return new DataListResponseVO<ProductDto>(page);
+        Slice<ProductDto> slice = productService.findProductsByCategory(userId, requestVO);
+        return ResponseEntity.ok(new DataListResponseVO<ProductDto>(slice));
     }
 
     /**
@@ -4,15 +4,13 @@ import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import kr.co.mash_up.nine_tique.dto.ProductImageDto;
 import kr.co.mash_up.nine_tique.service.ProductImageService;
-import kr.co.mash_up.nine_tique.util.ParameterUtil;
 import kr.co.mash_up.nine_tique.vo.DataListResponseVO;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.multipart.MultipartFile;
 
+import javax.servlet.http.HttpServletRequest;
 import java.util.List;
 
 import static kr.co.mash_up.nine_tique.util.Constant.RestEndpoint.API_PRODUCT_IMAGE;
@@ -25,12 +23,14 @@ public class ProductImageController {
     @Autowired
     private ProductImageService productImageService;
 
-    @ApiOperation(value = "상품 이미지 생성")
+    /**
+     * multipart/form-data의 files 필드로 여러개 업로드
+     * spring multipart를 쓰지 않고 요청 body를 streaming으로 바로 저장한다.
+     */
+    @ApiOperation(value = "상품 이미지 생성", notes = "multipart/form-data, files 필드")
     @PostMapping(value = "")
-    public DataListResponseVO<ProductImageDto> add(@RequestParam(name = "files") List<MultipartFile> files) {
-        ParameterUtil.checkParameterEmpty(files);
-
-        List<ProductImageDto> productImageDtos = productImageService.create(files);
+    public DataListResponseVO<ProductImageDto> add(HttpServletRequest request) {
+        List<ProductImageDto> productImageDtos = productImageService.create(request);
 
         return new DataListResponseVO<ProductImageDto>(productImageDtos);
     }
@@ -13,6 +13,7 @@ import kr.co.mash_up.nine_tique.util.ParameterUtil;
 import kr.co.mash_up.nine_tique.vo.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.web.bind.annotation.*;
 
 import static kr.co.mash_up.nine_tique.util.Constant.RestEndpoint.API_SELLER;
@@ -36,8 +37,8 @@ public class SellerController {
     public DataListResponseVO<ProductDto> productList(DataListRequestVO requestVO) {
         Long userId = SecurityUtil.getCurrentUser().getId();
 
-        Page<ProductDto> page = sellerService.findProducts(userId, requestVO.getPageable());
-        return new DataListResponseVO<ProductDto>(page);
+        Slice<ProductDto> slice = sellerService.findProducts(userId, requestVO.getPageable(), requestVO.isWithTotal());
+        return new DataListResponseVO<ProductDto>(slice);
     }
 
     /**
@@ -10,7 +10,7 @@ import kr.co.mash_up.nine_tique.util.ParameterUtil;
 import kr.co.mash_up.nine_tique.vo.*;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.web.bind.annotation.*;
 
 import static kr.co.mash_up.nine_tique.util.Constant.RestEndpoint.API_SHOP;
@@ -35,7 +35,7 @@ public class ShopController {
     @PostMapping
     public ResponseVO create(@RequestBody ShopRequestVO requestVO) {
         ParameterUtil.checkParameterEmpty(requestVO.getName(), requestVO.getInfo(), requestVO.getPhone());
-        log.info("shop vo: " + requestVO);
+        log.debug("shop vo: {}", requestVO);
 
         Shop shop = shopService.create(requestVO);
 
@@ -56,11 +56,11 @@ public class ShopController {
     @ApiOperation(value = "매장 리스트 조회")
     @GetMapping(value = "")
     public DataListResponseVO<ShopDto> list(DataListRequestVO requestVO) {
-        log.debug(requestVO.getPageNo() + " " + requestVO.getPageSize() + " " + requestVO.getPageable());
+        log.debug("{} {} {}", requestVO.getPageNo(), requestVO.getPageSize(), requestVO.getPageable());
 
-        Page<ShopDto> page = shopService.list(requestVO);
+        Slice<ShopDto> slice = shopService.list(requestVO);
 
-        return new DataListResponseVO<ShopDto>(page);
+        return new DataListResponseVO<ShopDto>(slice);
     }
 
     /**
@@ -87,8 +87,8 @@ public class ShopController {
     public ResponseVO update(@PathVariable("id") Long shopId, @RequestBody ShopRequestVO requestVO) {
         ParameterUtil.checkParameterEmpty(requestVO.getName(), requestVO.getInfo(), requestVO.getPhone());
         Long userId = SecurityUtil.getCurrentUser().getId();
-        log.info("userId: " + userId);
-        log.info("shop vo: " + requestVO);
+        log.debug("userId: {}", userId);
+        log.debug("shop vo: {}", requestVO);
 
         Shop shop = shopService.update(userId, shopId, requestVO);
 
@@ -11,7 +11,7 @@ import kr.co.mash_up.nine_tique.vo.DataListResponseVO;
 import kr.co.mash_up.nine_tique.vo.ResponseVO;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.web.bind.annotation.*;
 
 import static kr.co.mash_up.nine_tique.util.Constant.RestEndpoint.API_ZZIM;
@@ -64,7 +64,7 @@ public class ZzimController {
     @RequestMapping(method = RequestMethod.GET)
     public DataListResponseVO<ProductDto> list(DataListRequestVO requestVO) {
         Long userId = SecurityUtil.getCurrentUser().getId();
-        Page<ProductDto> page = zzimService.findZzimProducts(userId, requestVO.getPageable());
-        return new DataListResponseVO<ProductDto>(page);
+        Slice<ProductDto> slice = zzimService.findZzimProducts(userId, requestVO.getPageable(), requestVO.isWithTotal());
+        return new DataListResponseVO<ProductDto>(slice);
     }
 }
\ No newline at end of file
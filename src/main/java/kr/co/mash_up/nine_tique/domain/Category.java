@@ -38,7 +38,7 @@ public class Category extends AbstractEntity<Long> {
     @OneToMany(mappedBy = "category", cascade = CascadeType.REMOVE, fetch = FetchType.LAZY, orphanRemoval = true)
     private Set<Product> products = new HashSet<>();
 
-    //Todo: products count도 넣을까?
+    // 상품 수는 ProductCountService에서 증감으로 유지한다.
 
     public void disable() {
         if (enabled) {
@@ -1,15 +1,19 @@
 package kr.co.mash_up.nine_tique.domain;
 
+import kr.co.mash_up.nine_tique.util.LongHashSet;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
 
 import javax.persistence.*;
 import java.util.List;
 
 @Entity
-@Table(name = "product")
+@Table(name = "product",
+        // 상품 리스트 정렬 순서(status ASC, created_at DESC, id DESC)와 같은 index. keyset paging이 index range scan으로 동작
+        indexes = @Index(name = "idx_product_enabled_status_created_at_id", columnList = "enabled, status, created_at DESC, id DESC"))
 @Getter
 @Setter
 @ToString(exclude = {"shop", "category", "productImages"})
@@ -53,7 +57,9 @@ public class Product extends AbstractEntity<Long> {
     private Category category;  // 카테고리
 
     // One(Product) : Many(ProductImage) - Many쪽이 FK를 가지고(주인O), One쪽이 mappedBy(주인X)를 적용
+    // 리스트 조회시 상품마다 이미지 select가 나가지 않도록 영속성 컨텍스트에 있는 상품들의 이미지를 IN 절로 한번에 조회
     @OneToMany(mappedBy = "product", cascade = CascadeType.REMOVE, fetch = FetchType.LAZY, orphanRemoval = true)
+    @BatchSize(size = 100)
     private List<ProductImage> productImages;
 
     @OneToMany(mappedBy = "product", cascade = CascadeType.REMOVE, fetch = FetchType.LAZY, orphanRemoval = true)
@@ -110,31 +116,21 @@ public class Product extends AbstractEntity<Long> {
     /**
      * 상품이 찜 되었는지 확인
      *
-     * @param zzimProducts 유저의 찜한 상품 목록
+     * @param zzimProductIds 유저가 찜한 상품 id
      * @return 결과
      */
-    public boolean checkProductZzim(List<ZzimProduct> zzimProducts) {
-        for (ZzimProduct zzimProduct : zzimProducts) {
-            if (zzimProduct.matchProduct(this)) {
-                return true;
-            }
-        }
-        return false;
+    public boolean checkProductZzim(LongHashSet zzimProductIds) {
+        return zzimProductIds.contains(id);
     }
 
     /**
      * 상품이 내가 등록한 상품인지 확인
      *
-     * @param sellerProducts 판매자가 등록한 상품 목록
+     * @param sellerProductIds 판매자가 등록한 상품 id
      * @return 내가 등록한 상품인지 여부
      */
-    public boolean checkSeller(List<SellerProduct> sellerProducts) {
-        for (SellerProduct sellerProduct : sellerProducts) {
-            if (sellerProduct.matchProduct(this)) {
-                return true;
-            }
-        }
-        return false;
+    public boolean checkSeller(LongHashSet sellerProductIds) {
+        return sellerProductIds.contains(id);
     }
 
     @Override
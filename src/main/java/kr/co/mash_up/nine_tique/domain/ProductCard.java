@@ -0,0 +1,179 @@
+package kr.co.mash_up.nine_tique.domain;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 상품 리스트(카드)에 필요한 정보만 모아둔 읽기 전용 모델
+ * Product, Shop, Category, ProductImage를 join하지 않고 1번의 index 조회로 리스트를 만들기 위해 비정규화했다.
+ * enable된 상품만 row가 있고, 원본이 바뀌면 ProductCardService가 갱신한다.
+ */
+@Entity
+@Table(name = "product_card",
+        /*
+        상품 리스트 정렬 순서(status_order DESC, created_at DESC, product_id DESC)대로 전체/카테고리/메인 카테고리/매장별 조회
+        MySQL 5.x는 index의 DESC를 무시하므로 모든 컬럼을 같은 방향으로 정렬해서 index를 역순으로 읽게 한다.
+         */
+        indexes = {@Index(name = "idx_product_card_status_created_at", columnList = "status_order, created_at, product_id"),
+                @Index(name = "idx_product_card_category_status_created_at", columnList = "category_id, status_order, created_at, product_id"),
+                @Index(name = "idx_product_card_main_status_created_at", columnList = "main_category, status_order, created_at, product_id"),
+                @Index(name = "idx_product_card_shop_status_created_at", columnList = "shop_id, status_order, created_at, product_id")})
+@Getter
+@ToString
+@NoArgsConstructor  // JPA는 default constructor 필요
+public class ProductCard implements Persistable<Long> {
+
+    private static final String IMAGE_DELIMITER = "/";  // file name에는 들어갈 수 없는 문자
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;  // 상품 id를 그대로 사용
+
+    @Column(length = 50)
+    private String name;
+
+    @Column(length = 50)
+    private String brandName;
+
+    @Column(length = 50)
+    private String size;
+
+    @Column
+    private int price;
+
+    @Lob
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private Product.Status status;
+
+    @Column(name = "status_order")
+    private int statusOrder;  // status ASC 순서를 DESC로 정렬하기 위한 값. 판매중이 판매완료보다 크다.
+
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Column(name = "main_category")
+    private String mainCategory;  // disable된 카테고리면 null. 메인 카테고리 리스트에서 빠진다.
+
+    @Column
+    private String subCategory;
+
+    @Column(name = "shop_id")
+    private Long shopId;
+
+    @Column
+    private String shopName;
+
+    @Column
+    private String shopInfo;
+
+    @Column(length = 20)
+    private String shopPhone;
+
+    @Column
+    private String shopKakaoOpenChatUrl;
+
+    @Column(length = 2000)
+    private String imageFileNames;  // 상품 이미지 file name을 id 순서대로 '/'로 연결
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;  // 상품 생성일자. 정렬에 사용
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;  // 상품 수정일자
+
+    @Transient
+    private boolean newCard;  // id를 직접 지정하므로 save()가 merge(select)하지 않도록 새 카드인지 표시
+
+    public ProductCard(Long productId) {
+        this.productId = productId;
+        this.newCard = true;
+    }
+
+    @Override
+    public Long getId() {
+        return productId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newCard;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newCard = false;
+    }
+
+    /**
+     * 상품과 이미지로 카드 내용을 덮어쓴다.
+     *
+     * @param product       enable된 상품. shop, category가 로딩되어 있어야 한다.
+     * @param productImages 상품에 연결된 이미지, id 순서
+     */
+    public void update(Product product, List<ProductImage> productImages) {
+        this.name = product.getName();
+        this.brandName = product.getBrandName();
+        this.size = product.getSize();
+        this.price = product.getPrice();
+        this.description = product.getDescription();
+        this.status = product.getStatus();
+        this.statusOrder = statusOrder(product.getStatus());
+        this.categoryId = product.getCategory().getId();
+        this.mainCategory = product.getCategory().isEnabled() ? product.getCategory().getMain() : null;
+        this.subCategory = product.getCategory().getSub();
+        updateShop(product.getShop());
+        this.imageFileNames = productImages.stream()
+                .map(ProductImage::getFileName)
+                .collect(Collectors.joining(IMAGE_DELIMITER));
+        this.createdAt = product.getCreatedAt();
+        this.updatedAt = product.getUpdatedAt();
+    }
+
+    /**
+     * @param status 상품 상태
+     * @return 내림차순으로 정렬했을 때 status 오름차순이 되는 값
+     */
+    public static int statusOrder(Product.Status status) {
+        return Product.Status.values().length - status.ordinal();
+    }
+
+    public void updateShop(Shop shop) {
+        this.shopId = shop.getId();
+        this.shopName = shop.getName();
+        this.shopInfo = shop.getInfo();
+        this.shopPhone = shop.getPhone();
+        this.shopKakaoOpenChatUrl = shop.getKakaoOpenChatUrl();
+    }
+
+    /**
+     * @return 상품 이미지 file name, id 순서
+     */
+    public List<String> getImageFileNameList() {
+        if (imageFileNames == null || imageFileNames.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return Arrays.asList(imageFileNames.split(IMAGE_DELIMITER));
+    }
+
+    public long getCreatedTimestamp() {
+        return createdAt == null ? 0 : Timestamp.valueOf(createdAt).getTime();
+    }
+
+    public long getUpdatedTimestamp() {
+        return updatedAt == null ? 0 : Timestamp.valueOf(updatedAt).getTime();
+    }
+}
@@ -10,7 +10,9 @@ import lombok.ToString;
 import javax.persistence.*;
 
 @Entity
-@Table(name = "product_image")
+@Table(name = "product_image",
+        // 상품에 연결되지 않은 오래된 이미지 조회(product_id IS NULL AND created_at < ?)가 index range scan으로 동작
+        indexes = @Index(name = "idx_product_image_product_id_created_at", columnList = "product_id, created_at"))
 @Getter
 @Setter
 @ToString(exclude = {"product"})
@@ -18,7 +20,7 @@ import javax.persistence.*;
 public class ProductImage extends AbstractEntity<Long> {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.IDENTITY)  // 업로드시 JDBC batch insert(ProductImageRepositoryImpl)
     private Long id;  // id의 수동적인 제어를 막기 위해 setter를 생성하지 않는다.
 
     @Column(length = 255, nullable = false, unique = true)
@@ -66,8 +68,19 @@ public class ProductImage extends AbstractEntity<Long> {
      */
     @Transient  // 매핑하지 않는다.
     public String getImageUrl() {
+        return getImageUrl(this.product.getId(), this.fileName);
+    }
+
+    /**
+     * 엔티티 없이 상품 id와 file name으로 image url 생성(product_card 등)
+     *
+     * @param productId 상품 id
+     * @param fileName  file name
+     * @return image url
+     */
+    public static String getImageUrl(Long productId, String fileName) {
         return String.format("%s/product/%d/%s",
-                System.getProperty(SystemPropertiesConfig.STORAGE_URI), this.product.getId(), this.fileName);
+                System.getProperty(SystemPropertiesConfig.STORAGE_URI), productId, fileName);
     }
 
     /**
@@ -77,7 +90,84 @@ public class ProductImage extends AbstractEntity<Long> {
      */
     @Transient  // 매핑하지 않는다.
     public String getImageUploadPath() {
-        return String.format("%s/product/%d", System.getProperty(SystemPropertiesConfig.STORAGE_PATH), product.getId());
+        return getImageUploadPath(product.getId());
+    }
+
+    /**
+     * 상품의 물리적인 image upload path 제공
+     *
+     * @param productId 상품 id
+     * @return upload path
+     */
+    public static String getImageUploadPath(Long productId) {
+        return String.format("%s/product/%d", System.getProperty(SystemPropertiesConfig.STORAGE_PATH), productId);
+    }
+
+    /**
+     * 썸네일, 압축본 이미지를 다운받을 수 있는 url 제공
+     * 아직 생성되지 않았으면 원본이 응답된다.(ProductImageDerivativeResolver)
+     *
+     * @param derivative 파생 이미지 종류
+     * @return derivative image url
+     */
+    @Transient
+    public String getDerivativeUrl(Derivative derivative) {
+        return getDerivativeUrl(this.product.getId(), this.fileName, derivative);
+    }
+
+    public static String getDerivativeUrl(Long productId, String fileName, Derivative derivative) {
+        return String.format("%s/product/%d/%s/%s", System.getProperty(SystemPropertiesConfig.STORAGE_URI),
+                productId, derivative.getDirName(), derivative.getFileName(fileName));
+    }
+
+    /**
+     * 원본 이미지에서 만드는 파생 이미지 종류
+     * product/{id}/{dirName}/{원본 파일명}.jpg 에 저장
+     */
+    public enum Derivative {
+        THUMBNAIL("thumb", 320, 0.8f),  // 리스트용
+        COMPRESSED("compressed", 1080, 0.75f);  // 상세용, 모바일 화면 폭에 맞춘 압축본
+
+        private final String dirName;
+
+        private final int maxSize;  // 긴 변의 최대 pixel
+
+        private final float quality;  // JPEG 품질
+
+        Derivative(String dirName, int maxSize, float quality) {
+            this.dirName = dirName;
+            this.maxSize = maxSize;
+            this.quality = quality;
+        }
+
+        public String getDirName() {
+            return dirName;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public float getQuality() {
+            return quality;
+        }
+
+        public String getFileName(String originalFileName) {
+            return originalFileName + ".jpg";
+        }
+
+        public String getOriginalFileName(String derivativeFileName) {
+            return derivativeFileName.substring(0, derivativeFileName.length() - ".jpg".length());
+        }
+
+        public static Derivative fromDirName(String dirName) {
+            for (Derivative derivative : values()) {
+                if (derivative.dirName.equals(dirName)) {
+                    return derivative;
+                }
+            }
+            return null;
+        }
     }
 
     /**
@@ -9,7 +9,9 @@ import javax.persistence.*;
 import java.util.List;
 
 @Entity
-@Table(name = "seller")
+@Table(name = "seller",
+        // 유저 id로 판매자, 매장 id 조회
+        indexes = @Index(name = "idx_seller_user_id", columnList = "user_id"))
 @Getter
 @Setter
 @ToString(exclude = {"shop", "user"})
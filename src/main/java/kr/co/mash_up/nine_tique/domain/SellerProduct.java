@@ -5,7 +5,9 @@ import lombok.*;
 import javax.persistence.*;
 
 @Entity
-@Table(name = "seller_product")
+@Table(name = "seller_product",
+        // 판매자의 상품 목록(seller_id = ? AND enabled = TRUE ORDER BY created_at DESC)을 정렬 없이 index 순서대로 조회
+        indexes = @Index(name = "idx_seller_product_seller_id_enabled_created_at", columnList = "seller_id, enabled, created_at DESC"))
 @Getter
 @Setter
 @ToString(exclude = {"seller", "product"})
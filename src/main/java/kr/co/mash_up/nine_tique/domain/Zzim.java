@@ -13,7 +13,9 @@ import java.util.Objects;
  * 찜(좋아요)
  */
 @Entity
-@Table(name = "zzim")
+@Table(name = "zzim",
+        // 유저 id로 찜 id 조회
+        indexes = @Index(name = "idx_zzim_user_id", columnList = "user_id"))
 @Getter
 @Setter
 @ToString(exclude = {"user"})
@@ -8,7 +8,9 @@ import javax.persistence.*;
 import java.sql.Timestamp;
 
 @Entity
-@Table(name = "zzim_product")
+@Table(name = "zzim_product",
+        // 유저의 찜 목록(zzim_id = ? AND enabled = TRUE ORDER BY created_at DESC)을 정렬 없이 index 순서대로 조회
+        indexes = @Index(name = "idx_zzim_product_zzim_id_enabled_created_at", columnList = "zzim_id, enabled, created_at DESC"))
 @Getter
 @Setter
 @ToString(exclude = {"zzim", "product"})
@@ -0,0 +1,80 @@
+package kr.co.mash_up.nine_tique.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * 카테고리 + 카테고리에 속한 enable된 상품 수
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+public class CategoryDto {
+
+    @JsonProperty(value = "id")
+    private Long id;
+
+    @JsonProperty(value = "main")
+    private String main;
+
+    @JsonProperty(value = "sub")
+    private String sub;
+
+    @JsonProperty(value = "product_count")
+    private long productCount;  // enable된 상품 수(판매중 + 판매완료)
+
+    @JsonProperty(value = "sell_count")
+    private long sellCount;  // 판매중
+
+    @JsonProperty(value = "sold_out_count")
+    private long soldOutCount;  // 판매완료
+
+    public static class Builder {
+
+        private Long id = 0L;
+        private String main = "";
+        private String sub = "";
+        private long sellCount;
+        private long soldOutCount;
+
+        public CategoryDto build() {
+            CategoryDto categoryDto = new CategoryDto();
+            categoryDto.setId(id);
+            categoryDto.setMain(main);
+            categoryDto.setSub(sub);
+            categoryDto.setProductCount(sellCount + soldOutCount);
+            categoryDto.setSellCount(sellCount);
+            categoryDto.setSoldOutCount(soldOutCount);
+            return categoryDto;
+        }
+
+        public Builder withId(Long id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder withMain(String main) {
+            this.main = main;
+            return this;
+        }
+
+        public Builder withSub(String sub) {
+            this.sub = sub;
+            return this;
+        }
+
+        public Builder withSellCount(long sellCount) {
+            this.sellCount = sellCount;
+            return this;
+        }
+
+        public Builder withSoldOutCount(long soldOutCount) {
+            this.soldOutCount = soldOutCount;
+            return this;
+        }
+    }
+}
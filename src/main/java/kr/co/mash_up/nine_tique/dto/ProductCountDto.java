@@ -0,0 +1,25 @@
+package kr.co.mash_up.nine_tique.dto;
+
+import kr.co.mash_up.nine_tique.domain.Product;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 카테고리 & 상품 상태별 enable된 상품 수 집계 결과
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ProductCountDto {
+
+    private Long categoryId;
+
+    private String mainCategory;
+
+    private boolean categoryEnabled;
+
+    private Product.Status status;
+
+    private long count;
+}
@@ -79,6 +79,32 @@ public class ProductDto {
         private long updatedAt;
         private boolean seller;
 
+        public Builder() {
+        }
+
+        /**
+         * 기존 DTO의 값을 복사해서 시작. 캐시된 DTO에 유저별 값(찜, 판매자 여부)을 덧씌울 때 사용
+         *
+         * @param productDto 복사할 DTO
+         */
+        public Builder(ProductDto productDto) {
+            this.id = productDto.id;
+            this.name = productDto.name;
+            this.brandName = productDto.brandName;
+            this.size = productDto.size;
+            this.price = productDto.price;
+            this.description = productDto.description;
+            this.status = productDto.status;
+            this.mainCategory = productDto.mainCategory;
+            this.subCategory = productDto.subCategory;
+            this.shop = productDto.shopDto;
+            this.productImages = productDto.productImageDtos;
+            this.zzimStatus = productDto.zzimStatus;
+            this.createdAt = productDto.createdAt;
+            this.updatedAt = productDto.updatedAt;
+            this.seller = productDto.seller;
+        }
+
         public ProductDto build() {
             ProductDto productDto = new ProductDto();
             productDto.setId(id);
@@ -14,14 +14,24 @@ import lombok.ToString;
 public class ProductImageDto {
 
     @JsonProperty
-    private String url;
+    private String url;  // 원본
+
+    @JsonProperty
+    private String thumbnailUrl;
+
+    @JsonProperty
+    private String compressedUrl;
 
     public static class Builder {
         private String url;
+        private String thumbnailUrl;
+        private String compressedUrl;
 
         public ProductImageDto build(){
             ProductImageDto productImageDto = new ProductImageDto();
             productImageDto.setUrl(url);
+            productImageDto.setThumbnailUrl(thumbnailUrl);
+            productImageDto.setCompressedUrl(compressedUrl);
             return productImageDto;
         }
 
@@ -29,5 +39,15 @@ public class ProductImageDto {
             this.url = url;
             return this;
         }
+
+        public Builder withThumbnailUrl(String thumbnailUrl){
+            this.thumbnailUrl = thumbnailUrl;
+            return this;
+        }
+
+        public Builder withCompressedUrl(String compressedUrl){
+            this.compressedUrl = compressedUrl;
+            return this;
+        }
     }
 }
@@ -0,0 +1,16 @@
+package kr.co.mash_up.nine_tique.exception;
+
+import kr.co.mash_up.nine_tique.util.Constant;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 파일 이동/저장에 실패했을 경우 발생
+ */
+@ResponseStatus(value = HttpStatus.INTERNAL_SERVER_ERROR, reason = "File Storage Error")
+public class FileStorageException extends BaseException {
+
+    public FileStorageException(String message, Throwable throwable) {
+        super(Constant.ResultCodes.INTERNAL_SERVER_ERROR, message, throwable);
+    }
+}
@@ -0,0 +1,9 @@
+package kr.co.mash_up.nine_tique.repository;
+
+import kr.co.mash_up.nine_tique.domain.ProductCard;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository(value = "productCardRepository")
+public interface ProductCardRepository extends JpaRepository<ProductCard, Long>, ProductCardRepositoryCustom {
+}
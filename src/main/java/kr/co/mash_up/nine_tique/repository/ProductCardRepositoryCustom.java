@@ -0,0 +1,74 @@
+package kr.co.mash_up.nine_tique.repository;
+
+import kr.co.mash_up.nine_tique.domain.Category;
+import kr.co.mash_up.nine_tique.domain.ProductCard;
+import kr.co.mash_up.nine_tique.domain.Shop;
+import kr.co.mash_up.nine_tique.vo.ProductCursor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Spring JPA에서 지원하지 않는 메소드를 QueryDSL을 이용하여 구현시 이용
+ * 상품 리스트는 모두 product_card 1개 테이블에서 index 순서대로 조회한다.
+ */
+public interface ProductCardRepositoryCustom {
+
+    /*
+    count query 없이 pageSize + 1개를 조회해서 다음 페이지 여부만 판단
+     */
+    Slice<ProductCard> findAllSlice(Pageable pageable);
+
+    Slice<ProductCard> findByCategorySlice(Pageable pageable, Long categoryId);
+
+    Slice<ProductCard> findByMainCategorySlice(Pageable pageable, String mainCategory);
+
+    /*
+    keyset(seek) paging
+    cursor 다음부터 limit개 조회. cursor가 null이면 첫 페이지
+     */
+    List<ProductCard> findAll(ProductCursor cursor, int limit);
+
+    List<ProductCard> findByCategory(ProductCursor cursor, int limit, Long categoryId);
+
+    List<ProductCard> findByMainCategory(ProductCursor cursor, int limit, String mainCategory);
+
+    /**
+     * 유저가 찜한 상품. 찜한 순서의 역순
+     */
+    Page<ProductCard> findZzimProducts(Long userId, Pageable pageable);
+
+    Slice<ProductCard> findZzimProductsSlice(Long userId, Pageable pageable);
+
+    /**
+     * 판매자가 등록한 상품. 판매중 -> 판매완료, 등록일 역순
+     */
+    Page<ProductCard> findSellerProducts(Long userId, Pageable pageable);
+
+    Slice<ProductCard> findSellerProductsSlice(Long userId, Pageable pageable);
+
+    /**
+     * 매장 정보가 바뀌었을 때 매장의 모든 카드에 반영
+     *
+     * @param shop 수정된 매장
+     * @return 갱신된 카드 수
+     */
+    long updateShop(Shop shop);
+
+    /**
+     * 카테고리 main/sub가 바뀌었을 때 카테고리의 모든 카드에 반영
+     *
+     * @param category 수정된 카테고리
+     * @return 갱신된 카드 수
+     */
+    long updateCategory(Category category);
+
+    /**
+     * @param productIds disable된 상품 id
+     * @return 삭제된 카드 수
+     */
+    long deleteByProductIds(Collection<Long> productIds);
+}
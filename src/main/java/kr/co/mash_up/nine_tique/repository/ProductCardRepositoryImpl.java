@@ -0,0 +1,217 @@
+package kr.co.mash_up.nine_tique.repository;
+
+import com.mysema.query.jpa.JPASubQuery;
+import com.mysema.query.jpa.impl.JPADeleteClause;
+import com.mysema.query.jpa.impl.JPAQuery;
+import com.mysema.query.jpa.impl.JPAUpdateClause;
+import com.mysema.query.types.expr.BooleanExpression;
+import kr.co.mash_up.nine_tique.domain.*;
+import kr.co.mash_up.nine_tique.util.PagingUtil;
+import kr.co.mash_up.nine_tique.vo.ProductCursor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * ProductCardRepositoryCustom 구현체
+ */
+public class ProductCardRepositoryImpl implements ProductCardRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<ProductCard> findAllSlice(Pageable pageable) {
+        return PagingUtil.toSlice(listQuery(null).limit(pageable.getPageSize() + 1)
+                .offset(pageable.getOffset())
+                .list(QProductCard.productCard), pageable);
+    }
+
+    @Override
+    public Slice<ProductCard> findByCategorySlice(Pageable pageable, Long categoryId) {
+        return PagingUtil.toSlice(listQuery(QProductCard.productCard.categoryId.eq(categoryId))
+                .limit(pageable.getPageSize() + 1)
+                .offset(pageable.getOffset())
+                .list(QProductCard.productCard), pageable);
+    }
+
+    @Override
+    public Slice<ProductCard> findByMainCategorySlice(Pageable pageable, String mainCategory) {
+        return PagingUtil.toSlice(listQuery(QProductCard.productCard.mainCategory.eq(mainCategory))
+                .limit(pageable.getPageSize() + 1)
+                .offset(pageable.getOffset())
+                .list(QProductCard.productCard), pageable);
+    }
+
+    @Override
+    public List<ProductCard> findAll(ProductCursor cursor, int limit) {
+        return listQuery(afterCursor(cursor)).limit(limit).list(QProductCard.productCard);
+    }
+
+    @Override
+    public List<ProductCard> findByCategory(ProductCursor cursor, int limit, Long categoryId) {
+        return listQuery(QProductCard.productCard.categoryId.eq(categoryId).and(afterCursor(cursor)))
+                .limit(limit)
+                .list(QProductCard.productCard);
+    }
+
+    @Override
+    public List<ProductCard> findByMainCategory(ProductCursor cursor, int limit, String mainCategory) {
+        return listQuery(QProductCard.productCard.mainCategory.eq(mainCategory).and(afterCursor(cursor)))
+                .limit(limit)
+                .list(QProductCard.productCard);
+    }
+
+    @Override
+    public Page<ProductCard> findZzimProducts(Long userId, Pageable pageable) {
+        JPAQuery query = zzimQuery(userId);
+        query.limit(pageable.getPageSize()).offset(pageable.getOffset());
+        return new PageImpl<ProductCard>(query.list(QProductCard.productCard), pageable, query.count());
+    }
+
+    @Override
+    public Slice<ProductCard> findZzimProductsSlice(Long userId, Pageable pageable) {
+        JPAQuery query = zzimQuery(userId);
+        query.limit(pageable.getPageSize() + 1).offset(pageable.getOffset());
+        return PagingUtil.toSlice(query.list(QProductCard.productCard), pageable);
+    }
+
+    @Override
+    public Page<ProductCard> findSellerProducts(Long userId, Pageable pageable) {
+        JPAQuery query = sellerQuery(userId);
+        query.limit(pageable.getPageSize()).offset(pageable.getOffset());
+        return new PageImpl<ProductCard>(query.list(QProductCard.productCard), pageable, query.count());
+    }
+
+    @Override
+    public Slice<ProductCard> findSellerProductsSlice(Long userId, Pageable pageable) {
+        JPAQuery query = sellerQuery(userId);
+        query.limit(pageable.getPageSize() + 1).offset(pageable.getOffset());
+        return PagingUtil.toSlice(query.list(QProductCard.productCard), pageable);
+    }
+
+    @Override
+    public long updateShop(Shop shop) {
+        QProductCard qProductCard = QProductCard.productCard;
+        return new JPAUpdateClause(entityManager, qProductCard)
+                .where(qProductCard.shopId.eq(shop.getId()))
+                .set(qProductCard.shopName, shop.getName())
+                .set(qProductCard.shopInfo, shop.getInfo())
+                .set(qProductCard.shopPhone, shop.getPhone())
+                .set(qProductCard.shopKakaoOpenChatUrl, shop.getKakaoOpenChatUrl())
+                .execute();
+    }
+
+    @Override
+    public long updateCategory(Category category) {
+        QProductCard qProductCard = QProductCard.productCard;
+        JPAUpdateClause updateClause = new JPAUpdateClause(entityManager, qProductCard)
+                .where(qProductCard.categoryId.eq(category.getId()))
+                .set(qProductCard.subCategory, category.getSub());
+        if (category.isEnabled()) {
+            updateClause.set(qProductCard.mainCategory, category.getMain());
+        } else {
+            updateClause.setNull(qProductCard.mainCategory);
+        }
+        return updateClause.execute();
+    }
+
+    @Override
+    public long deleteByProductIds(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return 0;
+        }
+
+        QProductCard qProductCard = QProductCard.productCard;
+        return new JPADeleteClause(entityManager, qProductCard)
+                .where(qProductCard.productId.in(productIds))
+                .execute();
+    }
+
+    /**
+     * 상품 리스트 조회용 query. index 역순(statusOrder DESC, createdAt DESC, id DESC)으로 정렬
+     * 판매중 -> 판매완료, 등록일 역순으로 기존 status ASC 정렬과 같은 순서
+     *
+     * @param condition 조건, null이면 전체
+     * @return query
+     */
+    private JPAQuery listQuery(BooleanExpression condition) {
+        QProductCard qProductCard = QProductCard.productCard;
+
+        return new JPAQuery(entityManager)
+                .from(qProductCard)
+                .where(condition)
+                .orderBy(qProductCard.statusOrder.desc(), qProductCard.createdAt.desc(), qProductCard.productId.desc());
+    }
+
+    /**
+     * 찜 상품 조회 query
+     * ProductCard는 연관관계가 없으므로 zzim_product와 product id로 join
+     * 유저의 zzim id를 먼저 구해서 zzim_product의 (zzim_id, enabled, created_at) index 순서대로 읽는다.
+     */
+    private JPAQuery zzimQuery(Long userId) {
+        QZzimProduct qZzimProduct = QZzimProduct.zzimProduct;
+        QProductCard qProductCard = QProductCard.productCard;
+        QZzim qZzim = QZzim.zzim;
+
+        return new JPAQuery(entityManager)
+                .from(qZzimProduct, qProductCard)
+                .where(qZzimProduct.zzim.id.eq(new JPASubQuery().from(qZzim)
+                                .where(qZzim.user.id.eq(userId))
+                                .unique(qZzim.id))
+                                .and(qZzimProduct.enabled.isTrue())
+                                .and(qZzimProduct.id.productId.eq(qProductCard.productId)))
+                .orderBy(qZzimProduct.createdAt.desc());
+    }
+
+    /**
+     * 판매자가 등록한 상품 조회 query
+     * 판매자의 매장 id로 product_card의 (shop_id, status_order, created_at, product_id) index 순서대로 읽고,
+     * 같은 매장의 다른 판매자가 등록한 상품은 seller_product로 거른다.
+     */
+    private JPAQuery sellerQuery(Long userId) {
+        QSellerProduct qSellerProduct = QSellerProduct.sellerProduct;
+        QProductCard qProductCard = QProductCard.productCard;
+        QSeller qSeller = QSeller.seller;
+
+        return new JPAQuery(entityManager)
+                .from(qProductCard)
+                .where(qProductCard.shopId.eq(new JPASubQuery().from(qSeller)
+                                .where(qSeller.user.id.eq(userId))
+                                .unique(qSeller.shop.id)),
+                        new JPASubQuery().from(qSellerProduct)
+                                .where(qSellerProduct.id.productId.eq(qProductCard.productId)
+                                        .and(qSellerProduct.seller.user.id.eq(userId))
+                                        .and(qSellerProduct.enabled.isTrue()))
+                                .exists())
+                .orderBy(qProductCard.statusOrder.desc(), qProductCard.createdAt.desc(), qProductCard.productId.desc());
+    }
+
+    /**
+     * 정렬 순서(statusOrder DESC, createdAt DESC, id DESC)에서 cursor 이후의 카드만 조회하는 조건
+     * ProductRepositoryImpl과 같은 조건을 statusOrder로 바꿨다.
+     *
+     * @param cursor 마지막으로 조회한 상품의 key
+     * @return 조건, 첫 페이지라면 null(조건 없음)
+     */
+    private BooleanExpression afterCursor(ProductCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+
+        QProductCard qProductCard = QProductCard.productCard;
+        int statusOrder = ProductCard.statusOrder(cursor.getStatus());
+        BooleanExpression sameStatus = qProductCard.statusOrder.eq(statusOrder);
+        return qProductCard.statusOrder.loe(statusOrder)
+                .and(qProductCard.statusOrder.lt(statusOrder)
+                        .or(sameStatus.and(qProductCard.createdAt.lt(cursor.getCreatedAt())))
+                        .or(sameStatus.and(qProductCard.createdAt.eq(cursor.getCreatedAt()))
+                                .and(qProductCard.productId.lt(cursor.getId()))));
+    }
+}
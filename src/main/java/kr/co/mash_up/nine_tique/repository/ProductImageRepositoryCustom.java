@@ -0,0 +1,46 @@
+package kr.co.mash_up.nine_tique.repository;
+
+import kr.co.mash_up.nine_tique.domain.ProductImage;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Spring JPA에서 지원하지 않는 메소드를 QueryDSL, JdbcTemplate을 이용하여 구현시 이용
+ */
+public interface ProductImageRepositoryCustom {
+
+    /**
+     * 업로드된 이미지를 1번의 JDBC batch로 insert
+     * 영속성 컨텍스트를 거치지 않으므로 저장된 엔티티에 id는 채워지지 않는다.
+     *
+     * @param productImages 저장할 이미지(상품 연결 전)
+     */
+    void insertAll(List<ProductImage> productImages);
+
+    /**
+     * 상품에 연결되지 않은 오래된 이미지를 조회하고 row lock(SELECT ... FOR UPDATE). 오래된 순
+     * lock은 호출한 트랜잭션이 끝날 때까지 유지되므로 트랜잭션 안에서 호출해야 한다.(ProductImageSweepService)
+     * 그 동안 상품 생성/수정에서 같은 이미지를 연결하려는 트랜잭션은 기다린다.
+     *
+     * @param before 이 시각 이전에 생성된 이미지
+     * @param limit  최대 개수
+     */
+    List<ProductImage> findOrphansForUpdate(LocalDateTime before, int limit);
+
+    /**
+     * 상품에 연결되지 않은 이미지 삭제
+     *
+     * @param ids 삭제할 이미지 id
+     * @return 삭제된 row 수
+     */
+    long deleteOrphans(List<Long> ids);
+
+    /**
+     * 상품들에 연결된 이미지를 1번에 조회. 상품 id, 이미지 id 순서
+     *
+     * @param productIds 상품 id
+     */
+    List<ProductImage> findByProductIds(Collection<Long> productIds);
+}
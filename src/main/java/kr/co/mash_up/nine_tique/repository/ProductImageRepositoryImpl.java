@@ -0,0 +1,103 @@
+package kr.co.mash_up.nine_tique.repository;
+
+import com.mysema.query.jpa.impl.JPADeleteClause;
+import com.mysema.query.jpa.impl.JPAQuery;
+import kr.co.mash_up.nine_tique.domain.ProductImage;
+import kr.co.mash_up.nine_tique.domain.QProductImage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.PersistenceContext;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * ProductImageRepositoryCustom 구현체
+ * id가 IDENTITY라 Hibernate는 insert를 batch로 묶지 못하므로 JdbcTemplate으로 직접 batch insert
+ * MySQL은 url에 rewriteBatchedStatements=true를 주면 multi-row insert 1개로 보낸다.
+ */
+public class ProductImageRepositoryImpl implements ProductImageRepositoryCustom {
+
+    private static final String INSERT_SQL = "INSERT INTO product_image "
+            + "(file_name, original_file_name, size, enabled, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void insertAll(List<ProductImage> productImages) {
+        if (productImages.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ProductImage productImage = productImages.get(i);
+                ps.setString(1, productImage.getFileName());
+                ps.setString(2, productImage.getOriginalFileName());
+                ps.setLong(3, productImage.getSize());
+                ps.setBoolean(4, productImage.isEnabled());
+                ps.setTimestamp(5, now);
+                ps.setTimestamp(6, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return productImages.size();
+            }
+        });
+    }
+
+    @Override
+    public List<ProductImage> findOrphansForUpdate(LocalDateTime before, int limit) {
+        JPAQuery query = new JPAQuery(entityManager);
+        QProductImage qProductImage = QProductImage.productImage;
+
+        query.from(qProductImage)
+                .where(qProductImage.product.isNull().and(qProductImage.createdAt.lt(before)))
+                .orderBy(qProductImage.createdAt.asc())
+                .limit(limit)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE);
+
+        return query.list(qProductImage);
+    }
+
+    @Override
+    public long deleteOrphans(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        QProductImage qProductImage = QProductImage.productImage;
+        return new JPADeleteClause(entityManager, qProductImage)
+                .where(qProductImage.id.in(ids).and(qProductImage.product.isNull()))
+                .execute();
+    }
+
+    @Override
+    public List<ProductImage> findByProductIds(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        QProductImage qProductImage = QProductImage.productImage;
+        return new JPAQuery(entityManager)
+                .from(qProductImage)
+                .where(qProductImage.product.id.in(productIds))
+                .orderBy(qProductImage.product.id.asc(), qProductImage.id.asc())
+                .list(qProductImage);
+    }
+}
@@ -2,9 +2,14 @@ package kr.co.mash_up.nine_tique.repository;
 
 import kr.co.mash_up.nine_tique.domain.Category;
 import kr.co.mash_up.nine_tique.domain.Product;
+import kr.co.mash_up.nine_tique.dto.ProductCountDto;
+import kr.co.mash_up.nine_tique.vo.ProductCursor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface ProductRepositoryCustom {
 
     Product findOneById(Long id);
@@ -14,4 +19,39 @@ public interface ProductRepositoryCustom {
     Page<Product> findByCategory(Pageable pageable, Category category);
 
     Page<Product> findByMainCategory(Pageable pageable, String mainCategory);
+
+    /**
+     * 카테고리 & 상품 상태별 enable된 상품 수 집계
+     *
+     * @return 집계 결과
+     */
+    List<ProductCountDto> countByCategoryAndStatus();
+
+    /**
+     * keyset(seek) paging으로 enable된 전체 상품 조회. shop, category를 fetch join한다.
+     * 상품 리스트는 product_card에서 조회하므로 카드 rebuild(ProductCardService.rebuildAll)에만 사용
+     *
+     * @param cursor 마지막으로 조회한 상품의 key. null이면 처음부터
+     * @param limit  최대 조회 수
+     * @return 조회된 상품
+     */
+    List<Product> findAll(ProductCursor cursor, int limit);
+
+    /**
+     * 상품 id로 한번에 조회. shop, category를 fetch join한다.
+     * enable 여부와 상관없이 조회
+     *
+     * @param productIds 조회할 상품 id
+     * @return 조회된 상품
+     */
+    List<Product> findByIds(Collection<Long> productIds);
+
+    /**
+     * 상품과 상품에 딸린 이미지, 판매자 상품, 찜 상품을 set 기반 UPDATE로 disable
+     * 엔티티를 로딩하지 않으므로 영속성 컨텍스트에 이미 로딩된 엔티티에는 반영되지 않는다.
+     *
+     * @param productIds disable할 상품 id
+     * @return disable된 상품 수
+     */
+    long disableAll(Collection<Long> productIds);
 }
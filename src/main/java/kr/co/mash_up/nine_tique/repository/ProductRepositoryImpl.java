@@ -1,16 +1,29 @@
 package kr.co.mash_up.nine_tique.repository;
 
 import com.mysema.query.jpa.impl.JPAQuery;
+import com.mysema.query.jpa.impl.JPAUpdateClause;
+import com.mysema.query.types.Projections;
+import com.mysema.query.types.expr.BooleanExpression;
 import kr.co.mash_up.nine_tique.domain.Category;
 import kr.co.mash_up.nine_tique.domain.Product;
 import kr.co.mash_up.nine_tique.domain.QCategory;
 import kr.co.mash_up.nine_tique.domain.QProduct;
+import kr.co.mash_up.nine_tique.domain.QProductImage;
+import kr.co.mash_up.nine_tique.domain.QSellerProduct;
+import kr.co.mash_up.nine_tique.domain.QShop;
+import kr.co.mash_up.nine_tique.domain.QZzimProduct;
+import kr.co.mash_up.nine_tique.dto.ProductCountDto;
+import kr.co.mash_up.nine_tique.vo.ProductCursor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 
 
 public class ProductRepositoryImpl implements ProductRepositoryCustom {
@@ -38,7 +51,7 @@ public class ProductRepositoryImpl implements ProductRepositoryCustom {
         query.from(qProduct)
                 .join(qProduct.category, qCategory)
                 .where(qCategory.id.eq(category.getId()).and(qProduct.enabled.isTrue()))
-                .orderBy(qProduct.status.asc(), qProduct.createdAt.desc())
+                .orderBy(qProduct.status.asc(), qProduct.createdAt.desc(), qProduct.id.desc())
                 .limit(pageable.getPageSize())
                 .offset(pageable.getOffset());
         return new PageImpl<Product>(query.list(qProduct), pageable, query.count());
@@ -51,7 +64,7 @@ public class ProductRepositoryImpl implements ProductRepositoryCustom {
 
         query.from(qProduct)
                 .where(qProduct.enabled.isTrue())
-                .orderBy(qProduct.status.asc(), qProduct.createdAt.desc())
+                .orderBy(qProduct.status.asc(), qProduct.createdAt.desc(), qProduct.id.desc())
                 .limit(pageable.getPageSize())
                 .offset(pageable.getOffset());
         return new PageImpl<Product>(query.list(qProduct), pageable, query.count());
@@ -66,9 +79,120 @@ public class ProductRepositoryImpl implements ProductRepositoryCustom {
         query.from(qProduct)
                 .join(qProduct.category, qCategory)
                 .where(qCategory.main.eq(mainCategory).and(qCategory.enabled.isTrue()).and(qProduct.enabled.isTrue()))
-                .orderBy(qProduct.status.asc(), qProduct.createdAt.desc())
+                .orderBy(qProduct.status.asc(), qProduct.createdAt.desc(), qProduct.id.desc())
                 .limit(pageable.getPageSize())
                 .offset(pageable.getOffset());
         return new PageImpl<Product>(query.list(qProduct), pageable, query.count());
     }
+
+    @Override
+    public List<ProductCountDto> countByCategoryAndStatus() {
+        JPAQuery query = new JPAQuery(entityManager);
+        QProduct qProduct = QProduct.product;
+        QCategory qCategory = QCategory.category;
+
+        query.from(qProduct)
+                .join(qProduct.category, qCategory)
+                .where(qProduct.enabled.isTrue())
+                .groupBy(qCategory.id, qCategory.main, qCategory.enabled, qProduct.status);
+        return query.list(Projections.constructor(ProductCountDto.class,
+                qCategory.id, qCategory.main, qCategory.enabled, qProduct.status, qProduct.count()));
+    }
+
+    @Override
+    public List<Product> findAll(ProductCursor cursor, int limit) {
+        QProduct qProduct = QProduct.product;
+
+        JPAQuery query = cardSourceQuery(qProduct);
+        query.where(qProduct.enabled.isTrue(), afterCursor(qProduct, cursor))
+                .orderBy(qProduct.status.asc(), qProduct.createdAt.desc(), qProduct.id.desc())
+                .limit(limit);
+        return query.list(qProduct);
+    }
+
+    @Override
+    public List<Product> findByIds(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        QProduct qProduct = QProduct.product;
+
+        JPAQuery query = cardSourceQuery(qProduct);
+        query.where(qProduct.id.in(productIds));
+        return query.list(qProduct);
+    }
+
+    @Override
+    public long disableAll(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();  // bulk update는 @PreUpdate가 호출되지 않는다.
+
+        QProductImage qProductImage = QProductImage.productImage;
+        new JPAUpdateClause(entityManager, qProductImage)
+                .where(qProductImage.product.id.in(productIds).and(qProductImage.enabled.isTrue()))
+                .set(qProductImage.enabled, false)
+                .set(qProductImage.updatedAt, now)
+                .execute();
+
+        QSellerProduct qSellerProduct = QSellerProduct.sellerProduct;
+        new JPAUpdateClause(entityManager, qSellerProduct)
+                .where(qSellerProduct.id.productId.in(productIds).and(qSellerProduct.enabled.isTrue()))
+                .set(qSellerProduct.enabled, false)
+                .set(qSellerProduct.updatedAt, now)
+                .execute();
+
+        QZzimProduct qZzimProduct = QZzimProduct.zzimProduct;
+        new JPAUpdateClause(entityManager, qZzimProduct)
+                .where(qZzimProduct.id.productId.in(productIds).and(qZzimProduct.enabled.isTrue()))
+                .set(qZzimProduct.enabled, false)
+                .set(qZzimProduct.updatedAt, now)
+                .execute();
+
+        QProduct qProduct = QProduct.product;
+        return new JPAUpdateClause(entityManager, qProduct)
+                .where(qProduct.id.in(productIds).and(qProduct.enabled.isTrue()))
+                .set(qProduct.enabled, false)
+                .set(qProduct.updatedAt, now)
+                .execute();
+    }
+
+    /**
+     * 카드(ProductCard)를 만들 상품 조회용 query
+     * 카드에 들어가는 shop, category를 fetch join해서 상품마다 select가 나가지 않게 한다.
+     *
+     * @param qProduct 조회할 상품
+     * @return shop, category가 fetch join된 query
+     */
+    private JPAQuery cardSourceQuery(QProduct qProduct) {
+        JPAQuery query = new JPAQuery(entityManager);
+
+        return query.from(qProduct)
+                .join(qProduct.category, QCategory.category).fetch()
+                .join(qProduct.shop, QShop.shop).fetch();
+    }
+
+    /**
+     * 정렬 순서(status ASC, createdAt DESC, id DESC)에서 cursor 이후의 상품만 조회하는 조건
+     * status >= cursor.status를 먼저 두어 index range scan을 탈 수 있게 한다.
+     *
+     * @param qProduct 조회할 상품
+     * @param cursor   마지막으로 조회한 상품의 key
+     * @return 조건, 첫 페이지라면 null(조건 없음)
+     */
+    private BooleanExpression afterCursor(QProduct qProduct, ProductCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+
+        BooleanExpression sameStatus = qProduct.status.eq(cursor.getStatus());
+        return qProduct.status.goe(cursor.getStatus())
+                .and(qProduct.status.gt(cursor.getStatus())
+                        .or(sameStatus.and(qProduct.createdAt.lt(cursor.getCreatedAt())))
+                        .or(sameStatus.and(qProduct.createdAt.eq(cursor.getCreatedAt()))
+                                .and(qProduct.id.lt(cursor.getId()))));
+    }
 }
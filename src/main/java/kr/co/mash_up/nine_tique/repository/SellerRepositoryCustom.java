@@ -1,10 +1,13 @@
 package kr.co.mash_up.nine_tique.repository;
 
+import kr.co.mash_up.nine_tique.domain.Product;
 import kr.co.mash_up.nine_tique.domain.Seller;
 import kr.co.mash_up.nine_tique.domain.SellerProduct;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -16,4 +19,26 @@ public interface SellerRepositoryCustom {
     List<SellerProduct> getSellerProducts(Long userId);
 
     Page<SellerProduct> getSellerProducts(Long userId, Pageable pageable);
+
+    /**
+     * count query 없이 판매자가 등록한 상품 조회. pageSize + 1개를 조회해서 다음 페이지 여부 판단
+     */
+    Slice<SellerProduct> getSellerProductsSlice(Long userId, Pageable pageable);
+
+    /**
+     * 주어진 상품 중 판매자가 등록한 상품의 id만 조회
+     *
+     * @param userId     판매자의 유저 id
+     * @param productIds 확인할 상품 id(현재 페이지의 상품)
+     * @return 판매자가 등록한 상품 id
+     */
+    List<Long> getSellerProductIds(Long userId, Collection<Long> productIds);
+
+    /**
+     * 판매자가 등록한 상품 조회. SellerProduct를 거치지 않고 category를 fetch join한 상품을 바로 조회
+     *
+     * @param userId 판매자의 유저 id
+     * @return 판매자가 등록한 상품
+     */
+    List<Product> getSellerProductsOnly(Long userId);
 }
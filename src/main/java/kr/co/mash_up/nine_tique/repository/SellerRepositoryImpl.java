@@ -2,12 +2,16 @@ package kr.co.mash_up.nine_tique.repository;
 
 import com.mysema.query.jpa.impl.JPAQuery;
 import kr.co.mash_up.nine_tique.domain.*;
+import kr.co.mash_up.nine_tique.util.PagingUtil;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -63,4 +67,60 @@ public class SellerRepositoryImpl implements SellerRepositoryCustom {
 
         return new PageImpl<SellerProduct>(query.list(qSellerProduct), pageable, query.count());
     }
+
+    @Override
+    public Slice<SellerProduct> getSellerProductsSlice(Long userId, Pageable pageable) {
+        JPAQuery query = new JPAQuery(entityManager);
+        QSellerProduct qSellerProduct = QSellerProduct.sellerProduct;
+        QSeller qSeller = QSeller.seller;
+        QUser qUser = QUser.user;
+        QProduct qProduct = QProduct.product;
+
+        query.from(qSellerProduct).join(qSellerProduct.seller, qSeller)
+                .join(qSellerProduct.product, qProduct)
+                .join(qSeller.user, qUser)
+                .where(qUser.id.eq(userId).and(qSellerProduct.enabled.isTrue()))
+                .orderBy(qProduct.status.asc(), qProduct.createdAt.desc())
+                .limit(pageable.getPageSize() + 1)
+                .offset(pageable.getOffset());
+
+        return PagingUtil.toSlice(query.list(qSellerProduct), pageable);
+    }
+
+    @Override
+    public List<Long> getSellerProductIds(Long userId, Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        JPAQuery query = new JPAQuery(entityManager);
+        QSellerProduct qSellerProduct = QSellerProduct.sellerProduct;
+        QSeller qSeller = QSeller.seller;
+        QUser qUser = QUser.user;
+
+        query.from(qSellerProduct).join(qSellerProduct.seller, qSeller)
+                .join(qSeller.user, qUser)
+                .where(qUser.id.eq(userId).and(qSellerProduct.enabled.isTrue())
+                        .and(qSellerProduct.product.id.in(productIds)));
+
+        return query.list(qSellerProduct.product.id);
+    }
+
+    @Override
+    public List<Product> getSellerProductsOnly(Long userId) {
+        JPAQuery query = new JPAQuery(entityManager);
+        QSellerProduct qSellerProduct = QSellerProduct.sellerProduct;
+        QSeller qSeller = QSeller.seller;
+        QUser qUser = QUser.user;
+        QProduct qProduct = QProduct.product;
+
+        query.from(qSellerProduct).join(qSellerProduct.seller, qSeller)
+                .join(qSellerProduct.product, qProduct)
+                .join(qProduct.category).fetch()
+                .join(qProduct.shop).fetch()
+                .join(qSeller.user, qUser)
+                .where(qUser.id.eq(userId).and(qSellerProduct.enabled.isTrue()));
+
+        return query.list(qProduct);
+    }
 }
@@ -3,6 +3,7 @@ package kr.co.mash_up.nine_tique.repository;
 import kr.co.mash_up.nine_tique.domain.Shop;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 /**
  * Spring JPA에서 지원하지 않는 메소드를 QueryDSL을 이용하여 구현시 이용
@@ -11,4 +12,9 @@ public interface ShopRepositoryCustom {
     Shop findByUserId(Long userId);
 
     Page<Shop> findShops(Pageable pageable);
+
+    /**
+     * count query 없이 매장 리스트 조회. pageSize + 1개를 조회해서 다음 페이지 여부 판단
+     */
+    Slice<Shop> findShopsSlice(Pageable pageable);
 }
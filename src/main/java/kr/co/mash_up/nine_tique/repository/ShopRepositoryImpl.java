@@ -5,9 +5,11 @@ import kr.co.mash_up.nine_tique.domain.QSeller;
 import kr.co.mash_up.nine_tique.domain.QShop;
 import kr.co.mash_up.nine_tique.domain.QUser;
 import kr.co.mash_up.nine_tique.domain.Shop;
+import kr.co.mash_up.nine_tique.util.PagingUtil;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
@@ -49,4 +51,18 @@ public class ShopRepositoryImpl implements ShopRepositoryCustom {
 
         return new PageImpl<Shop>(query.list(qShop), pageable, query.count());
     }
+
+    @Override
+    public Slice<Shop> findShopsSlice(Pageable pageable) {
+        JPAQuery query = new JPAQuery(entityManager);
+        QShop qShop = QShop.shop;
+
+        query.from(qShop)
+                .where(qShop.enabled.isTrue())
+                .orderBy(qShop.createdAt.desc())
+                .limit(pageable.getPageSize() + 1)
+                .offset(pageable.getOffset());
+
+        return PagingUtil.toSlice(query.list(qShop), pageable);
+    }
 }
@@ -0,0 +1,17 @@
+package kr.co.mash_up.nine_tique.repository;
+
+import java.util.List;
+
+/**
+ * Spring JPA에서 지원하지 않는 메소드를 QueryDSL을 이용하여 구현시 이용
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * User 엔티티(seller, zzim EAGER)를 로딩하지 않고 권한 이름만 조회
+     *
+     * @param userId 유저 id
+     * @return 권한 이름, 유저가 없으면 빈 list
+     */
+    List<String> findAuthorities(Long userId);
+}
@@ -0,0 +1,30 @@
+package kr.co.mash_up.nine_tique.repository;
+
+import com.mysema.query.jpa.impl.JPAQuery;
+import kr.co.mash_up.nine_tique.domain.QAuthority;
+import kr.co.mash_up.nine_tique.domain.QUser;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+
+/**
+ * UserRepositoryCustom 구현체
+ */
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<String> findAuthorities(Long userId) {
+        JPAQuery query = new JPAQuery(entityManager);
+        QUser qUser = QUser.user;
+        QAuthority qAuthority = QAuthority.authority1;
+
+        query.from(qUser).join(qUser.authorities, qAuthority)
+                .where(qUser.id.eq(userId));
+
+        return query.list(qAuthority.authority);
+    }
+}
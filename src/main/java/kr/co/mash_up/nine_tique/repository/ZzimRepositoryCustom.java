@@ -5,7 +5,9 @@ import kr.co.mash_up.nine_tique.domain.Zzim;
 import kr.co.mash_up.nine_tique.domain.ZzimProduct;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -17,5 +19,19 @@ public interface ZzimRepositoryCustom {
 
     Page<ZzimProduct> getZzimProducts(Long userId, Pageable pageable);
 
+    /**
+     * count query 없이 찜 목록 조회. pageSize + 1개를 조회해서 다음 페이지 여부 판단
+     */
+    Slice<ZzimProduct> getZzimProductsSlice(Long userId, Pageable pageable);
+
     List<ZzimProduct> getZzimProducts(Long userId);
+
+    /**
+     * 주어진 상품 중 유저가 찜한 상품의 id만 조회
+     *
+     * @param userId     유저 id
+     * @param productIds 확인할 상품 id(현재 페이지의 상품)
+     * @return 찜한 상품 id
+     */
+    List<Long> getZzimProductIds(Long userId, Collection<Long> productIds);
 }
@@ -2,12 +2,16 @@ package kr.co.mash_up.nine_tique.repository;
 
 import com.mysema.query.jpa.impl.JPAQuery;
 import kr.co.mash_up.nine_tique.domain.*;
+import kr.co.mash_up.nine_tique.util.PagingUtil;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -34,6 +38,22 @@ public class ZzimRepositoryImpl implements ZzimRepositoryCustom {
         return new PageImpl<ZzimProduct>(query.list(qZzimProduct), pageable, query.count());
     }
 
+    @Override
+    public Slice<ZzimProduct> getZzimProductsSlice(Long userId, Pageable pageable) {
+        JPAQuery query = new JPAQuery(entityManager);
+        QZzimProduct qZzimProduct = QZzimProduct.zzimProduct;
+        QZzim qZzim = QZzim.zzim;
+        QUser qUser = QUser.user;
+
+        query.from(qZzimProduct).join(qZzimProduct.zzim, qZzim)
+                .join(qZzim.user, qUser)
+                .where(qUser.id.eq(userId).and(qZzimProduct.enabled.isTrue()))
+                .orderBy(qZzimProduct.createdAt.desc())
+                .limit(pageable.getPageSize() + 1).offset(pageable.getOffset());
+
+        return PagingUtil.toSlice(query.list(qZzimProduct), pageable);
+    }
+
     @Override
     public List<ZzimProduct> getZzimProducts(Long userId) {
         JPAQuery query = new JPAQuery(entityManager);
@@ -49,6 +69,25 @@ public class ZzimRepositoryImpl implements ZzimRepositoryCustom {
         return query.list(qZzimProduct);
     }
 
+    @Override
+    public List<Long> getZzimProductIds(Long userId, Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        JPAQuery query = new JPAQuery(entityManager);
+        QZzimProduct qZzimProduct = QZzimProduct.zzimProduct;
+        QZzim qZzim = QZzim.zzim;
+        QUser qUser = QUser.user;
+
+        query.from(qZzimProduct).join(qZzimProduct.zzim, qZzim)
+                .join(qZzim.user, qUser)
+                .where(qUser.id.eq(userId).and(qZzimProduct.enabled.isTrue())
+                        .and(qZzimProduct.product.id.in(productIds)));
+
+        return query.list(qZzimProduct.product.id);
+    }
+
     @Override
     public ZzimProduct getZzimProduct(Zzim zzim, Product product) {
         JPAQuery query = new JPAQuery(entityManager);
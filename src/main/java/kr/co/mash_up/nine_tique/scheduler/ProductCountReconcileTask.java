@@ -0,0 +1,27 @@
+package kr.co.mash_up.nine_tique.scheduler;
+
+import kr.co.mash_up.nine_tique.service.ProductCountService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 증감으로 유지하는 카테고리별 상품 수를 주기적으로 DB 집계값과 맞추는 스케쥴러
+ * commit 후 반영이 실패하거나 DB를 직접 수정한 경우에도 product.count.reconcile_interval(ms) 안에 맞춰진다.
+ */
+@Component
+@Slf4j
+public class ProductCountReconcileTask {
+
+    @Autowired
+    private ProductCountService productCountService;
+
+    @Scheduled(fixedDelayString = "${product.count.reconcile_interval:600000}", initialDelayString = "${product.count.reconcile_interval:600000}")
+    public void work() {
+        int mismatchCount = productCountService.reconcile();
+        if (mismatchCount > 0) {
+            log.warn("reconcile product count {} categories", mismatchCount);
+        }
+    }
+}
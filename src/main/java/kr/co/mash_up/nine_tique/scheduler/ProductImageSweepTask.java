@@ -0,0 +1,65 @@
+package kr.co.mash_up.nine_tique.scheduler;
+
+import kr.co.mash_up.nine_tique.service.ProductImageSweepService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * 상품에 연결되지 않은 이미지를 조금씩 정리하는 스케쥴러
+ * 디렉토리를 뒤지지 않고 일정 시간(min_age)이 지난 이미지만 index로 찾아서 batch 단위로 삭제한다.(ProductImageSweepService)
+ * 다른 @Scheduled 작업을 막지 않도록 전용 thread(SchedulingConfig.IMAGE_SWEEP_EXECUTOR)에서 실행한다.
+ */
+@Component
+@Slf4j
+public class ProductImageSweepTask {
+
+    @Autowired
+    private ProductImageSweepService productImageSweepService;
+
+    @Autowired
+    @Qualifier(SchedulingConfig.IMAGE_SWEEP_EXECUTOR)
+    private ThreadPoolTaskExecutor imageSweepExecutor;
+
+    @Value(value = "${image.sweep.min_age:86400}")
+    private long minAge;  // second
+
+    @Value(value = "${image.sweep.batch_size:100}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${image.sweep.interval:60000}", initialDelayString = "${image.sweep.interval:60000}")
+    public void work() {
+        try {
+            imageSweepExecutor.execute(() -> sweep(LocalDateTime.now().minusSeconds(minAge)));
+        } catch (TaskRejectedException e) {
+            log.debug("previous product image sweep is running");
+        }
+    }
+
+    /**
+     * @param before 이 시각 이전에 업로드되고 상품에 연결되지 않은 이미지를 삭제
+     * @return 삭제된 이미지 수
+     */
+    public int sweep(LocalDateTime before) {
+        int total = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            int count = productImageSweepService.deleteOrphans(before, batchSize);
+            total += count;
+            if (count < batchSize) {  // 파일 삭제가 실패한 이미지는 다음 정리때 다시 시도
+                break;
+            }
+        }
+
+        if (total > 0) {
+            log.info("sweep orphan product image {} before {}", total, before);
+        }
+        return total;
+    }
+}
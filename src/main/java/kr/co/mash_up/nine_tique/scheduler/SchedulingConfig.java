@@ -1,20 +1,89 @@
 package kr.co.mash_up.nine_tique.scheduler;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ScheduledExecutorFactoryBean;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableScheduling
-@EnableAsync
 public class SchedulingConfig {
 
+    public static final String IMAGE_DERIVATIVE_EXECUTOR = "imageDerivativeExecutor";
+
+    public static final String FILE_MOVE_EXECUTOR = "fileMoveExecutor";
+
+    public static final String IMAGE_SWEEP_EXECUTOR = "imageSweepExecutor";
+
+    @Value(value = "${image.derivative.pool_size:2}")
+    private int imageDerivativePoolSize;
+
+    @Value(value = "${image.derivative.queue_capacity:100}")
+    private int imageDerivativeQueueCapacity;
+
+    @Value(value = "${storage.move_pool_size:4}")
+    private int fileMovePoolSize;
+
     @Bean(destroyMethod = "shutdown")
     public ScheduledExecutorFactoryBean scheduledExecutorFactoryBean() {
         ScheduledExecutorFactoryBean bean = new ScheduledExecutorFactoryBean();
         bean.setPoolSize(5);
         return bean;
     }
+
+    /**
+     * 썸네일, 압축본 생성 worker
+     * thread 수와 queue 크기를 제한하고, queue가 차면 요청 thread에서 실행하지 않고 버린다.(AbortPolicy)
+     * 버려진 작업은 파생 이미지가 처음 요청될 때 다시 등록된다.
+     */
+    @Bean(name = IMAGE_DERIVATIVE_EXECUTOR)
+    public ThreadPoolTaskExecutor imageDerivativeExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(imageDerivativePoolSize);
+        executor.setMaxPoolSize(imageDerivativePoolSize);
+        executor.setQueueCapacity(imageDerivativeQueueCapacity);
+        executor.setThreadNamePrefix("image-derivative-");
+        executor.setThreadPriority(Thread.NORM_PRIORITY - 1);  // 요청 처리 thread보다 낮게
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * 상품 이미지 파일 이동(FileStorageService)
+     * 요청 thread가 결과를 기다리므로 pool이 가득 차면 요청 thread에서 직접 실행한다.(CallerRunsPolicy)
+     */
+    @Bean(name = FILE_MOVE_EXECUTOR)
+    public ThreadPoolTaskExecutor fileMoveExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(fileMovePoolSize);
+        executor.setMaxPoolSize(fileMovePoolSize);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("file-move-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    /**
+     * 상품에 연결되지 않은 이미지 정리(ProductImageSweepTask)
+     * 파일 삭제 속도를 제한하느라 오래 걸리므로 다른 @Scheduled 작업과 나눠 쓰는 pool이 아닌 전용 thread 1개에서 실행한다.
+     * 이전 정리가 아직 실행중이면 새로 등록하지 않는다.(AbortPolicy)
+     * 종료시 기다리지 않고 interrupt해서 현재 batch까지만 정리하게 한다.
+     */
+    @Bean(name = IMAGE_SWEEP_EXECUTOR)
+    public ThreadPoolTaskExecutor imageSweepExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("image-sweep-");
+        executor.setThreadPriority(Thread.NORM_PRIORITY - 1);  // 요청 처리 thread보다 낮게
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
 }
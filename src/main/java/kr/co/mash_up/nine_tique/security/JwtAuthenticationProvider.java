@@ -21,7 +21,7 @@ public class JwtAuthenticationProvider implements AuthenticationProvider {
             throws AuthenticationException {
 
         Long userId = (Long) authentication.getPrincipal();
-        log.info("authenticate user id" + userId);
+        log.debug("authenticate user id {}", userId);
 
         User user = userRepository.findOne(userId);
 
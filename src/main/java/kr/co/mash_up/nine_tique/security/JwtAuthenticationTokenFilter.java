@@ -1,9 +1,6 @@
 package kr.co.mash_up.nine_tique.security;
 
 import kr.co.mash_up.nine_tique.config.JwtSettings;
-import kr.co.mash_up.nine_tique.domain.User;
-import kr.co.mash_up.nine_tique.exception.IdNotFoundException;
-import kr.co.mash_up.nine_tique.repository.UserRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -28,7 +25,7 @@ public class JwtAuthenticationTokenFilter extends OncePerRequestFilter {
     private JwtTokenUtil jwtTokenUtil;
 
     @Autowired
-    private UserRepository userRepository;
+    private UserPrincipalStore userPrincipalStore;
 
     public static final String HEADER_PREFIX = "Bearer ";
 
@@ -47,31 +44,36 @@ public class JwtAuthenticationTokenFilter extends OncePerRequestFilter {
                 throw new ServletException("Missing or invalid Authorization header.");
             }
 
-            logger.info(authHeader.toString());
-
             final String token = authHeader.substring(HEADER_PREFIX.length());  // The part after "Bearer "
 
-            if (!jwtTokenUtil.validateToken(token)) {
+            JwtClaims claims = jwtTokenUtil.parseToken(token);  // 1번만 parse, 같은 token은 캐시에서 가져온다.
+            if (claims.isExpired()) {
                 throw new ServletException("Invaild token.");
             }
 
-            Long userId = jwtTokenUtil.getUserIdFromToken(token);
-            log.info("user id " + userId);
-            User user = userRepository.findOne(userId);
-
-            if (user == null) {
-                //Todo: 에러 처리 핸들러 구현
-                throw new IdNotFoundException("user not found");
-            }
+            Long userId = claims.getUserId();
+            log.debug("user id {}", userId);
 
             if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserPrincipal principal = toPrincipal(claims);
                 UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(user, null, user.getAuthoritiesWithoutPersistence());
+                        new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                log.info("authenticated user " + userId + ", setting security context");
+                log.debug("authenticated user {}, setting security context", userId);
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
         }
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * 권한 claim이 있는 token은 claim으로 principal 생성(DB 조회 안함)
+     * 권한 claim이 없는 이전 token은 principal 캐시에서 조회
+     */
+    private UserPrincipal toPrincipal(JwtClaims claims) {
+        if (jwtSettings.isPrincipalFromClaims() && claims.hasAuthorities()) {
+            return new UserPrincipal(claims.getUserId(), claims.getAuthorities());
+        }
+        return userPrincipalStore.get(claims.getUserId());
+    }
 }
@@ -0,0 +1,102 @@
+package kr.co.mash_up.nine_tique.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 서명 검증이 끝난 token의 claim
+ * 1번 parse한 결과를 여러 곳에서 공유(캐시)하므로 불변으로 만든다.
+ */
+public final class JwtClaims {
+
+    private final String subject;
+
+    private final String issuer;
+
+    private final long issuedAt;  // epoch millis
+
+    private final long expiration;  // epoch millis
+
+    private final Long userId;
+
+    private final String oauthToken;
+
+    private final String oauthType;
+
+    private final String roles;
+
+    private final List<String> authorities;  // 권한 claim이 없는 token(이전 버전)은 null
+
+    private JwtClaims(Claims claims) {
+        this.subject = claims.getSubject();
+        this.issuer = claims.getIssuer();
+        this.issuedAt = claims.getIssuedAt() == null ? 0L : claims.getIssuedAt().getTime();
+        this.expiration = claims.getExpiration() == null ? Long.MAX_VALUE : claims.getExpiration().getTime();
+
+        String strUserId = claims.get(JwtTokenUtil.CLAIM_KEY_USER_ID, String.class);
+        this.userId = strUserId == null ? null : Long.valueOf(strUserId);
+        this.oauthToken = claims.get(JwtTokenUtil.CLAIM_KEY_OAUTH_TOKEN, String.class);
+        this.oauthType = claims.get(JwtTokenUtil.CLAIM_KEY_OAUTH_TYPE, String.class);
+        this.roles = claims.get(JwtTokenUtil.CLAIM_KEY_ROLES, String.class);
+
+        String strAuthorities = claims.get(JwtTokenUtil.CLAIM_KEY_AUTHORITIES, String.class);
+        this.authorities = strAuthorities == null || strAuthorities.isEmpty()
+                ? null : Collections.unmodifiableList(Arrays.asList(strAuthorities.split(",")));
+    }
+
+    public static JwtClaims of(Claims claims) {
+        return new JwtClaims(claims);
+    }
+
+    public boolean isExpired() {
+        return expiration <= System.currentTimeMillis();
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getIssuer() {
+        return issuer;
+    }
+
+    public Date getIssuedAt() {
+        return new Date(issuedAt);
+    }
+
+    public Date getExpiration() {
+        return new Date(expiration);
+    }
+
+    public long getExpirationMillis() {
+        return expiration;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getOauthToken() {
+        return oauthToken;
+    }
+
+    public String getOauthType() {
+        return oauthType;
+    }
+
+    public String getRoles() {
+        return roles;
+    }
+
+    public List<String> getAuthorities() {
+        return authorities;
+    }
+
+    public boolean hasAuthorities() {
+        return authorities != null;
+    }
+}
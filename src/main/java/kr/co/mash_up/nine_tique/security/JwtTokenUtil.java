@@ -1,5 +1,7 @@
 package kr.co.mash_up.nine_tique.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -8,13 +10,21 @@ import kr.co.mash_up.nine_tique.config.JwtSettings;
 import kr.co.mash_up.nine_tique.domain.User;
 import kr.co.mash_up.nine_tique.exception.InvalidTokenException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
 import javax.servlet.ServletException;
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @Component
 public class JwtTokenUtil implements Serializable {
@@ -31,22 +41,77 @@ public class JwtTokenUtil implements Serializable {
     static final String CLAIM_KEY_USER_ID = "user_id";
     static final String CLAIM_KEY_OAUTH_TOKEN = "oauth_token";
     static final String CLAIM_KEY_OAUTH_TYPE = "oauth_type";
-    static final String CLAIM_KEY_ROLES = "roles";
+    static final String CLAIM_KEY_ROLES = "roles";  // 가장 높은 권한
+    static final String CLAIM_KEY_AUTHORITIES = "authorities";  // 유저의 모든 권한, ','로 구분
 
     @Autowired
     private JwtSettings jwtSettings;
 
+    /*
+    서명 검증한 claim 캐시. key는 token의 SHA-256 hash(token 원문을 메모리에 남기지 않는다.)
+    같은 모바일 세션의 반복 요청은 HMAC 검증, JSON parse 없이 캐시에서 가져온다.
+    만료된 token은 조회할 때 제거하고, token 최대 수명이 지나면 자동으로 제거된다.
+     */
+    private transient Cache<String, JwtClaims> claimsCache;
+
+    @PostConstruct
+    public void init() {
+        if (jwtSettings.getClaimsCacheSize() <= 0) {  // 캐시 사용 안함
+            return;
+        }
+        claimsCache = Caffeine.newBuilder()
+                .maximumSize(jwtSettings.getClaimsCacheSize())
+                .expireAfterWrite(jwtSettings.getTokenExpirationTime(), TimeUnit.SECONDS)
+                .build();
+    }
+
     public Boolean validateToken(String token) throws ServletException {
         return !isTokenExpired(token);
     }
 
+    /**
+     * token을 1번만 parse & 서명 검증해서 claim을 얻는다. 검증된 claim은 token 만료시까지 캐시
+     *
+     * @param token access token
+     * @return 검증된 claim
+     */
+    public JwtClaims parseToken(String token) {
+        if (claimsCache == null) {
+            return JwtClaims.of(getClaimsFromToken(token));
+        }
+
+        String key = hash(token);
+
+        JwtClaims claims = claimsCache.getIfPresent(key);
+        if (claims != null) {
+            if (claims.isExpired()) {
+                claimsCache.invalidate(key);
+            }
+            return claims;
+        }
+
+        claims = JwtClaims.of(getClaimsFromToken(token));
+        if (!claims.isExpired()) {
+            claimsCache.put(key, claims);
+        }
+        return claims;
+    }
+
+    private String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);  // 모든 JVM은 SHA-256을 지원해야 한다.
+        }
+    }
+
     private Date generateExpirationDate() {
         return new Date(System.currentTimeMillis() + jwtSettings.getTokenExpirationTime() * 1000);
     }
 
     private Boolean isTokenExpired(String token) throws ServletException {
-        final Date expiration = getExpirationAtFromToken(token);
-        return expiration.before(new Date());
+        return parseToken(token).isExpired();
     }
 
     public String refreshToken(String token) {
@@ -79,6 +144,9 @@ public class JwtTokenUtil implements Serializable {
         claims.put(CLAIM_KEY_OAUTH_TOKEN, user.getOauthToken());
         claims.put(CLAIM_KEY_OAUTH_TYPE, user.getOauthType());
         claims.put(CLAIM_KEY_ROLES, authority);
+        claims.put(CLAIM_KEY_AUTHORITIES, user.getAuthoritiesWithoutPersistence().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.joining(",")));
 
         return generateToken(claims);
     }
@@ -96,64 +164,35 @@ public class JwtTokenUtil implements Serializable {
     }
 
     public String getSubjectFromToken(String token) throws ServletException {
-
-        Claims claims = getClaimsFromToken(token);
-
-        return claims.getSubject();
+        return parseToken(token).getSubject();
     }
 
     public Date getIssuedAtFromToken(String token) throws ServletException {
-        Claims claims = getClaimsFromToken(token);
-
-        return claims.getIssuedAt();
+        return parseToken(token).getIssuedAt();
     }
 
     public String getIssuerFromToken(String token) throws ServletException {
-        Claims claims = getClaimsFromToken(token);
-
-        return claims.getIssuer();
+        return parseToken(token).getIssuer();
     }
 
     public Date getExpirationAtFromToken(String token) throws ServletException {
-        Claims claims = getClaimsFromToken(token);
-
-        return claims.getExpiration();
+        return parseToken(token).getExpiration();
     }
 
     /********** private claim **************/
     public Long getUserIdFromToken(String token) throws ServletException {
-        Long userId;
-
-        Claims claims = getClaimsFromToken(token);
-
-        userId = Long.valueOf((String) claims.get("user_id"));
-        return userId;
+        return parseToken(token).getUserId();
     }
 
     public String getOauthTokenFromToken(String token) throws ServletException {
-        String oauthToken;
-
-        Claims claims = getClaimsFromToken(token);
-
-        oauthToken = (String) claims.get("oauth_token");
-        return oauthToken;
+        return parseToken(token).getOauthToken();
     }
 
     public String getOauthTypeFromToken(String token) throws ServletException {
-        String oauthType;
-
-        Claims claims = getClaimsFromToken(token);
-        oauthType = (String) claims.get("oauth_type");
-
-        return oauthType;
+        return parseToken(token).getOauthType();
     }
 
     public String getRolesFromToken(String token) throws ServletException {
-        String roles;
-
-        Claims claims = getClaimsFromToken(token);
-
-        roles = (String) claims.get("roles");
-        return roles;
+        return parseToken(token).getRoles();
     }
 }
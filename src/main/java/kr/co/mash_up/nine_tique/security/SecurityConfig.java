@@ -139,6 +139,10 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 .antMatchers(HttpMethod.DELETE, API_SELLER + SUFFIX).hasAnyAuthority(Authorities.SELLER)
 //                .antMatchers(HttpMethod.DELETE, API_SELLER + SUFFIX).hasAnyAuthority(Authorities.ADMIN)
 
+                .and()
+                .authorizeRequests()
+                .antMatchers(MANAGEMENT + SUFFIX).hasAnyAuthority(Authorities.ADMIN)
+
                 .and()
                 .authorizeRequests()
                 .anyRequest().authenticated();
@@ -0,0 +1,42 @@
+package kr.co.mash_up.nine_tique.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 인증된 요청의 principal
+ * 요청마다 User 엔티티(seller, zzim, authorities EAGER)를 조회하지 않도록 id와 권한만 가진다.
+ */
+public final class UserPrincipal implements Serializable {
+
+    private final Long id;
+
+    private final Set<GrantedAuthority> authorities;
+
+    public UserPrincipal(Long id, Collection<String> authorities) {
+        Set<GrantedAuthority> grantedAuthorities = new LinkedHashSet<>();
+        authorities.forEach(authority -> grantedAuthorities.add(new SimpleGrantedAuthority(authority)));
+
+        this.id = id;
+        this.authorities = Collections.unmodifiableSet(grantedAuthorities);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Set<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String toString() {
+        return "UserPrincipal(id=" + id + ", authorities=" + authorities + ")";
+    }
+}
@@ -0,0 +1,67 @@
+package kr.co.mash_up.nine_tique.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import kr.co.mash_up.nine_tique.config.JwtSettings;
+import kr.co.mash_up.nine_tique.exception.IdNotFoundException;
+import kr.co.mash_up.nine_tique.repository.UserRepository;
+import kr.co.mash_up.nine_tique.util.TransactionUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * token에 권한 claim이 없을 때 사용하는 principal 캐시
+ * 유저의 권한 이름만 조회해서 캐시하고, 권한이 바뀌면 evict한다.
+ */
+@Component
+@Slf4j
+public class UserPrincipalStore {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtSettings jwtSettings;
+
+    private Cache<Long, UserPrincipal> principals;  // user id -> principal
+
+    @PostConstruct
+    public void init() {
+        principals = Caffeine.newBuilder()
+                .maximumSize(jwtSettings.getPrincipalCacheSize())
+                .expireAfterWrite(jwtSettings.getPrincipalCacheExpirationTime(), TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * @param userId 유저 id
+     * @return 유저 id와 권한
+     */
+    public UserPrincipal get(Long userId) {
+        return principals.get(userId, this::load);
+    }
+
+    /**
+     * 유저 권한 변경. 트랜잭션이 commit된 후 캐시에서 제거
+     *
+     * @param userId 유저 id
+     */
+    public void evict(Long userId) {
+        TransactionUtil.afterCommit(() -> principals.invalidate(userId));
+    }
+
+    private UserPrincipal load(Long userId) {
+        List<String> authorities = userRepository.findAuthorities(userId);
+        if (authorities.isEmpty()) {  // 모든 유저는 최소 USER 권한을 가진다.
+            throw new IdNotFoundException("user not found");
+        }
+
+        log.debug("load principal {} {}", userId, authorities);
+        return new UserPrincipal(userId, authorities);
+    }
+}
@@ -0,0 +1,240 @@
+package kr.co.mash_up.nine_tique.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.co.mash_up.nine_tique.domain.Category;
+import kr.co.mash_up.nine_tique.domain.Product;
+import kr.co.mash_up.nine_tique.dto.CategoryDto;
+import kr.co.mash_up.nine_tique.repository.CategoryRepository;
+import kr.co.mash_up.nine_tique.util.TransactionUtil;
+import kr.co.mash_up.nine_tique.vo.CategoryListResponseVO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+
+import javax.annotation.PostConstruct;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * enable된 카테고리의 in-memory index
+ * 카테고리는 적고 거의 바뀌지 않으므로 상품 조회/등록마다 DB에서 찾지 않고 메모리의 snapshot에서 찾는다.
+ * snapshot은 불변이고 변경시 통째로 새로 만들어 교체(copy-on-write)하므로 조회는 lock 없이, 객체 생성 없이 동작한다.
+ * <p>
+ * GET /api/categories 응답은 snapshot과 ProductCountService의 상품 수로 만들어 직렬화해두고,
+ * 둘 중 하나가 바뀌었을 때만 다시 만든다.
+ * <p>
+ * CategorySservice의 생성/수정/삭제가 commit된 후 다시 읽고,
+ * 다른 서버에서 변경된 경우를 위해 category.refresh_interval(ms)마다 다시 읽는다.
+ */
+@Service(value = "categoryRegistry")
+@Slf4j
+public class CategoryRegistry {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductCountService productCountService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private volatile Snapshot snapshot;
+
+    private volatile ListResponse listResponse;
+
+    @PostConstruct
+    public void init() {
+        /*
+        commit 후(afterCommit)에 호출되면 끝난 트랜잭션의 영속성 컨텍스트가 아직 묶여 있으므로
+        새 트랜잭션에서 읽어서 snapshot에 detached 엔티티만 들어가게 한다.
+         */
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * main, sub로 enable된 카테고리 조회
+     * snapshot에 없으면 다른 곳에서 방금 추가됐을 수 있으므로 DB를 확인하고, 있으면 snapshot을 다시 만든다.
+     *
+     * @param main 메인 카테고리
+     * @param sub  서브 카테고리
+     * @return 카테고리, 없거나 disable된 경우 null
+     */
+    public Category findEnabled(String main, String sub) {
+        Map<String, Category> subCategories = getSnapshot().categories.get(main);
+        Category category = subCategories == null ? null : subCategories.get(sub);
+        if (category != null) {
+            return category;
+        }
+
+        category = categoryRepository.findByMainAndSub(main, sub);
+        if (category == null || !category.isEnabled()) {
+            return null;
+        }
+        refresh();
+        return category;
+    }
+
+    /**
+     * GET /api/categories 응답
+     * snapshot이나 상품 수가 바뀌었으면 새로 만든다. 동시에 만들어져도 같은 내용이므로 마지막 값을 쓴다.
+     *
+     * @return 직렬화된 body와 ETag
+     */
+    public ListResponse getListResponse() {
+        Snapshot current = getSnapshot();
+        long countVersion = productCountService.getVersion();  // 상품 수를 읽기 전에 확인해야 중간에 바뀐 값을 놓치지 않는다.
+
+        ListResponse response = listResponse;
+        if (response == null || response.snapshot != current || response.countVersion != countVersion) {
+            response = createListResponse(current, countVersion);
+            listResponse = response;
+        }
+        return response;
+    }
+
+    /**
+     * @return 현재 snapshot
+     */
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = load();
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 현재 트랜잭션이 commit된 후에 snapshot을 다시 만든다.
+     * rollback되면 그대로 둔다.
+     */
+    public void refreshAfterCommit() {
+        TransactionUtil.afterCommit(this::refresh);
+    }
+
+    /**
+     * DB에서 다시 읽어서 snapshot 교체
+     * 동시에 호출되어도 나중에 읽은 값이 마지막에 반영되도록 직렬화한다.
+     */
+    @Scheduled(fixedDelayString = "${category.refresh_interval:60000}", initialDelayString = "${category.refresh_interval:60000}")
+    public synchronized void refresh() {
+        snapshot = load();
+    }
+
+    private Snapshot load() {
+        List<Category> categories = transactionTemplate.execute(status -> categoryRepository.findAll());
+
+        Map<String, Map<String, Category>> index = new HashMap<>();
+        categories.forEach(category -> index.computeIfAbsent(category.getMain(), main -> new HashMap<>())
+                .putIfAbsent(category.getSub(), category));
+        index.replaceAll((main, subCategories) -> Collections.unmodifiableMap(subCategories));
+
+        log.debug("load category registry {} categories", categories.size());
+        return new Snapshot(Collections.unmodifiableMap(index), Collections.unmodifiableList(categories));
+    }
+
+    private ListResponse createListResponse(Snapshot snapshot, long countVersion) {
+        List<CategoryDto> categoryDtos = snapshot.categoryList.stream()
+                .map(category -> new CategoryDto.Builder()
+                        .withId(category.getId())
+                        .withMain(category.getMain())
+                        .withSub(category.getSub())
+                        .withSellCount(productCountService.countByCategory(category.getId(), Product.Status.SELL))
+                        .withSoldOutCount(productCountService.countByCategory(category.getId(), Product.Status.SOLD_OUT))
+                        .build())
+                .collect(Collectors.toList());
+
+        List<CategoryDto> mainCategoryDtos = snapshot.categoryList.stream()
+                .map(Category::getMain)
+                .distinct()
+                .map(main -> new CategoryDto.Builder()
+                        .withMain(main)
+                        .withSellCount(productCountService.countByMainCategory(main, Product.Status.SELL))
+                        .withSoldOutCount(productCountService.countByMainCategory(main, Product.Status.SOLD_OUT))
+                        .build())
+                .collect(Collectors.toList());
+
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(new CategoryListResponseVO(categoryDtos, mainCategoryDtos));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("category list serialize fail", e);
+        }
+        String eTag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+
+        log.debug("create category list response, count version {}, etag {}", countVersion, eTag);
+        return new ListResponse(snapshot, countVersion, body, eTag);
+    }
+
+    /**
+     * 특정 시점의 카테고리 index
+     */
+    public static final class Snapshot {
+
+        private final Map<String, Map<String, Category>> categories;  // main -> sub -> category
+
+        private final List<Category> categoryList;  // 생성일 역순
+
+        private Snapshot(Map<String, Map<String, Category>> categories, List<Category> categoryList) {
+            this.categories = categories;
+            this.categoryList = categoryList;
+        }
+    }
+
+    /**
+     * 미리 직렬화해둔 카테고리 목록 응답
+     */
+    public static final class ListResponse {
+
+        private final Snapshot snapshot;  // 응답을 만든 snapshot
+
+        private final long countVersion;  // 응답을 만든 시점의 상품 수 version
+
+        private final byte[] body;
+
+        private final String eTag;
+
+        private ListResponse(Snapshot snapshot, long countVersion, byte[] body, String eTag) {
+            this.snapshot = snapshot;
+            this.countVersion = countVersion;
+            this.body = body;
+            this.eTag = eTag;
+        }
+
+        /**
+         * @return 응답 body(JSON). 공유하는 배열이므로 수정하면 안된다.
+         */
+        public byte[] getBody() {
+            return body;
+        }
+
+        /**
+         * @return 응답 body의 hash로 만든 strong ETag. 서버가 여러대여도 같은 내용이면 같은 값
+         */
+        public String getETag() {
+            return eTag;
+        }
+    }
+}
@@ -23,6 +23,15 @@ public class CategorySservice {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private ProductCountService productCountService;
+
+    @Autowired
+    private ProductCardService productCardService;
+
+    @Autowired
+    private CategoryRegistry categoryRegistry;
+
     @Transactional(readOnly = true)
     public List<Category> findCategories() {
         return categoryRepository.findAll();
@@ -43,7 +52,11 @@ public class CategorySservice {
         Optional.ofNullable(oldCategory).orElseThrow(() -> new IdNotFoundException("category update -> category not found"));
 
         oldCategory.update(newCategory);
-        return categoryRepository.save(oldCategory);
+        productCountService.invalidate();  // main/sub가 바뀌면 메인 카테고리별 상품 수가 달라진다.
+        categoryRegistry.refreshAfterCommit();
+        Category savedCategory = categoryRepository.save(oldCategory);
+        productCardService.refreshCategory(savedCategory);  // 상품 카드에 main/sub가 포함되어 있다.
+        return savedCategory;
     }
 
     @Transactional
@@ -55,11 +68,16 @@ public class CategorySservice {
             throw new AlreadyExistException("category create -> category already exist");
         } else if (oldCategory != null && !oldCategory.isEnabled()) {  // disable된걸 다시 등록하는 경우 enable
             oldCategory.enable();
-            return categoryRepository.save(oldCategory);
+            productCountService.invalidate();
+            categoryRegistry.refreshAfterCommit();
+            Category savedCategory = categoryRepository.save(oldCategory);
+            productCardService.refreshCategory(savedCategory);  // 메인 카테고리 리스트에 다시 포함
+            return savedCategory;
         }
 
         // 아에 등록이 안된거면 새로 등록
 //        savedCategory = Optional.ofNullable(oldCategory).orElseGet(() -> categoryRepository.save(requestVO.toCategoryEntity()));
+        categoryRegistry.refreshAfterCommit();
         return categoryRepository.save(requestVO.toCategoryEntity());
     }
 
@@ -75,6 +93,8 @@ public class CategorySservice {
         Optional.ofNullable(oldCategory).orElseThrow(() -> new IdNotFoundException("category delete -> category not found"));
 
         oldCategory.disable();
-        categoryRepository.save(oldCategory);
+        productCountService.invalidate();
+        categoryRegistry.refreshAfterCommit();
+        productCardService.refreshCategory(categoryRepository.save(oldCategory));  // 메인 카테고리 리스트에서 제외
     }
 }
\ No newline at end of file
@@ -0,0 +1,122 @@
+package kr.co.mash_up.nine_tique.service;
+
+import kr.co.mash_up.nine_tique.exception.FileStorageException;
+import kr.co.mash_up.nine_tique.scheduler.SchedulingConfig;
+import kr.co.mash_up.nine_tique.util.FileUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+/**
+ * 트랜잭션과 함께 commit/rollback되는 파일 이동
+ * 이동을 병렬로 실행하고, 하나라도 실패하면 이동된 파일을 되돌린 뒤 예외를 던져 트랜잭션을 rollback시킨다.
+ * 이동이 끝난 뒤 트랜잭션이 rollback되면(commit 실패 포함) 모두 원래 위치로 되돌린다.
+ */
+@Service(value = "fileStorageService")
+@Slf4j
+public class FileStorageService {
+
+    @Autowired
+    @Qualifier(SchedulingConfig.FILE_MOVE_EXECUTOR)
+    private ThreadPoolTaskExecutor fileMoveExecutor;
+
+    /**
+     * @param moves 이동할 파일
+     * @throws FileStorageException 이동 실패. 이미 이동된 파일은 되돌려진다.
+     */
+    public void moveAll(List<FileMove> moves) {
+        if (moves.isEmpty()) {
+            return;
+        }
+
+        List<CompletableFuture<FileMove>> futures = moves.stream()
+                .map(move -> CompletableFuture.supplyAsync(() -> {
+                    move.execute();
+                    return move;
+                }, fileMoveExecutor))
+                .collect(Collectors.toList());
+
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()])).join();
+        } catch (CompletionException e) {
+            // 모든 이동이 끝나길 기다린 후(allOf) 성공한 것만 되돌린다.
+            revert(futures.stream()
+                    .filter(future -> !future.isCompletedExceptionally())
+                    .map(CompletableFuture::join)
+                    .collect(Collectors.toList()));
+            throw new FileStorageException("file move fail", e.getCause());
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != TransactionSynchronization.STATUS_COMMITTED) {  // rollback, unknown
+                        revert(moves);
+                    }
+                }
+            });
+        }
+    }
+
+    private void revert(List<FileMove> moves) {
+        moves.forEach(move -> {
+            try {
+                move.revert();
+            } catch (IOException e) {
+                log.error("file move revert fail {}", move, e);
+            }
+        });
+    }
+
+    /**
+     * 파일 1개의 이동. source 파일을 targetDir로 옮긴다.
+     */
+    public static class FileMove {
+
+        private final Path source;
+
+        private final Path targetDir;
+
+        private volatile Path moved;  // 이동된 위치
+
+        public FileMove(String source, String targetDir) {
+            this.source = Paths.get(source);
+            this.targetDir = Paths.get(targetDir);
+        }
+
+        private void execute() {
+            try {
+                moved = FileUtil.moveFile(source.toString(), targetDir.toString());
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }
+
+        private void revert() throws IOException {
+            if (moved != null) {
+                FileUtil.moveFile(moved.toString(), source.getParent().toString());
+                moved = null;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return source + " -> " + targetDir;
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package kr.co.mash_up.nine_tique.service;
+
+import kr.co.mash_up.nine_tique.domain.Category;
+import kr.co.mash_up.nine_tique.domain.Product;
+import kr.co.mash_up.nine_tique.domain.ProductCard;
+import kr.co.mash_up.nine_tique.domain.ProductImage;
+import kr.co.mash_up.nine_tique.domain.Shop;
+import kr.co.mash_up.nine_tique.dto.ProductDto;
+import kr.co.mash_up.nine_tique.dto.ProductImageDto;
+import kr.co.mash_up.nine_tique.dto.ShopDto;
+import kr.co.mash_up.nine_tique.exception.IdNotFoundException;
+import kr.co.mash_up.nine_tique.repository.ProductCardRepository;
+import kr.co.mash_up.nine_tique.repository.ProductImageRepository;
+import kr.co.mash_up.nine_tique.repository.ProductRepository;
+import kr.co.mash_up.nine_tique.util.TransactionUtil;
+import kr.co.mash_up.nine_tique.vo.ProductCursor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static kr.co.mash_up.nine_tique.util.Constant.CacheNames.PRODUCT_DETAIL;
+
+/**
+ * 유저와 무관한 상품 정보(상품 카드) 관리
+ * 상세 정보는 캐시하고, 리스트는 비정규화된 product_card 테이블에서 조회한다.
+ * 찜/판매자 여부는 유저마다 다르므로 캐시하지 않고 ProductService에서 덧씌운다.
+ * <p>
+ * 상품, 매장, 카테고리를 변경하는 곳에서 같은 트랜잭션 안에서 카드를 갱신하고,
+ * 캐시는 commit 후에 evict해서 다른 요청이 commit 전의 값을 다시 캐시하지 않게 한다.
+ */
+@Service(value = "productCardService")
+@Slf4j
+public class ProductCardService {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductImageRepository productImageRepository;
+
+    @Autowired
+    private ProductCardRepository productCardRepository;
+
+    @Autowired
+    private ProductCountService productCountService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ProductListCache productListCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${product.card.rebuild_chunk_size:500}")
+    private int rebuildChunkSize;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 상품 카드 조회. 캐시에 없으면 DB에서 조회해서 캐시
+     *
+     * @param productId 조회할 상품 id
+     * @return 찜/판매자 여부가 false인 상품 정보. 공유되는 객체이므로 수정하지 말 것
+     */
+    @Cacheable(cacheNames = PRODUCT_DETAIL, key = "#productId")
+    @Transactional(readOnly = true)
+    public ProductDto findOne(Long productId) {
+        Product product = productRepository.findOne(productId);
+
+        Optional.ofNullable(product).orElseThrow(() -> new IdNotFoundException("product find by id -> product not found"));
+
+        List<ProductImageDto> productImageDtos = product.getProductImages().stream()
+                .sorted((o1, o2) -> Long.compare(o1.getId(), o2.getId()))
+                .map(productImage -> {
+                    return new ProductImageDto.Builder()
+                            .withUrl(productImage.getImageUrl())
+                            .withThumbnailUrl(productImage.getDerivativeUrl(ProductImage.Derivative.THUMBNAIL))
+                            .withCompressedUrl(productImage.getDerivativeUrl(ProductImage.Derivative.COMPRESSED))
+                            .build();
+                }).collect(Collectors.toList());
+
+        ShopDto shopDto = new ShopDto.Builder()
+                .withName(product.getShop().getName())
+                .withInfo(product.getShop().getInfo())
+                .withPhone(product.getShop().getPhone())
+                .withKakaoOpenChatUrl(product.getShop().getKakaoOpenChatUrl())
+                .build();
+
+        return new ProductDto.Builder()
+                .withId(product.getId())
+                .withName(product.getName())
+                .withBrandName(product.getBrandName())
+                .withSize(product.getSize())
+                .withPrice(product.getPrice())
+                .withDescription(product.getDescription())
+                .withStatus(product.getStatus())
+                .withMainCategory(product.getCategory().getMain())
+                .withSubCategory(product.getCategory().getSub())
+                .withShop(shopDto)
+                .withProductImages(productImageDtos)
+                .withCreatedAt(product.getCreatedTimestamp())
+                .withUpdatedAt(product.getUpdatedTimestamp())
+                .build();
+    }
+
+    /**
+     * 리스트용 DTO 변환. 상품 리스트, 찜 목록, 판매자 상품 목록이 같이 사용한다.
+     *
+     * @param productCard 상품 카드
+     * @return 찜/판매자 여부를 덧씌울 수 있는 builder
+     */
+    public ProductDto.Builder toProductDto(ProductCard productCard) {
+        Long productId = productCard.getProductId();
+        List<ProductImageDto> productImageDtos = productCard.getImageFileNameList().stream()
+                .map(fileName -> new ProductImageDto.Builder()
+                        .withUrl(ProductImage.getImageUrl(productId, fileName))
+                        .withThumbnailUrl(ProductImage.getDerivativeUrl(productId, fileName, ProductImage.Derivative.THUMBNAIL))
+                        .withCompressedUrl(ProductImage.getDerivativeUrl(productId, fileName, ProductImage.Derivative.COMPRESSED))
+                        .build())
+                .collect(Collectors.toList());
+
+        ShopDto shopDto = new ShopDto.Builder()
+                .withName(productCard.getShopName())
+                .withInfo(productCard.getShopInfo())
+                .withPhone(productCard.getShopPhone())
+                .withKakaoOpenChatUrl(productCard.getShopKakaoOpenChatUrl())
+                .build();
+
+        return new ProductDto.Builder()
+                .withId(productId)
+                .withName(productCard.getName())
+                .withBrandName(productCard.getBrandName())
+                .withSize(productCard.getSize())
+                .withPrice(productCard.getPrice())
+                .withDescription(productCard.getDescription())
+                .withStatus(productCard.getStatus())
+                .withMainCategory(productCard.getMainCategory())
+                .withSubCategory(productCard.getSubCategory())
+                .withShop(shopDto)
+                .withProductImages(productImageDtos)
+                .withCreatedAt(productCard.getCreatedTimestamp())
+                .withUpdatedAt(productCard.getUpdatedTimestamp());
+    }
+
+    /**
+     * 상품 생성/수정/상태 변경/삭제 후 카드 갱신
+     * 같은 트랜잭션에서 변경된 내용은 조회 전에 flush되므로 변경 직후에 호출하면 된다.
+     *
+     * @param productId 변경된 상품 id
+     */
+    @Transactional
+    public void refresh(Long productId) {
+        refresh(Collections.singletonList(productId));
+    }
+
+    /**
+     * 상품과 이미지를 1번씩 조회해서 enable된 상품은 카드를 덮어쓰고, disable된 상품은 카드를 삭제
+     *
+     * @param productIds 변경된 상품 id
+     */
+    @Transactional
+    public void refresh(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+
+        List<Product> products = productRepository.findByIds(productIds);
+        Map<Long, List<ProductImage>> productImages = productImageRepository.findByProductIds(productIds).stream()
+                .collect(Collectors.groupingBy(productImage -> productImage.getProduct().getId()));
+        Map<Long, ProductCard> productCards = productCardRepository.findAll(productIds).stream()
+                .collect(Collectors.toMap(ProductCard::getProductId, Function.identity()));
+
+        List<ProductCard> savedCards = new ArrayList<>();
+        Set<Long> removedIds = new HashSet<>(productIds);
+        products.stream()
+                .filter(Product::isEnabled)
+                .forEach(product -> {
+                    ProductCard productCard = productCards.computeIfAbsent(product.getId(), ProductCard::new);
+                    productCard.update(product, productImages.getOrDefault(product.getId(), Collections.emptyList()));
+                    savedCards.add(productCard);
+                    removedIds.remove(product.getId());
+                });
+        productCardRepository.save(savedCards);
+        removedIds.retainAll(productCards.keySet());  // 카드가 있던 상품만 삭제
+        productCardRepository.deleteByProductIds(removedIds);
+
+        evict(productIds);
+    }
+
+    /**
+     * 상품이 disable되었을 때 카드 삭제
+     *
+     * @param productIds disable된 상품 id
+     */
+    @Transactional
+    public void remove(Collection<Long> productIds) {
+        productCardRepository.deleteByProductIds(productIds);
+        evict(productIds);
+    }
+
+    /**
+     * 매장 정보 수정 후 매장의 모든 카드에 반영
+     *
+     * @param shop 수정된 매장
+     */
+    @Transactional
+    public void refreshShop(Shop shop) {
+        long updatedCount = productCardRepository.updateShop(shop);
+        evictAll();
+
+        log.debug("refresh product card shop {} {} cards", shop.getId(), updatedCount);
+    }
+
+    /**
+     * 카테고리 수정 후 카테고리의 모든 카드에 반영
+     *
+     * @param category 수정된 카테고리
+     */
+    @Transactional
+    public void refreshCategory(Category category) {
+        long updatedCount = productCardRepository.updateCategory(category);
+        evictAll();
+
+        log.debug("refresh product card category {} {} cards", category.getId(), updatedCount);
+    }
+
+    /**
+     * 서버 시작시 카드 수가 상품 수와 다르면(테이블을 새로 만든 경우 등) 전체 상품으로 카드를 채운다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfStale() {
+        long cardCount = productCardRepository.count();
+        long productCount = productCountService.countAll();
+        if (cardCount != productCount) {
+            log.info("product card count {} != product count {}, rebuild", cardCount, productCount);
+            rebuildAll();
+        }
+    }
+
+    /**
+     * enable된 전체 상품의 카드를 rebuild_chunk_size개씩 나눠서 갱신
+     * chunk마다 트랜잭션을 나눠서 영속성 컨텍스트와 lock이 커지지 않게 한다.
+     *
+     * @return 갱신한 상품 수
+     */
+    public long rebuildAll() {
+        long rebuiltCount = 0;
+        ProductCursor cursor = null;
+        while (true) {
+            ProductCursor current = cursor;
+            List<Product> products = transactionTemplate.execute(status -> {
+                List<Product> chunk = productRepository.findAll(current, rebuildChunkSize);
+                refresh(chunk.stream()
+                        .map(Product::getId)
+                        .collect(Collectors.toList()));
+                return chunk;
+            });
+            rebuiltCount += products.size();
+            if (products.size() < rebuildChunkSize) {
+                break;
+            }
+            cursor = ProductCursor.of(products.get(products.size() - 1));
+        }
+
+        log.info("rebuild product card {} products", rebuiltCount);
+        return rebuiltCount;
+    }
+
+    /**
+     * 상품 수정/삭제시 캐시 제거
+     * 상품 리스트 페이지 캐시(ProductListCache)는 어느 페이지에 있는지 모르므로 전체 제거
+     *
+     * @param productId 변경된 상품 id
+     */
+    public void evict(Long productId) {
+        Cache cache = cacheManager.getCache(PRODUCT_DETAIL);
+        TransactionUtil.afterCommit(() -> cache.evict(productId));
+        productListCache.invalidateAfterCommit();
+    }
+
+    public void evict(Collection<Long> productIds) {
+        Cache cache = cacheManager.getCache(PRODUCT_DETAIL);
+        TransactionUtil.afterCommit(() -> productIds.forEach(cache::evict));
+        productListCache.invalidateAfterCommit();
+    }
+
+    /**
+     * 매장, 카테고리처럼 여러 상품 카드에 포함된 정보가 변경되었을 때 전체 제거
+     */
+    public void evictAll() {
+        Cache cache = cacheManager.getCache(PRODUCT_DETAIL);
+        TransactionUtil.afterCommit(cache::clear);
+        productListCache.invalidateAfterCommit();
+    }
+}
@@ -0,0 +1,375 @@
+package kr.co.mash_up.nine_tique.service;
+
+import kr.co.mash_up.nine_tique.domain.Category;
+import kr.co.mash_up.nine_tique.domain.Product;
+import kr.co.mash_up.nine_tique.dto.ProductCountDto;
+import kr.co.mash_up.nine_tique.repository.ProductRepository;
+import kr.co.mash_up.nine_tique.util.TransactionUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 카테고리별 enable된 상품 수 캐시
+ * 리스트 조회마다 count query를 날리지 않도록 처음 1번만 DB에서 집계하고,
+ * 이후에는 상품 생성/삭제/상태변경시 증감시킨다.
+ * 증감은 트랜잭션이 commit된 후에 반영해서 rollback된 변경이 섞이지 않게 한다.
+ * 증감이 빠지거나 중복되는 경우를 대비해 ProductCountReconcileTask가 주기적으로 DB와 맞춘다.
+ * <p>
+ * reconcile은 맵을 통째로 바꾸지 않고 카테고리별로 비교해서 차이만큼 더한다.
+ * 집계하는 동안 증감이 등록되거나 반영된 카테고리는 집계 결과에 포함됐는지 알 수 없으므로 건너뛰고 다음 reconcile때 맞춘다.
+ */
+@Service(value = "productCountService")
+@Slf4j
+public class ProductCountService {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private volatile Map<Long, CategoryCount> counts;  // category id -> count, null이면 다음 조회때 다시 집계
+
+    private final AtomicLong version = new AtomicLong();  // 값이 바뀔 때마다 증가. 상품 수가 포함된 응답 캐시의 무효화에 이용
+
+    private final Map<Long, CategoryChange> changes = new ConcurrentHashMap<>();  // category id -> 증감 등록/반영 상태
+
+    /**
+     * @return enable된 전체 상품 수
+     */
+    public long countAll() {
+        return getCounts().values().stream()
+                .mapToLong(CategoryCount::total)
+                .sum();
+    }
+
+    /**
+     * @param mainCategory 메인 카테고리
+     * @return enable된 카테고리 중 메인 카테고리에 속한 상품 수
+     */
+    public long countByMainCategory(String mainCategory) {
+        return getCounts().values().stream()
+                .filter(categoryCount -> categoryCount.enabled && categoryCount.main.equalsIgnoreCase(mainCategory))
+                .mapToLong(CategoryCount::total)
+                .sum();
+    }
+
+    /**
+     * @param categoryId 카테고리 id
+     * @return 카테고리에 속한 상품 수
+     */
+    public long countByCategory(Long categoryId) {
+        CategoryCount categoryCount = getCounts().get(categoryId);
+        return categoryCount == null ? 0 : categoryCount.total();
+    }
+
+    /**
+     * @param categoryId 카테고리 id
+     * @param status     상품 상태
+     * @return 카테고리에 속한 상태별 상품 수
+     */
+    public long countByCategory(Long categoryId, Product.Status status) {
+        CategoryCount categoryCount = getCounts().get(categoryId);
+        return categoryCount == null ? 0 : categoryCount.get(status);
+    }
+
+    /**
+     * @param mainCategory 메인 카테고리
+     * @param status       상품 상태
+     * @return enable된 카테고리 중 메인 카테고리에 속한 상태별 상품 수
+     */
+    public long countByMainCategory(String mainCategory, Product.Status status) {
+        return getCounts().values().stream()
+                .filter(categoryCount -> categoryCount.enabled && categoryCount.main.equalsIgnoreCase(mainCategory))
+                .mapToLong(categoryCount -> categoryCount.get(status))
+                .sum();
+    }
+
+    /**
+     * @return 상품 수가 바뀔 때마다 증가하는 값. 같으면 마지막으로 조회한 이후 상품 수가 바뀌지 않은 것
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * 상품 생성
+     */
+    public void increase(Product product) {
+        Category category = product.getCategory();
+        Product.Status status = product.getStatus();
+        addAfterCommit(Collections.singleton(category), () -> add(category, status, 1));
+    }
+
+    /**
+     * 상품 삭제(disable)
+     */
+    public void decrease(Product product) {
+        Category category = product.getCategory();
+        Product.Status status = product.getStatus();
+        addAfterCommit(Collections.singleton(category), () -> add(category, status, -1));
+    }
+
+    /**
+     * 상품 일괄 삭제(disable)
+     */
+    public void decrease(Collection<Product> products) {
+        List<Category> categories = products.stream()
+                .map(Product::getCategory)
+                .collect(Collectors.toList());
+        addAfterCommit(categories, () -> products.forEach(product -> add(product.getCategory(), product.getStatus(), -1)));
+    }
+
+    /**
+     * 판매중/완료 상태 변경
+     */
+    public void changeStatus(Product product, Product.Status oldStatus) {
+        if (oldStatus == product.getStatus()) {
+            return;
+        }
+        Category category = product.getCategory();
+        Product.Status newStatus = product.getStatus();
+        addAfterCommit(Collections.singleton(category), () -> {
+            add(category, oldStatus, -1);
+            add(category, newStatus, 1);
+        });
+    }
+
+    /**
+     * 상품 카테고리 변경
+     */
+    public void changeCategory(Product product, Category oldCategory) {
+        if (oldCategory.getId().equals(product.getCategory().getId())) {
+            return;
+        }
+        Category newCategory = product.getCategory();
+        Product.Status status = product.getStatus();
+        addAfterCommit(Arrays.asList(oldCategory, newCategory), () -> {
+            add(oldCategory, status, -1);
+            add(newCategory, status, 1);
+        });
+    }
+
+    /**
+     * 카테고리 수정/삭제처럼 증감으로 표현하기 어려운 변경이 있을 때 캐시를 비운다.
+     * 다음 조회때 다시 집계
+     */
+    public void invalidate() {
+        TransactionUtil.afterCommit(() -> {
+            counts = null;
+            version.incrementAndGet();
+        });
+    }
+
+    /**
+     * DB에서 다시 집계해서 증감으로 유지한 값과 카테고리별로 비교하고, 다르면 차이만큼 더한다.
+     * 집계하는 동안 증감이 있었던 카테고리는 건너뛴다.(다음 reconcile때 맞춰진다.)
+     *
+     * @return 값이 달랐던 카테고리 수
+     */
+    public int reconcile() {
+        Map<Long, CategoryCount> current = counts;
+        if (current == null) {  // 아직 집계 전이면 집계만 한다.
+            getCounts();
+            return 0;
+        }
+
+        Map<Long, long[]> changesBefore = new HashMap<>();
+        changes.forEach((categoryId, change) -> changesBefore.put(categoryId, change.snapshot()));
+        Map<Long, CategoryCount> loaded = load();
+
+        int mismatchCount = 0;
+        synchronized (this) {
+            if (counts != current) {
+                return 0;  // 집계하는 동안 invalidate되어 다시 집계됐다.
+            }
+
+            Set<Long> categoryIds = new HashSet<>(current.keySet());
+            categoryIds.addAll(loaded.keySet());
+            for (Long categoryId : categoryIds) {
+                if (isChanging(categoryId, changesBefore)) {
+                    continue;
+                }
+
+                CategoryCount expected = loaded.get(categoryId);
+                CategoryCount actual = current.get(categoryId);
+                if (!CategoryCount.sameCount(expected, actual)) {
+                    log.warn("product count mismatch category {} expected {}, actual {}", categoryId, expected, actual);
+                    mismatchCount++;
+                    current.computeIfAbsent(categoryId, id -> new CategoryCount(expected.main, expected.enabled))
+                            .adjust(expected);
+                }
+            }
+        }
+
+        if (mismatchCount > 0) {
+            version.incrementAndGet();
+        }
+        return mismatchCount;
+    }
+
+    private Map<Long, CategoryCount> getCounts() {
+        Map<Long, CategoryCount> current = counts;
+        if (current == null) {
+            synchronized (this) {
+                current = counts;
+                if (current == null) {
+                    current = load();
+                    counts = current;
+                    version.incrementAndGet();
+                }
+            }
+        }
+        return current;
+    }
+
+    private Map<Long, CategoryCount> load() {
+        List<ProductCountDto> productCounts = productRepository.countByCategoryAndStatus();
+
+        Map<Long, CategoryCount> loaded = new ConcurrentHashMap<>();
+        productCounts.forEach(productCount -> {
+            CategoryCount categoryCount = loaded.computeIfAbsent(productCount.getCategoryId(),
+                    id -> new CategoryCount(productCount.getMainCategory(), productCount.isCategoryEnabled()));
+            categoryCount.add(productCount.getStatus(), productCount.getCount());
+        });
+
+        log.debug("load product count {} categories", loaded.size());
+        return loaded;
+    }
+
+    /**
+     * commit 후에 증감을 반영한다. 트랜잭션이 끝날 때까지 카테고리를 증감중으로 표시해서 reconcile이 건너뛰게 한다.
+     * (commit된 증감이 반영되기 전에 집계되면 집계와 증감에 2번 포함된다.)
+     */
+    private void addAfterCommit(Collection<Category> categories, Runnable task) {
+        List<CategoryChange> categoryChanges = categories.stream()
+                .map(Category::getId)
+                .distinct()
+                .map(categoryId -> changes.computeIfAbsent(categoryId, id -> new CategoryChange()))
+                .collect(Collectors.toList());
+
+        categoryChanges.forEach(CategoryChange::begin);
+        TransactionUtil.afterCommit(task);
+        TransactionUtil.afterCompletion(() -> categoryChanges.forEach(CategoryChange::end));  // afterCommit 작업 다음에 실행
+    }
+
+    /**
+     * @return 집계 전에 commit을 기다리는 증감이 있었거나, 집계하는 동안 증감이 등록/반영됐는지 여부
+     */
+    private boolean isChanging(Long categoryId, Map<Long, long[]> changesBefore) {
+        CategoryChange change = changes.get(categoryId);
+        long[] before = changesBefore.get(categoryId);
+        if (before == null) {
+            return change != null;  // 집계하는 동안 처음 증감이 등록됐다.
+        }
+        return before[1] > 0 || change.version.get() != before[0];
+    }
+
+    private void add(Category category, Product.Status status, long delta) {
+        Map<Long, CategoryCount> current = counts;
+        if (current == null) {  // 아직 집계 전이면 다음 조회때 반영된 값으로 집계된다.
+            return;
+        }
+        current.computeIfAbsent(category.getId(), id -> new CategoryCount(category.getMain(), category.isEnabled()))
+                .add(status, delta);
+        version.incrementAndGet();
+    }
+
+    /**
+     * 카테고리의 증감 등록/반영 상태
+     */
+    private static class CategoryChange {
+
+        private final AtomicLong version = new AtomicLong();  // 증감 등록, 트랜잭션 종료마다 증가
+
+        private final AtomicLong pending = new AtomicLong();  // commit을 기다리는 증감 수
+
+        private void begin() {
+            pending.incrementAndGet();
+            version.incrementAndGet();
+        }
+
+        private void end() {
+            version.incrementAndGet();
+            pending.decrementAndGet();
+        }
+
+        /**
+         * version을 먼저 읽어야 사이에 등록/종료된 증감을 놓치지 않는다.
+         *
+         * @return {version, pending}
+         */
+        private long[] snapshot() {
+            long snapshotVersion = version.get();
+            return new long[]{snapshotVersion, pending.get()};
+        }
+    }
+
+    private static class CategoryCount {
+
+        private final String main;
+
+        private final boolean enabled;
+
+        private final AtomicLong sell = new AtomicLong();
+
+        private final AtomicLong soldOut = new AtomicLong();
+
+        private CategoryCount(String main, boolean enabled) {
+            this.main = main;
+            this.enabled = enabled;
+        }
+
+        private void add(Product.Status status, long delta) {
+            if (status == Product.Status.SOLD_OUT) {
+                soldOut.addAndGet(delta);
+            } else {
+                sell.addAndGet(delta);
+            }
+        }
+
+        /**
+         * 집계 결과와 같아지도록 차이만큼 더한다. 동시에 반영되는 증감은 잃지 않는다.
+         *
+         * @param expected 집계 결과. null이면 0개
+         */
+        private void adjust(CategoryCount expected) {
+            sell.addAndGet((expected == null ? 0 : expected.sell.get()) - sell.get());
+            soldOut.addAndGet((expected == null ? 0 : expected.soldOut.get()) - soldOut.get());
+        }
+
+        private long get(Product.Status status) {
+            return status == Product.Status.SOLD_OUT ? soldOut.get() : sell.get();
+        }
+
+        private long total() {
+            return sell.get() + soldOut.get();
+        }
+
+        /**
+         * 상품이 없는 카테고리는 집계 결과에 없으므로 0개와 같게 본다.
+         */
+        private static boolean sameCount(CategoryCount a, CategoryCount b) {
+            long aSell = a == null ? 0 : a.sell.get();
+            long aSoldOut = a == null ? 0 : a.soldOut.get();
+            long bSell = b == null ? 0 : b.sell.get();
+            long bSoldOut = b == null ? 0 : b.soldOut.get();
+            return aSell == bSell && aSoldOut == bSoldOut;
+        }
+
+        @Override
+        public String toString() {
+            return "sell " + sell.get() + ", sold out " + soldOut.get();
+        }
+    }
+}
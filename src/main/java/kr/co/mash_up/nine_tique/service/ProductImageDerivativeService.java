@@ -0,0 +1,194 @@
+package kr.co.mash_up.nine_tique.service;
+
+import kr.co.mash_up.nine_tique.domain.ProductImage;
+import kr.co.mash_up.nine_tique.scheduler.SchedulingConfig;
+import kr.co.mash_up.nine_tique.util.ImageUtil;
+import kr.co.mash_up.nine_tique.util.TransactionUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 상품 이미지 원본으로 썸네일, 압축본(ProductImage.Derivative) 생성
+ * 요청 thread를 막지 않도록 크기가 제한된 worker pool에서 실행한다.
+ * 항상 원본에서 만들고 임시파일에 쓴 뒤 rename하므로 몇 번을 실행해도 결과가 같다.
+ */
+@Service(value = "productImageDerivativeService")
+@Slf4j
+public class ProductImageDerivativeService {
+
+    @Autowired
+    @Qualifier(SchedulingConfig.IMAGE_DERIVATIVE_EXECUTOR)
+    private ThreadPoolTaskExecutor imageDerivativeExecutor;
+
+    @Autowired
+    private CounterService counterService;
+
+    @Value(value = "${image.derivative.max_pixels:40000000}")
+    private long maxPixels;
+
+    private final Set<String> inProgress = ConcurrentHashMap.newKeySet();  // 같은 이미지 중복 등록 방지
+
+    /**
+     * 트랜잭션이 commit되어 파일 이동이 확정된 후에 생성 작업 등록
+     *
+     * @param productImages 상품에 연결된 이미지
+     */
+    public void generateAfterCommit(Collection<ProductImage> productImages) {
+        List<File> originals = productImages.stream()
+                .map(productImage -> new File(productImage.getImageUploadPath(), productImage.getFileName()))
+                .collect(Collectors.toList());
+
+        TransactionUtil.afterCommit(() -> originals.forEach(this::submit));
+    }
+
+    /**
+     * 트랜잭션이 commit되어 원본이 상품에서 떨어진(tmp로 옮겨진) 후 파생 이미지 삭제
+     *
+     * @param originals 상품에서 떨어지기 전 원본 위치(product/{id}/{fileName})
+     */
+    public void deleteAfterCommit(Collection<File> originals) {
+        if (originals.isEmpty()) {
+            return;
+        }
+
+        TransactionUtil.afterCommit(() -> originals.forEach(original -> {
+            for (ProductImage.Derivative derivative : ProductImage.Derivative.values()) {
+                File file = getDerivativeFile(original, derivative);
+                if (!file.delete() && file.exists()) {
+                    log.warn("image derivative delete fail {}", file);
+                }
+            }
+        }));
+    }
+
+    /**
+     * 생성 작업 등록. worker queue가 가득 찼으면 등록하지 않는다.
+     *
+     * @param original 원본 이미지(product/{id}/{fileName})
+     * @return 등록 여부
+     */
+    public boolean submit(File original) {
+        String key = original.getPath();
+        if (!inProgress.add(key)) {
+            return true;  // 이미 처리중
+        }
+
+        try {
+            imageDerivativeExecutor.execute(() -> {
+                try {
+                    generate(original);
+                } finally {
+                    inProgress.remove(key);
+                }
+            });
+            return true;
+        } catch (TaskRejectedException e) {
+            inProgress.remove(key);
+            counterService.increment("image.derivative.rejected");
+            log.warn("image derivative queue full, skip {}", key);
+            return false;
+        }
+    }
+
+    /**
+     * 원본보다 오래된(또는 없는) 파생 이미지만 다시 만든다.
+     *
+     * @param original 원본 이미지(product/{id}/{fileName})
+     */
+    public void generate(File original) {
+        if (!original.isFile()) {
+            log.warn("image derivative original not found {}", original);
+            return;
+        }
+
+        try {
+            BufferedImage image = null;
+            for (ProductImage.Derivative derivative : ProductImage.Derivative.values()) {
+                File target = getDerivativeFile(original, derivative);
+                if (target.isFile() && target.lastModified() >= original.lastModified()) {
+                    continue;
+                }
+
+                if (image == null) {
+                    image = read(original);
+                    if (image == null) {
+                        return;
+                    }
+                }
+
+                write(ImageUtil.resize(image, derivative.getMaxSize()), target, derivative.getQuality());
+                counterService.increment("image.derivative.generated");
+            }
+        } catch (IOException e) {
+            counterService.increment("image.derivative.failed");
+            log.error("image derivative generate fail {}", original, e);
+        }
+    }
+
+    /**
+     * decode하기 전에 header의 크기를 확인해서 max_pixels보다 크면 읽지 않는다.
+     * decode된 이미지는 pixel당 4byte 이상이라 작은 파일도 heap을 모두 쓸 수 있다.(decompression bomb)
+     *
+     * @return 원본 이미지. 읽을 수 없는 형식이거나 너무 크면 null
+     */
+    private BufferedImage read(File original) throws IOException {
+        Dimension size = ImageUtil.readSize(original);
+        if (size == null) {  // ImageIO가 읽을 수 없는 형식
+            log.warn("image derivative unsupported format {}", original);
+            return null;
+        }
+        if ((long) size.width * size.height > maxPixels) {
+            counterService.increment("image.derivative.too_large");
+            log.warn("image derivative skip too large image {}x{} {}", size.width, size.height, original);
+            return null;
+        }
+
+        BufferedImage image = ImageIO.read(original);
+        if (image == null) {
+            log.warn("image derivative unsupported format {}", original);
+        }
+        return image;
+    }
+
+    /**
+     * @return product/{id}/{dirName}/{원본 파일명}.jpg
+     */
+    public static File getDerivativeFile(File original, ProductImage.Derivative derivative) {
+        File dir = new File(original.getParentFile(), derivative.getDirName());
+        return new File(dir, derivative.getFileName(original.getName()));
+    }
+
+    private void write(BufferedImage image, File target, float quality) throws IOException {
+        Path dir = target.getParentFile().toPath();
+        Files.createDirectories(dir);
+
+        // 만드는 중인 파일이 응답되지 않도록 임시파일에 쓰고 rename
+        Path tmp = Files.createTempFile(dir, "derivative", ".tmp");
+        try {
+            ImageUtil.writeJpeg(image, tmp.toFile(), quality);
+            Files.move(tmp, target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+}
@@ -2,15 +2,29 @@ package kr.co.mash_up.nine_tique.service;
 
 import kr.co.mash_up.nine_tique.domain.ProductImage;
 import kr.co.mash_up.nine_tique.dto.ProductImageDto;
+import kr.co.mash_up.nine_tique.exception.InvalidParameterException;
 import kr.co.mash_up.nine_tique.repository.ProductImageRepository;
 import kr.co.mash_up.nine_tique.util.CodeGeneratorUtil;
 import kr.co.mash_up.nine_tique.util.FileUtil;
+import kr.co.mash_up.nine_tique.util.TransactionUtil;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.fileupload.FileItemIterator;
+import org.apache.commons.fileupload.FileItemStream;
+import org.apache.commons.fileupload.FileUploadBase;
+import org.apache.commons.fileupload.FileUploadException;
+import org.apache.commons.fileupload.servlet.ServletFileUpload;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.GaugeService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
 
+import javax.servlet.http.HttpServletRequest;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -21,37 +35,110 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ProductImageService {
 
+    public static final String FILES_FIELD_NAME = "files";
+
+    public static final String THROUGHPUT_METRIC_NAME = "upload.product_image.kb_per_second";
+
     @Autowired
     private ProductImageRepository productImageRepository;
 
+    @Autowired
+    private GaugeService gaugeService;
+
+    @Value(value = "${upload.max_file_size}")
+    private long maxFileSize;  // byte
+
+    @Value(value = "${upload.max_request_size}")
+    private long maxRequestSize;  // byte
+
+    /**
+     * multipart 요청을 streaming으로 처리
+     * part가 도착하는대로 임시 저장 경로에 바로 쓰고(임시파일 없음), 메타데이터는 마지막에 1번의 batch insert로 저장
+     * 트랜잭션이 rollback되면 저장한 파일도 삭제
+     *
+     * @param request multipart/form-data 요청. files 필드의 part만 저장
+     * @return 임시 저장된 이미지 url
+     */
     @Transactional
-    public List<ProductImageDto> create(List<MultipartFile> files) {
-        List<ProductImageDto> productImageDtos = files.stream()
-                .filter(file -> file != null && !file.isEmpty())
-                .map(file -> {
-                    ProductImage productImage = new ProductImage();
+    public List<ProductImageDto> create(HttpServletRequest request) {
+        if (!ServletFileUpload.isMultipartContent(request)) {
+            throw new InvalidParameterException("multipart request required");
+        }
 
-                    String saveName = CodeGeneratorUtil.generateFileName(file.getOriginalFilename());
+        ServletFileUpload upload = new ServletFileUpload();
+        upload.setFileSizeMax(maxFileSize);
+        upload.setSizeMax(maxRequestSize);
 
-                    productImage.setFileName(saveName);
-                    productImage.setOriginalFileName(file.getOriginalFilename());
-                    productImage.setSize(file.getSize());
-                    productImage.setEnabled(true);
+        List<ProductImage> productImages = new ArrayList<>();
+        TransactionUtil.afterRollback(() -> productImages.forEach(productImage ->
+                FileUtil.deleteFile(ProductImage.getImageUploadTempPath() + "/" + productImage.getFileName())));
 
-                    // 파일 저장
-                    FileUtil.upload(file, productImage.getImageUploadTempPath(), saveName);
+        try {
+            FileItemIterator iterator = upload.getItemIterator(request);
+            while (iterator.hasNext()) {
+                FileItemStream item = iterator.next();
+                if (item.isFormField() || !FILES_FIELD_NAME.equals(item.getFieldName()) || StringUtils.isBlank(item.getName())) {
+                    continue;  // 읽지 않은 part는 다음 part로 넘어갈 때 skip된다.
+                }
 
-//                FileUtil.upload(file, FileUtil.getImageUploadPath(savedProduct.getId()), saveName);
-//                productImage.setImageUrl(FileUtil.getImageUrl(savedProduct.getId(), saveName));
+                try (InputStream inputStream = item.openStream()) {
+                    productImages.add(save(item.getName(), inputStream));
+                }
+            }
+        } catch (FileUploadException | IOException e) {
+            if (isSizeLimitExceeded(e)) {
+                throw new InvalidParameterException("file size limit exceeded");
+            }
+            throw new RuntimeException("file upload error", e);
+        }
 
-                    ProductImage savedProductImage = productImageRepository.save(productImage);
-                    log.debug(savedProductImage.getFileName());
+        productImages.removeIf(productImage -> productImage.getSize() == 0);  // 빈 파일은 저장하지 않는다.
+        if (productImages.isEmpty()) {
+            throw new InvalidParameterException();
+        }
 
-                    return new ProductImageDto.Builder()
-                            .withUrl(savedProductImage.getTempImageUrl())
-                            .build();
-                }).collect(Collectors.toList());
+        productImageRepository.insertAll(productImages);
+
+        return productImages.stream()
+                .map(productImage -> new ProductImageDto.Builder()
+                        .withUrl(productImage.getTempImageUrl())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private ProductImage save(String originalFileName, InputStream inputStream) throws IOException {
+        String saveName = CodeGeneratorUtil.generateFileName(originalFileName);
+
+        ProductImage productImage = new ProductImage();
+        productImage.setFileName(saveName);
+        productImage.setOriginalFileName(originalFileName);
+        productImage.setEnabled(true);
+
+        long startNanos = System.nanoTime();
+        long size = FileUtil.transfer(inputStream, new File(ProductImage.getImageUploadTempPath(), saveName));
+        long elapsedNanos = Math.max(System.nanoTime() - startNanos, 1);
+
+        productImage.setSize(size);
+        if (size == 0) {
+            FileUtil.deleteFile(ProductImage.getImageUploadTempPath() + "/" + saveName);
+        }
+
+        // client 업로드 속도까지 포함된 part 1개의 처리량
+        double kbPerSecond = (size / 1024.0) / (elapsedNanos / 1_000_000_000.0);
+        gaugeService.submit(THROUGHPUT_METRIC_NAME, kbPerSecond);
+        log.debug("upload {} -> {}, {} bytes, {} ms, {} KB/s",
+                originalFileName, saveName, size, elapsedNanos / 1_000_000, Math.round(kbPerSecond));
+
+        return productImage;
+    }
 
-        return productImageDtos;
+    private static boolean isSizeLimitExceeded(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof FileUploadBase.SizeLimitExceededException
+                    || cause instanceof FileUploadBase.FileSizeLimitExceededException) {
+                return true;
+            }
+        }
+        return false;
     }
 }
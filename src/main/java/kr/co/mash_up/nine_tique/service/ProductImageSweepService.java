@@ -0,0 +1,107 @@
+package kr.co.mash_up.nine_tique.service;
+
+import kr.co.mash_up.nine_tique.domain.ProductImage;
+import kr.co.mash_up.nine_tique.repository.ProductImageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 상품에 연결되지 않은 이미지(row + /storage/product/tmp 파일) 삭제
+ * 상품 수정에서 연결이 끊긴 이미지도 tmp로 옮겨지므로(ProductService.update) 파일은 항상 tmp에 있다.
+ * <p>
+ * 1개의 트랜잭션 안에서 row lock -> 파일 삭제 -> row 삭제 순서로 처리한다.
+ * - lock이 걸려 있는 동안 같은 이미지를 상품에 연결할 수 없다.
+ * - 파일을 먼저 지우므로 중간에 실패하거나 서버가 죽어도 row가 남아 다음 정리때 다시 찾는다.(파일이 없으면 이미 지워진 것)
+ * 파일 삭제는 초당 max_files_per_second개로 제한해서 요청 처리 I/O를 방해하지 않는다.
+ */
+@Service(value = "productImageSweepService")
+@Slf4j
+public class ProductImageSweepService implements PublicMetrics {
+
+    @Autowired
+    private ProductImageRepository productImageRepository;
+
+    @Value(value = "${image.sweep.max_files_per_second:50}")
+    private int maxFilesPerSecond;
+
+    private final AtomicLong reclaimedFiles = new AtomicLong();
+
+    private final AtomicLong reclaimedBytes = new AtomicLong();
+
+    /**
+     * interrupt되면 남은 파일은 지우지 않고, 지운 파일의 row만 삭제한 뒤 반환한다.
+     *
+     * @param before 이 시각 이전에 업로드되고 상품에 연결되지 않은 이미지를 삭제
+     * @param limit  최대 삭제 수
+     * @return 삭제된 이미지 수. limit보다 작으면 더 삭제할 이미지가 없거나, 파일 삭제가 실패했거나, interrupt된 것
+     */
+    @Transactional
+    public int deleteOrphans(LocalDateTime before, int limit) {
+        List<ProductImage> orphans = productImageRepository.findOrphansForUpdate(before, limit);
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(maxFilesPerSecond, 1);
+        long next = System.nanoTime();
+        List<Long> deletedIds = new ArrayList<>();
+        for (ProductImage orphan : orphans) {
+            long waitNanos = next - System.nanoTime();
+            if (waitNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(waitNanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();  // 종료중. 남은 이미지는 다음 정리때 삭제
+                    break;
+                }
+            }
+            next = Math.max(next, System.nanoTime()) + intervalNanos;
+
+            if (deleteFile(orphan)) {
+                deletedIds.add(orphan.getId());
+            }
+        }
+
+        productImageRepository.deleteOrphans(deletedIds);
+        return deletedIds.size();
+    }
+
+    /**
+     * @return 파일이 삭제됐거나 이미 없는지 여부
+     */
+    private boolean deleteFile(ProductImage productImage) {
+        File file = new File(ProductImage.getImageUploadTempPath(), productImage.getFileName());
+        long size = file.length();
+        if (file.delete()) {
+            reclaimedFiles.incrementAndGet();
+            reclaimedBytes.addAndGet(size);
+            return true;
+        }
+        if (file.exists()) {
+            log.warn("sweep orphan product image file delete fail {}", file);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * /management/metrics 에 노출
+     */
+    @Override
+    public Collection<Metric<?>> metrics() {
+        return Arrays.asList(
+                new Metric<>("image.sweep.reclaimed.files", reclaimedFiles.get()),
+                new Metric<>("image.sweep.reclaimed.bytes", reclaimedBytes.get()));
+    }
+}
@@ -0,0 +1,369 @@
+package kr.co.mash_up.nine_tique.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import kr.co.mash_up.nine_tique.dto.ProductDto;
+import kr.co.mash_up.nine_tique.util.TransactionUtil;
+import kr.co.mash_up.nine_tique.vo.DataListResponseVO;
+import kr.co.mash_up.nine_tique.vo.ProductListRequestVO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import javax.annotation.PostConstruct;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 카테고리별 상품 리스트(GET /api/products, offset paging) 응답의 직렬화 캐시
+ * 같은 페이지는 모든 유저에게 같고 상품별 zzim_status, seller만 다르므로
+ * (mainCategory, subCategory, pageNo, pageSize, withTotal)별로 두 값을 뺀 JSON을 저장해두고, 응답할 때 유저별 값을 붙인다.
+ * 요청마다 Jackson으로 페이지 전체를 직렬화하지 않는다.
+ * <p>
+ * 상품 카드가 바뀌면(ProductCardService의 캐시 제거 시점, commit 후) 전체를 버린다.
+ * 상품 수(total)는 ProductCountService의 version이 바뀌면 다시 만든다.
+ * 다른 서버에서 변경된 경우를 위해 product.list_cache.expire_seconds 후 만료
+ * <p>
+ * /management/metrics - product.list_cache.{size,hit,miss}
+ */
+@Service(value = "productListCache")
+@Slf4j
+public class ProductListCache implements PublicMetrics {
+
+    private static final byte[] LIST_PLACEHOLDER = "\"list\":null".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] LIST_START = "\"list\":[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] LIST_END = "]".getBytes(StandardCharsets.UTF_8);
+
+    // [zzimStatus][seller] - 상품 JSON의 마지막 '}' 대신 붙인다.
+    private static final byte[][][] FLAGS = {
+            {flags(false, false), flags(false, true)},
+            {flags(true, false), flags(true, true)}};
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductCountService productCountService;
+
+    @Value(value = "${product.list_cache.enabled:true}")
+    private boolean enabled;
+
+    @Value(value = "${product.list_cache.max_pages:2000}")
+    private long maxPages;
+
+    @Value(value = "${product.list_cache.max_page_size:100}")
+    private int maxPageSize;
+
+    @Value(value = "${product.list_cache.expire_seconds:60}")
+    private long expireSeconds;
+
+    private ObjectMapper pageMapper;
+
+    private Cache<Key, Page> pages;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        pageMapper = objectMapper.copy().addMixIn(ProductDto.class, UserIndependentProduct.class);
+        pages = Caffeine.newBuilder()
+                .maximumSize(maxPages)
+                .expireAfterWrite(expireSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @return 캐시를 사용하는 요청인지. cursor paging, 너무 큰 페이지는 캐시하지 않는다.
+     */
+    public boolean isCacheable(ProductListRequestVO requestVO) {
+        return enabled && !requestVO.isCursorPaging() && requestVO.getPageSize() <= maxPageSize;
+    }
+
+    /**
+     * @param requestVO 카테고리, 페이지
+     * @param loader    캐시에 없을 때 유저 정보 없이(zzim_status, seller = false) 페이지를 조회
+     * @return 직렬화된 페이지
+     */
+    public Page get(ProductListRequestVO requestVO, Supplier<Slice<ProductDto>> loader) {
+        // 조회 전에 읽어야 조회 중에 바뀐 경우 다음 요청에서 다시 만든다.
+        long currentGeneration = generation.get();
+        long countVersion = productCountService.getVersion();
+
+        Key key = new Key(requestVO);
+        Page page = pages.getIfPresent(key);
+        if (page != null && page.generation == currentGeneration && page.countVersion == countVersion) {
+            return page;
+        }
+
+        page = createPage(loader.get(), currentGeneration, countVersion);
+        pages.put(key, page);
+
+        log.debug("create product list page {} {} {} {}, generation {}", key.mainCategory, key.subCategory,
+                key.pageNo, key.pageSize, currentGeneration);
+        return page;
+    }
+
+    /**
+     * 상품 카드 변경 후 전체 제거. 트랜잭션 안이면 commit 후에 제거
+     */
+    public void invalidateAfterCommit() {
+        TransactionUtil.afterCommit(this::invalidate);
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        pages.invalidateAll();
+    }
+
+    private Page createPage(Slice<ProductDto> slice, long generation, long countVersion) {
+        List<ProductDto> productDtos = slice.getContent();
+        DataListResponseVO<ProductDto> envelope = new DataListResponseVO<>(slice);
+        envelope.setList(null);
+
+        try {
+            byte[] envelopeBytes = pageMapper.writeValueAsBytes(envelope);
+            int listIndex = indexOf(envelopeBytes, LIST_PLACEHOLDER);
+
+            long[] productIds = new long[productDtos.size()];
+            byte[][] products = new byte[productDtos.size()][];
+            for (int i = 0; i < productDtos.size(); i++) {
+                byte[] product = pageMapper.writeValueAsBytes(productDtos.get(i));
+                products[i] = Arrays.copyOf(product, product.length - 1);  // 마지막 '}' 제외
+                productIds[i] = productDtos.get(i).getId();
+            }
+
+            return new Page(generation, countVersion,
+                    concat(Arrays.copyOf(envelopeBytes, listIndex), LIST_START),
+                    products,
+                    concat(LIST_END, Arrays.copyOfRange(envelopeBytes, listIndex + LIST_PLACEHOLDER.length, envelopeBytes.length)),
+                    productIds);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("product list serialize fail", e);
+        }
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        CacheStats stats = pages.stats();
+        return Arrays.asList(
+                new Metric<>("product.list_cache.size", pages.estimatedSize()),
+                new Metric<>("product.list_cache.hit", stats.hitCount()),
+                new Metric<>("product.list_cache.miss", stats.missCount()));
+    }
+
+    private static byte[] flags(boolean zzimStatus, boolean seller) {
+        return (",\"zzim_status\":" + zzimStatus + ",\"seller\":" + seller + "}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int indexOf(byte[] source, byte[] target) {
+        outer:
+        for (int i = 0; i <= source.length - target.length; i++) {
+            for (int j = 0; j < target.length; j++) {
+                if (source[i + j] != target[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        throw new IllegalStateException("list placeholder not found");
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+
+    /**
+     * 유저와 무관한 값만 직렬화
+     */
+    @JsonIgnoreProperties(value = {"zzim_status", "seller"})
+    private abstract static class UserIndependentProduct {
+    }
+
+    private static final class Key {
+
+        private final String mainCategory;
+
+        private final String subCategory;
+
+        private final int pageNo;
+
+        private final int pageSize;
+
+        private final boolean withTotal;
+
+        private Key(ProductListRequestVO requestVO) {
+            this.mainCategory = requestVO.getMainCategory().toUpperCase();
+            this.subCategory = requestVO.getSubCategory().toUpperCase();
+            this.pageNo = requestVO.getPageNo();
+            this.pageSize = requestVO.getPageSize();
+            this.withTotal = requestVO.isWithTotal();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return pageNo == key.pageNo && pageSize == key.pageSize && withTotal == key.withTotal
+                    && mainCategory.equals(key.mainCategory) && subCategory.equals(key.subCategory);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = mainCategory.hashCode();
+            result = 31 * result + subCategory.hashCode();
+            result = 31 * result + pageNo;
+            result = 31 * result + pageSize;
+            result = 31 * result + (withTotal ? 1 : 0);
+            return result;
+        }
+    }
+
+    /**
+     * 유저별 값을 뺀 직렬화된 페이지. 불변
+     */
+    public static final class Page {
+
+        private final long generation;
+
+        private final long countVersion;
+
+        private final byte[] head;  // ... "list":[
+
+        private final byte[][] products;  // 상품 JSON, 마지막 '}' 제외
+
+        private final byte[] tail;  // ], ...
+
+        private final long[] productIds;
+
+        private final String hash;
+
+        private Page(long generation, long countVersion, byte[] head, byte[][] products, byte[] tail, long[] productIds) {
+            this.generation = generation;
+            this.countVersion = countVersion;
+            this.head = head;
+            this.products = products;
+            this.tail = tail;
+            this.productIds = productIds;
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            out.write(head, 0, head.length);
+            for (byte[] product : products) {
+                out.write(product, 0, product.length);
+            }
+            out.write(tail, 0, tail.length);
+            this.hash = DigestUtils.md5DigestAsHex(out.toByteArray());
+        }
+
+        /**
+         * @return 페이지의 상품 id(순서대로). 유저별 찜/판매 여부 조회용
+         */
+        public long[] getProductIds() {
+            return productIds.clone();
+        }
+
+        /**
+         * @param zzimStatus 상품별 찜 여부(productIds 순서)
+         * @param seller     상품별 판매자 여부(productIds 순서)
+         * @return 유저별 값을 붙인 페이지
+         */
+        public UserPage forUser(boolean[] zzimStatus, boolean[] seller) {
+            return new UserPage(this, zzimStatus, seller);
+        }
+    }
+
+    /**
+     * 유저 1명에게 보낼 페이지. ETag는 body를 만들지 않고 계산하므로 304 응답에는 body를 만들지 않는다.
+     */
+    public static final class UserPage {
+
+        private final Page page;
+
+        private final boolean[] zzimStatus;
+
+        private final boolean[] seller;
+
+        private final String eTag;
+
+        private UserPage(Page page, boolean[] zzimStatus, boolean[] seller) {
+            this.page = page;
+            this.zzimStatus = zzimStatus;
+            this.seller = seller;
+            this.eTag = createETag();
+        }
+
+        /**
+         * @return 페이지 hash와 유저별 값(상품마다 2bit)으로 만든 strong ETag
+         */
+        public String getETag() {
+            return eTag;
+        }
+
+        /**
+         * @return 유저별 값을 붙인 응답 body
+         */
+        public byte[] getBody() {
+            int size = page.head.length + page.tail.length + page.products.length * (FLAGS[1][1].length + 1);
+            for (byte[] product : page.products) {
+                size += product.length;
+            }
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(size);
+            out.write(page.head, 0, page.head.length);
+            for (int i = 0; i < page.products.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                out.write(page.products[i], 0, page.products[i].length);
+                byte[] flags = FLAGS[zzimStatus[i] ? 1 : 0][seller[i] ? 1 : 0];
+                out.write(flags, 0, flags.length);
+            }
+            out.write(page.tail, 0, page.tail.length);
+            return out.toByteArray();
+        }
+
+        private String createETag() {
+            BitSet bits = new BitSet(page.productIds.length * 2);
+            for (int i = 0; i < page.productIds.length; i++) {
+                bits.set(i * 2, zzimStatus[i]);
+                bits.set(i * 2 + 1, seller[i]);
+            }
+
+            StringBuilder eTag = new StringBuilder(page.hash.length() + 24).append('"').append(page.hash).append('-');
+            long[] words = bits.toLongArray();
+            if (words.length == 0) {
+                eTag.append('0');
+            }
+            for (int i = 0; i < words.length; i++) {
+                if (i > 0) {
+                    eTag.append('.');
+                }
+                eTag.append(Long.toHexString(words[i]));
+            }
+            return eTag.append('"').toString();
+        }
+    }
+}
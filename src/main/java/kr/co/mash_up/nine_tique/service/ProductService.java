@@ -3,12 +3,13 @@ package kr.co.mash_up.nine_tique.service;
 import kr.co.mash_up.nine_tique.domain.*;
 import kr.co.mash_up.nine_tique.dto.ProductDto;
 import kr.co.mash_up.nine_tique.dto.ProductImageDto;
-import kr.co.mash_up.nine_tique.dto.ShopDto;
 import kr.co.mash_up.nine_tique.exception.IdNotFoundException;
 import kr.co.mash_up.nine_tique.exception.UserIdNotMatchedException;
 import kr.co.mash_up.nine_tique.repository.*;
-import kr.co.mash_up.nine_tique.util.FileUtil;
+import kr.co.mash_up.nine_tique.util.LongHashSet;
 import kr.co.mash_up.nine_tique.util.ParameterUtil;
+import kr.co.mash_up.nine_tique.vo.CursorSlice;
+import kr.co.mash_up.nine_tique.vo.ProductCursor;
 import kr.co.mash_up.nine_tique.vo.ProductListRequestVO;
 import kr.co.mash_up.nine_tique.vo.ProductRequestVO;
 import lombok.extern.slf4j.Slf4j;
@@ -17,9 +18,14 @@ import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 /**
  * Product와 관련된 비즈니스 로직 처리
@@ -32,7 +38,7 @@ public class ProductService {
     private ProductRepository productRepository;
 
     @Autowired
-    private CategoryRepository categoryRepository;
+    private CategoryRegistry categoryRegistry;
 
     @Autowired
     private ShopRepository shopRepository;
@@ -46,131 +52,188 @@ public class ProductService {
     @Autowired
     private SellerRepository sellerRepository;
 
+    @Autowired
+    private ProductCountService productCountService;
+
+    @Autowired
+    private ProductCardService productCardService;
+
+    @Autowired
+    private ProductCardRepository productCardRepository;
+
+    @Autowired
+    private ProductListCache productListCache;
+
+    @Autowired
+    private ProductImageDerivativeService productImageDerivativeService;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
     /*
-    ManyToOne은 알아서 join을 안한다.
-    OneToMany는 알아서 join을 한다.
-    트랜잭션안에서 1번이라도 쿼리를 날리면 join된다.
-    -> fetch 전략때문임... -> LAZY와 EGEAR의 차이.
+    상품 리스트는 비정규화된 product_card에서 index 순서대로 1번에 조회한다.
+
+    count query 없이 pageSize + 1개를 조회하고, total은 ProductCountService에 캐시된 값을 이용
+    with_total=false면 total 없이 다음 페이지 여부만 응답
+     */
+    @Transactional(readOnly = true)
+    public Slice<ProductDto> findProductsByCategory(Long userId, ProductListRequestVO requestVO) {
+        return findProductsByCategory(requestVO, productCards -> toProductDtos(userId, productCards));
+    }
+
+    /**
+     * 카테고리별 상품 리스트 조회(offset paging, ProductListCache 사용)
+     * 유저와 무관한 페이지는 캐시에서 가져오고, 현재 페이지 상품의 찜/판매 여부만 조회해서 붙인다.
+     *
+     * @param userId    요청한 유저 id
+     * @param requestVO 카테고리, 페이지
+     * @return 유저별 값을 붙인 직렬화된 페이지
      */
     @Transactional(readOnly = true)
-    public Page<ProductDto> findProductsByCategory(Long userId, ProductListRequestVO requestVO) {
+    public ProductListCache.UserPage findProductsByCategoryCached(Long userId, ProductListRequestVO requestVO) {
+        ProductListCache.Page page = productListCache.get(requestVO,
+                () -> findProductsByCategory(requestVO, productCards -> productCards.stream()
+                        .map(productCard -> productCardService.toProductDto(productCard).build())
+                        .collect(Collectors.toList())));
+
+        long[] productIds = page.getProductIds();
+        List<Long> productIdList = LongStream.of(productIds).boxed().collect(Collectors.toList());
+        LongHashSet zzimProductIds = LongHashSet.of(zzimRepository.getZzimProductIds(userId, productIdList));
+        LongHashSet sellerProductIds = LongHashSet.of(sellerRepository.getSellerProductIds(userId, productIdList));
+
+        boolean[] zzimStatus = new boolean[productIds.length];
+        boolean[] seller = new boolean[productIds.length];
+        for (int i = 0; i < productIds.length; i++) {
+            zzimStatus[i] = zzimProductIds.contains(productIds[i]);
+            seller[i] = sellerProductIds.contains(productIds[i]);
+        }
+        return page.forUser(zzimStatus, seller);
+    }
+
+    private Slice<ProductDto> findProductsByCategory(ProductListRequestVO requestVO,
+                                                     Function<List<ProductCard>, List<ProductDto>> toProductDtos) {
         Pageable pageable = requestVO.getPageable();
         String mainCategory = requestVO.getMainCategory().toUpperCase();
         String subCategory = requestVO.getSubCategory().toUpperCase();
 
-        Page<Product> productPage = null;
+        Slice<ProductCard> productCardSlice = null;
+        long total;
 
         if (mainCategory.equalsIgnoreCase("NEW")) {
-            productPage = productRepository.findAll(pageable);
+            productCardSlice = productCardRepository.findAllSlice(pageable);
+            total = requestVO.isWithTotal() ? productCountService.countAll() : 0;
         } else {
             if (subCategory.equalsIgnoreCase("ALL")) {
-                productPage = productRepository.findByMainCategory(pageable, mainCategory);
+                productCardSlice = productCardRepository.findByMainCategorySlice(pageable, mainCategory);
+                total = requestVO.isWithTotal() ? productCountService.countByMainCategory(mainCategory) : 0;
             } else {
-                Category category = categoryRepository.findByMainAndSub(mainCategory, subCategory);
-                Optional.ofNullable(category).orElseThrow(() -> new IdNotFoundException("find product by category -> category not found"));
-                if (!category.isEnabled()) {
-                    throw new IdNotFoundException("find product by category -> category not found");
-                }
+                Category category = findEnabledCategory(mainCategory, subCategory);
+                productCardSlice = productCardRepository.findByCategorySlice(pageable, category.getId());
+                total = requestVO.isWithTotal() ? productCountService.countByCategory(category.getId()) : 0;
+            }
+        }
+        Optional.ofNullable(productCardSlice).orElseThrow(() -> new IdNotFoundException("find product by category -> products not found"));
+
+        List<ProductDto> productDtos = toProductDtos.apply(productCardSlice.getContent());
+
+        Pageable resultPageable = new PageRequest(productCardSlice.getNumber(), productCardSlice.getSize(),
+                new Sort(Sort.Direction.DESC, "createdAt"));
+
+        if (!requestVO.isWithTotal()) {
+            return new SliceImpl<ProductDto>(productDtos, resultPageable, productCardSlice.hasNext());
+        }
+        return new PageImpl<ProductDto>(productDtos, resultPageable, total);
+    }
+
+    /**
+     * 카테고리별 상품 리스트 조회(cursor paging)
+     * 페이지 크기보다 1개 더 조회해서 다음 페이지 존재 여부를 판단하고, 마지막 상품으로 다음 cursor를 만든다.
+     *
+     * @param userId    요청한 유저 id
+     * @param requestVO 카테고리, cursor, 페이지 크기
+     * @return 상품 리스트와 다음 페이지 cursor
+     */
+    @Transactional(readOnly = true)
+    public CursorSlice<ProductDto> findProductsByCategoryWithCursor(Long userId, ProductListRequestVO requestVO) {
+        ProductCursor cursor = requestVO.getProductCursor();
+        int pageSize = requestVO.getPageSize();
+        String mainCategory = requestVO.getMainCategory().toUpperCase();
+        String subCategory = requestVO.getSubCategory().toUpperCase();
 
-                log.debug(category.getMain() + " " + category.getSub() + " " + category.getId());
+        List<ProductCard> productCards;
 
-                productPage = productRepository.findByCategory(pageable, category);
+        if (mainCategory.equalsIgnoreCase("NEW")) {
+            productCards = productCardRepository.findAll(cursor, pageSize + 1);
+        } else {
+            if (subCategory.equalsIgnoreCase("ALL")) {
+                productCards = productCardRepository.findByMainCategory(cursor, pageSize + 1, mainCategory);
+            } else {
+                Category category = findEnabledCategory(mainCategory, subCategory);
+                productCards = productCardRepository.findByCategory(cursor, pageSize + 1, category.getId());
             }
         }
-        Optional.ofNullable(productPage).orElseThrow(() -> new IdNotFoundException("find product by category -> products not found"));
 
-        List<ZzimProduct> zzimProducts = zzimRepository.getZzimProducts(userId);
-        List<SellerProduct> sellerProducts = sellerRepository.getSellerProducts(userId);
+        boolean hasNext = productCards.size() > pageSize;
+        if (hasNext) {
+            productCards = productCards.subList(0, pageSize);
+        }
+        String nextCursor = hasNext ? ProductCursor.of(productCards.get(productCards.size() - 1)).encode() : null;
 
-        // DTO로 변환
-        List<ProductDto> productDtos = productPage.getContent().stream()
-                .map(product -> {
-                    List<ProductImageDto> productImageDtos = product.getProductImages().stream()
-                            .sorted((o1, o2) -> Long.compare(o1.getId(), o2.getId()))
-                            .map(productImage -> {
-                                return new ProductImageDto.Builder()
-                                        .withUrl(productImage.getImageUrl())
-                                        .build();
-                            }).collect(Collectors.toList());
-
-                    ShopDto shopDto = new ShopDto.Builder()
-                            .withName(product.getShop().getName())
-                            .withInfo(product.getShop().getInfo())
-                            .withPhone(product.getShop().getPhone())
-                            .withKakaoOpenChatUrl(product.getShop().getKakaoOpenChatUrl())
-                            .build();
-
-                    boolean isZzim = product.checkProductZzim(zzimProducts);
-                    boolean isSeller = product.checkSeller(sellerProducts);
-
-                    return new ProductDto.Builder()
-                            .withId(product.getId())
-                            .withName(product.getName())
-                            .withBrandName(product.getBrandName())
-                            .withSize(product.getSize())
-                            .withPrice(product.getPrice())
-                            .withDescription(product.getDescription())
-                            .withStatus(product.getStatus())
-                            .withMainCategory(product.getCategory().getMain())
-                            .withSubCategory(product.getCategory().getSub())
-                            .withShop(shopDto)
-                            .withProductImages(productImageDtos)
-                            .withZzimStatus(isZzim)
-                            .withCreatedAt(product.getCreatedTimestamp())
-                            .withUpdatedAt(product.getUpdatedTimestamp())
-                            .withSeller(isSeller)
-                            .build();
-                })
-                .collect(Collectors.toList());
+        List<ProductDto> productDtos = toProductDtos(userId, productCards);
 
-        Pageable resultPageable = new PageRequest(productPage.getNumber(), productPage.getSize(),
-                new Sort(Sort.Direction.DESC, "createdAt"));
+        return new CursorSlice<ProductDto>(productDtos, new PageRequest(0, pageSize), hasNext, nextCursor);
+    }
+
+    private Category findEnabledCategory(String mainCategory, String subCategory) {
+        Category category = categoryRegistry.findEnabled(mainCategory, subCategory);
+        Optional.ofNullable(category).orElseThrow(() -> new IdNotFoundException("find product by category -> category not found"));
+
+        log.debug("{} {} {}", category.getMain(), category.getSub(), category.getId());
+        return category;
+    }
+
+    /**
+     * 상품 카드 리스트를 DTO로 변환
+     *
+     * @param userId       요청한 유저 id. 찜, 판매자 여부 확인용
+     * @param productCards 변환할 상품 카드 리스트
+     * @return 변환된 DTO 리스트
+     */
+    private List<ProductDto> toProductDtos(Long userId, List<ProductCard> productCards) {
+        // 유저의 전체 찜/판매 목록 대신 현재 페이지 상품 중 찜/판매 상품 id만 조회
+        List<Long> productIds = productCards.stream()
+                .map(ProductCard::getProductId)
+                .collect(Collectors.toList());
+        LongHashSet zzimProductIds = LongHashSet.of(zzimRepository.getZzimProductIds(userId, productIds));
+        LongHashSet sellerProductIds = LongHashSet.of(sellerRepository.getSellerProductIds(userId, productIds));
 
-        return new PageImpl<ProductDto>(productDtos, resultPageable, productPage.getTotalElements());
+        // DTO로 변환
+        return productCards.stream()
+                .map(productCard -> productCardService.toProductDto(productCard)
+                        .withZzimStatus(zzimProductIds.contains(productCard.getProductId()))
+                        .withSeller(sellerProductIds.contains(productCard.getProductId()))
+                        .build())
+                .collect(Collectors.toList());
     }
 
+    /**
+     * 상품 상세정보 조회
+     * 유저와 무관한 정보는 캐시(ProductCardService)에서 가져오고 찜/판매자 여부만 조회해서 덧씌운다.
+     *
+     * @param userId    요청한 유저 id
+     * @param productId 조회할 상품 id
+     * @return 상품 상세정보
+     */
     @Transactional(readOnly = true)
-    public ProductDto findOne(Long userId, Long productid) {
-        Product product = productRepository.findOne(productid);
-
-        Optional.ofNullable(product).orElseThrow(() -> new IdNotFoundException("product find by id -> product not found"));
-
-        List<ProductImageDto> productImageDtos = product.getProductImages().stream()
-                .sorted((o1, o2) -> Long.compare(o1.getId(), o2.getId()))
-                .map(productImage -> {
-                    return new ProductImageDto.Builder()
-                            .withUrl(productImage.getImageUrl())
-                            .build();
-                }).collect(Collectors.toList());
-
-        ShopDto shopDto = new ShopDto.Builder()
-                .withName(product.getShop().getName())
-                .withInfo(product.getShop().getInfo())
-                .withPhone(product.getShop().getPhone())
-                .withKakaoOpenChatUrl(product.getShop().getKakaoOpenChatUrl())
-                .build();
+    public ProductDto findOne(Long userId, Long productId) {
+        ProductDto productCard = productCardService.findOne(productId);
+
+        List<Long> productIds = Collections.singletonList(productId);
+        boolean isZzim = !zzimRepository.getZzimProductIds(userId, productIds).isEmpty();
+        boolean isSeller = !sellerRepository.getSellerProductIds(userId, productIds).isEmpty();
 
-        List<ZzimProduct> zzimProducts = zzimRepository.getZzimProducts(userId);
-        List<SellerProduct> sellerProducts = sellerRepository.getSellerProducts(userId);
-
-        boolean isZzim = product.checkProductZzim(zzimProducts);
-        boolean isSeller = product.checkSeller(sellerProducts);
-
-        return new ProductDto.Builder()
-                .withId(product.getId())
-                .withName(product.getName())
-                .withBrandName(product.getBrandName())
-                .withSize(product.getSize())
-                .withPrice(product.getPrice())
-                .withDescription(product.getDescription())
-                .withStatus(product.getStatus())
-                .withMainCategory(product.getCategory().getMain())
-                .withSubCategory(product.getCategory().getSub())
-                .withShop(shopDto)
-                .withProductImages(productImageDtos)
+        return new ProductDto.Builder(productCard)
                 .withZzimStatus(isZzim)
-                .withCreatedAt(product.getCreatedTimestamp())
-                .withUpdatedAt(product.getUpdatedTimestamp())
                 .withSeller(isSeller)
                 .build();
     }
@@ -196,11 +259,8 @@ public class ProductService {
             throw new UserIdNotMatchedException("product update -> user id not matched");
         }
 
-        Category category = categoryRepository.findByMainAndSub(requestVO.getMainCategory(), requestVO.getSubCategory());
+        Category category = categoryRegistry.findEnabled(requestVO.getMainCategory(), requestVO.getSubCategory());
         Optional.ofNullable(category).orElseThrow(() -> new IdNotFoundException("product update -> category not found"));
-        if (!category.isEnabled()) {
-            throw new IdNotFoundException("product update -> category not found");
-        }
 
         /*
             경우의 수
@@ -236,17 +296,23 @@ public class ProductService {
         List<ProductImageDto> productImageDtos = requestVO.getProductImages();
         // 새로운 Product Image가 기존 Product Image가 없으면 기존 Product Image 참조 해제
         List<ProductImage> oldProductImages = oldProduct.getProductImages();
+        List<FileStorageService.FileMove> fileMoves = new ArrayList<>();
+        List<File> detachedFiles = new ArrayList<>();
         oldProductImages.forEach(productImage -> {
             String fileName = productImage.getFileName();
             if (!existProductImageFromNewData(fileName, productImageDtos)) {  // 포함되어 있지 않으므로 tmp로 옮기고 참조를 끊는다.
-
-                // file move product/{id} dir to tmp dir
-//                FileUtil.moveFile(productImage.getImageUploadPath() + "/" + fileName, productImage.getImageUploadTempPath());
+                // file move product/{id} dir to tmp dir -> ProductImageSweepTask가 tmp에서 row와 함께 지운다.
+                fileMoves.add(new FileStorageService.FileMove(
+                        productImage.getImageUploadPath() + "/" + fileName,
+                        ProductImage.getImageUploadTempPath()));
+                detachedFiles.add(new File(productImage.getImageUploadPath(), fileName));
                 productImage.setProduct(null);
             }
         });
+        productImageDerivativeService.deleteAfterCommit(detachedFiles);  // 썸네일, 압축본은 product/{id}에 남으므로 지운다.
 
         // 기존 Product Image에 새로운 Product Image가 없으면 참조 연결 -> tmp dir에 파일 존재
+        List<ProductImage> newProductImages = new ArrayList<>();
         productImageDtos.forEach(productImageDto -> {
             String fileName = ProductImage.getFileNameFromUrl(productImageDto.getUrl());
 
@@ -258,14 +324,22 @@ public class ProductService {
                 productImage.setProduct(oldProduct);
 
                 // file move tmp dir to product/{id} dir
-                FileUtil.moveFile(productImage.getImageUploadTempPath() + "/" + productImage.getFileName(),
-                        productImage.getImageUploadPath());
+                fileMoves.add(new FileStorageService.FileMove(
+                        productImage.getImageUploadTempPath() + "/" + productImage.getFileName(),
+                        productImage.getImageUploadPath()));
+                newProductImages.add(productImage);
             }
         });
+        fileStorageService.moveAll(fileMoves);  // 병렬 이동, rollback되면 원래 위치로 되돌린다.
+        productImageDerivativeService.generateAfterCommit(newProductImages);  // 썸네일, 압축본 생성
 
+        Category oldCategory = oldProduct.getCategory();
         requestVO.setStatus(oldProduct.getStatus().name());  // 이전상태 유지
         oldProduct.update(requestVO.toProductEntity(), category);
-        return productRepository.save(oldProduct);
+        productCountService.changeCategory(oldProduct, oldCategory);
+        Product savedProduct = productRepository.save(oldProduct);
+        productCardService.refresh(productId);
+        return savedProduct;
     }
 
     @Transactional
@@ -280,11 +354,8 @@ public class ProductService {
         }
         product.setShop(shop);
 
-        Category category = categoryRepository.findByMainAndSub(requestVO.getMainCategory(), requestVO.getSubCategory());
+        Category category = categoryRegistry.findEnabled(requestVO.getMainCategory(), requestVO.getSubCategory());
         Optional.ofNullable(category).orElseThrow(() -> new IdNotFoundException("product create -> category not found"));
-        if (!category.isEnabled()) {
-            throw new IdNotFoundException("product create -> category not found");
-        }
         product.setCategory(category);
 
         Product savedProduct = productRepository.save(product);
@@ -294,6 +365,8 @@ public class ProductService {
         SellerProduct sellerProduct = new SellerProduct(seller, savedProduct);
         seller.addSellerProduct(sellerProduct);
 
+        List<ProductImage> productImages = new ArrayList<>();
+        List<FileStorageService.FileMove> fileMoves = new ArrayList<>();
         requestVO.getProductImages().forEach(productImageDto -> {
             ProductImage productImage
                     = productImageRepository.findByFileName(ProductImage.getFileNameFromUrl(productImageDto.getUrl()));
@@ -303,10 +376,16 @@ public class ProductService {
             productImage.setProduct(product);
 
             // file move tmp dir to product id dir
-            FileUtil.moveFile(ProductImage.getImageUploadTempPath() + "/" + productImage.getFileName(),
-                    productImage.getImageUploadPath());
+            fileMoves.add(new FileStorageService.FileMove(
+                    ProductImage.getImageUploadTempPath() + "/" + productImage.getFileName(),
+                    productImage.getImageUploadPath()));
+            productImages.add(productImage);
         });
+        fileStorageService.moveAll(fileMoves);  // 병렬 이동, rollback되면 tmp로 되돌린다.
+        productImageDerivativeService.generateAfterCommit(productImages);  // 썸네일, 압축본 생성
 
+        productCountService.increase(savedProduct);
+        productCardService.refresh(savedProduct.getId());
         return savedProduct;
     }
 
@@ -320,11 +399,13 @@ public class ProductService {
             throw new UserIdNotMatchedException("product update -> user id not matched");
         }
         oldProduct.disable();
+        productCountService.decrease(oldProduct);
 
         // 이미지 디렉토리 삭제
 //        FileUtil.deleteDir(oldProduct.getProductImages().get(0).getImageUploadPath());
 
         productRepository.save(oldProduct);
+        productCardService.remove(Collections.singletonList(productId));
     }
 
     /**
@@ -336,7 +417,6 @@ public class ProductService {
      */
     private boolean existProductImageFromNewData(String fileName, List<ProductImageDto> productImageDtos) {
         for (ProductImageDto productImageDto : productImageDtos) {
-            log.info(ProductImage.getFileNameFromUrl(productImageDto.getUrl()));
             if (fileName.equals(ProductImage.getFileNameFromUrl(productImageDto.getUrl()))) {
                 return true;
             }
@@ -353,7 +433,6 @@ public class ProductService {
      */
     private boolean existProductImageFromOldData(String fileName, List<ProductImage> productImages) {
         for (ProductImage productImage : productImages) {
-            log.info(productImage.getFileName());
             if (fileName.equals(productImage.getFileName())) {
                 return true;
             }
@@ -361,6 +440,7 @@ public class ProductService {
         return false;
     }
 
+    @Transactional
     public Product updateStatus(Long userId, Long productId, ProductRequestVO requestVO) {
         Product oldProduct = productRepository.findOne(productId);
 
@@ -378,7 +458,11 @@ public class ProductService {
             throw new UserIdNotMatchedException("product update -> user id not matched");
         }
 
+        Product.Status oldStatus = oldProduct.getStatus();
         oldProduct.setStatus(requestVO.getStatus());
-        return productRepository.save(oldProduct);
+        Product savedProduct = productRepository.save(oldProduct);
+        productCountService.changeStatus(savedProduct, oldStatus);
+        productCardService.refresh(productId);
+        return savedProduct;
     }
 }
\ No newline at end of file
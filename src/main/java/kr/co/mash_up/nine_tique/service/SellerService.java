@@ -8,7 +8,9 @@ import kr.co.mash_up.nine_tique.exception.UserIdNotMatchedException;
 import kr.co.mash_up.nine_tique.repository.*;
 import kr.co.mash_up.nine_tique.security.Authorities;
 import kr.co.mash_up.nine_tique.security.JwtTokenUtil;
+import kr.co.mash_up.nine_tique.security.UserPrincipalStore;
 import kr.co.mash_up.nine_tique.util.CodeGeneratorUtil;
+import kr.co.mash_up.nine_tique.util.PagingUtil;
 import kr.co.mash_up.nine_tique.vo.ProductDeleteRequestVO;
 import kr.co.mash_up.nine_tique.vo.ProductRequestVO;
 import kr.co.mash_up.nine_tique.vo.SellerRequestVO;
@@ -20,6 +22,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -47,65 +50,48 @@ public class SellerService {
     @Autowired
     private ShopRepository shopRepository;
 
+    @Autowired
+    private ProductCountService productCountService;
+
+    @Autowired
+    private ProductCardService productCardService;
+
+    @Autowired
+    private ProductCardRepository productCardRepository;
+
+    @Autowired
+    private UserPrincipalStore userPrincipalStore;
+
     /**
      * 판매자가 등록한 상품 리스트 조회
      *
-     * @param userId   seller id
-     * @param pageable page 정보
+     * @param userId    seller id
+     * @param pageable  page 정보
+     * @param withTotal 전체 개수 조회 여부. false면 count query 없이 다음 페이지 여부만 조회
      * @return 판매자가 등록한 상품 리스트
      */
     @Transactional(readOnly = true)
-    public Page<ProductDto> findProducts(Long userId, Pageable pageable) {
-        Page<SellerProduct> sellerProductPage = sellerRepository.getSellerProducts(userId, pageable);
-
-        Optional.ofNullable(sellerProductPage).orElseThrow(() -> new IdNotFoundException("selle products not found"));
-
-        List<ProductDto> productDtos = sellerProductPage.getContent().stream()
-                .map(sellerProduct -> {
-                    Product product = sellerProduct.getProduct();
-
-                    List<ProductImageDto> productImageDtos = product.getProductImages().stream()
-                            .sorted((o1, o2) -> Long.compare(o1.getId(), o2.getId()))
-                            .map(productImage -> {
-                                return new ProductImageDto.Builder()
-                                        .withUrl(productImage.getImageUrl())
-                                        .build();
-                            }).collect(Collectors.toList());
-
-                    ShopDto shopDto = new ShopDto.Builder()
-                            .withName(product.getShop().getName())
-                            .withInfo(product.getShop().getInfo())
-                            .withPhone(product.getShop().getPhone())
-                            .build();
-
-                    return new ProductDto.Builder()
-                            .withId(product.getId())
-                            .withName(product.getName())
-                            .withBrandName(product.getBrandName())
-                            .withSize(product.getSize())
-                            .withPrice(product.getPrice())
-                            .withDescription(product.getDescription())
-                            .withStatus(product.getStatus())
-                            .withMainCategory(product.getCategory().getMain())
-                            .withSubCategory(product.getCategory().getSub())
-                            .withShop(shopDto)
-                            .withProductImages(productImageDtos)
-                            /*
-                             현재 요구사항으로 판매자는 찜기능이 없다.
-                             요구사항의 변경으로 필요할지도 모르니 주석처리
-                                .withZzimStatus(isZzim)
-                              */
-                            .withCreatedAt(product.getCreatedTimestamp())
-                            .withUpdatedAt(product.getUpdatedTimestamp())
-                            .withSeller(true)  // 판매자가 등록한 상품 목록이므로 true
-                            .build();
-                })
+    public Slice<ProductDto> findProducts(Long userId, Pageable pageable, boolean withTotal) {
+        Slice<ProductCard> productCardPage = withTotal ? productCardRepository.findSellerProducts(userId, pageable)
+                : productCardRepository.findSellerProductsSlice(userId, pageable);
+
+        Optional.ofNullable(productCardPage).orElseThrow(() -> new IdNotFoundException("selle products not found"));
+
+        List<ProductDto> productDtos = productCardPage.getContent().stream()
+                .map(productCard -> productCardService.toProductDto(productCard)
+                        /*
+                         현재 요구사항으로 판매자는 찜기능이 없다.
+                         요구사항의 변경으로 필요할지도 모르니 주석처리
+                            .withZzimStatus(isZzim)
+                          */
+                        .withSeller(true)  // 판매자가 등록한 상품 목록이므로 true
+                        .build())
                 .collect(Collectors.toList());
 
-        Pageable resultPageable = new PageRequest(sellerProductPage.getNumber(), sellerProductPage.getSize(),
+        Pageable resultPageable = new PageRequest(productCardPage.getNumber(), productCardPage.getSize(),
                 new Sort(Sort.Direction.DESC, "createdAt"));
 
-        return new PageImpl<ProductDto>(productDtos, resultPageable, sellerProductPage.getTotalElements());
+        return PagingUtil.replaceContent(productCardPage, productDtos, resultPageable);
     }
 
     /**
@@ -115,46 +101,65 @@ public class SellerService {
      */
     @Transactional
     public void deleteProductsAll(Long userId) {
-        List<SellerProduct> sellerProducts = sellerRepository.getSellerProducts(userId);
-
-        Optional.ofNullable(sellerProducts).orElseThrow(() -> new IdNotFoundException("sell product delete all -> product not found"));
+        List<Product> products = sellerRepository.getSellerProductsOnly(userId);
 
-        sellerProducts.forEach(sellerProduct -> {
-            Product oldProduct = sellerProduct.getProduct();
-            oldProduct.disable();
-
-            // 이미지 디렉토리 삭제
+        // 이미지 디렉토리 삭제
 //            FileUtil.deleteDir(oldProduct.getProductImages().get(0).getImageUploadPath());
 
-            productRepository.save(oldProduct);
-        });
+        disableProducts(products);
     }
 
     /**
      * 판매자가 등록한 상품 삭제
+     * 상품을 한번에 조회해서 소유 여부를 확인하고, 상품과 하위 엔티티를 set 기반 UPDATE로 disable
      *
      * @param userId    Seller id
      * @param requestVO Product id
      */
     @Transactional
     public void deleteProducts(Long userId, ProductDeleteRequestVO requestVO) {
-        requestVO.getProducts().stream()
+        Set<Long> productIds = requestVO.getProducts().stream()
                 .map(ProductRequestVO::getId)
-                .forEach(productId -> {
-                    Product oldProduct = productRepository.findOne(productId);
-                    productRepository.findOneById(productId);
-                    Optional.ofNullable(oldProduct).orElseThrow(() -> new IdNotFoundException("product delete -> product not found"));
+                .collect(Collectors.toSet());
+
+        List<Product> products = productRepository.findByIds(productIds);
+        if (products.size() != productIds.size()) {
+            throw new IdNotFoundException("product delete -> product not found");
+        }
 
-                    Seller seller = sellerRepository.findByUserId(userId);
-                    if (!oldProduct.matchShop(seller)) {
-                        throw new UserIdNotMatchedException("product delete -> user id not matched");
-                    }
+        Seller seller = sellerRepository.findByUserId(userId);
+        if (!products.stream().allMatch(product -> product.matchShop(seller))) {
+            throw new UserIdNotMatchedException("product delete -> user id not matched");
+        }
 
-                    // 이미지 디렉토리 삭제
+        // 이미지 디렉토리 삭제
 //                    FileUtil.deleteDir(oldProduct.getProductImages().get(0).getImageUploadPath());
-                    oldProduct.disable();
-                    productRepository.save(oldProduct);
-                });
+        disableProducts(products);
+    }
+
+    /**
+     * 상품과 이미지, 판매자 상품, 찜 상품을 UPDATE ... WHERE product_id IN (...)으로 한번에 disable
+     * 상품 수만큼 엔티티를 로딩/저장하지 않는다.
+     *
+     * @param products disable할 상품
+     */
+    private void disableProducts(List<Product> products) {
+        if (products.isEmpty()) {
+            return;
+        }
+
+        List<Product> enabledProducts = products.stream()
+                .filter(Product::isEnabled)
+                .collect(Collectors.toList());
+        List<Long> productIds = products.stream()
+                .map(Product::getId)
+                .collect(Collectors.toList());
+
+        long disabledCount = productRepository.disableAll(productIds);
+        productCountService.decrease(enabledProducts);
+        productCardService.remove(productIds);
+
+        log.debug("disable products {}/{}", disabledCount, productIds.size());
     }
 
     /**
@@ -213,6 +218,7 @@ public class SellerService {
         Authority authority = authorityRepository.findByAuthority(Authorities.SELLER);
         user.addAuthority(authority);
         userRepository.save(user);
+        userPrincipalStore.evict(userId);
 
         return new UserDto.Builder()
                 .withAccessToken(jwtTokenUtil.generateToken(user))
@@ -256,9 +262,12 @@ public class SellerService {
         seller.getShop().update(requestVO.toShopEntity());
         seller.getUser().updateName(requestVO.getSellerName());
 
-        return sellerRepository.save(seller);
+        Seller savedSeller = sellerRepository.save(seller);
+        productCardService.refreshShop(savedSeller.getShop());  // 상품 카드에 매장 정보가 포함되어 있다.
+        return savedSeller;
     }
 
+    @Transactional(readOnly = true)
     public Page<SellerDto> findSellers(Pageable pageable) {
         Page<Seller> sellerPage = sellerRepository.findAll(pageable);
 
@@ -9,12 +9,14 @@ import kr.co.mash_up.nine_tique.exception.UserIdNotMatchedException;
 import kr.co.mash_up.nine_tique.repository.ShopRepository;
 import kr.co.mash_up.nine_tique.repository.UserRepository;
 import kr.co.mash_up.nine_tique.security.Authorities;
+import kr.co.mash_up.nine_tique.util.PagingUtil;
 import kr.co.mash_up.nine_tique.vo.DataListRequestVO;
 import kr.co.mash_up.nine_tique.vo.ShopRequestVO;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -33,6 +35,10 @@ public class ShopService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ProductCardService productCardService;
+
+    @Transactional
     public Shop create(ShopRequestVO requestVO) {
         Shop newShop = requestVO.toShopEntitiy();
         Shop oldShop = shopRepository.findByNameAndPhone(newShop.getName(), newShop.getPhone());
@@ -48,10 +54,12 @@ public class ShopService {
         return shopRepository.save(oldShop);
     }
 
-    public Page<ShopDto> list(DataListRequestVO requestVO) {
+    @Transactional(readOnly = true)
+    public Slice<ShopDto> list(DataListRequestVO requestVO) {
         Pageable pageable = requestVO.getPageable();
 
-        Page<Shop> shopPage = shopRepository.findShops(pageable);
+        Slice<Shop> shopPage = requestVO.isWithTotal() ? shopRepository.findShops(pageable)
+                : shopRepository.findShopsSlice(pageable);
 
         List<ShopDto> shopDtos = shopPage.getContent().stream()
                 .map(shop -> new ShopDto.Builder()
@@ -65,9 +73,10 @@ public class ShopService {
         Pageable resultPageable = new PageRequest(shopPage.getNumber(), shopPage.getSize(),
                 new Sort(Sort.Direction.DESC, "createdAt"));
 
-        return new PageImpl<ShopDto>(shopDtos, resultPageable, shopPage.getTotalElements());
+        return PagingUtil.replaceContent(shopPage, shopDtos, resultPageable);
     }
 
+    @Transactional(readOnly = true)
     public ShopDto findOne(Long shopId) {
         Shop shop = shopRepository.findOne(shopId);
 
@@ -83,6 +92,7 @@ public class ShopService {
                 .build();
     }
 
+    @Transactional
     public Shop update(Long userId, Long shopId, ShopRequestVO requestVO) {
         Shop oldShop = shopRepository.findOne(shopId);
         Optional.ofNullable(oldShop).orElseThrow(() -> new IdNotFoundException("shop update -> shop not found"));
@@ -98,9 +108,12 @@ public class ShopService {
         }
 
         oldShop.update(requestVO.toShopEntitiy());
-        return shopRepository.save(oldShop);
+        Shop savedShop = shopRepository.save(oldShop);
+        productCardService.refreshShop(savedShop);  // 상품 카드에 매장 정보가 포함되어 있다.
+        return savedShop;
     }
 
+    @Transactional
     public void delete(Long shopId) {
         Shop oldShop = shopRepository.findOne(shopId);
         Optional.ofNullable(oldShop).orElseThrow(() -> new IdNotFoundException("shop find by id -> shop not found"));
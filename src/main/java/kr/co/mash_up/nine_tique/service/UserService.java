@@ -10,6 +10,7 @@ import kr.co.mash_up.nine_tique.repository.UserRepository;
 import kr.co.mash_up.nine_tique.repository.ZzimRepository;
 import kr.co.mash_up.nine_tique.security.Authorities;
 import kr.co.mash_up.nine_tique.security.JwtTokenUtil;
+import kr.co.mash_up.nine_tique.security.UserPrincipalStore;
 import kr.co.mash_up.nine_tique.vo.UserRequestVO;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -37,6 +38,9 @@ public class UserService {
     @Autowired
     private ZzimRepository zzimRepository;
 
+    @Autowired
+    private UserPrincipalStore userPrincipalStore;
+
     public void findOne(Long id) {
         userRepository.findOne(id);
     }
@@ -74,6 +78,7 @@ public class UserService {
      * @param userId 유저 id
      * @return 생성된 access token
      */
+    @Transactional
     public UserDto addAdminAuthority(Long userId) {
         User user = userRepository.findOne(userId);
         Optional.ofNullable(user).orElseThrow(() -> new IdNotFoundException("register admin -> user not found"));
@@ -81,6 +86,7 @@ public class UserService {
         Authority authority = authorityRepository.findByAuthority(Authorities.ADMIN);
         user.addAuthority(authority);
         userRepository.save(user);
+        userPrincipalStore.evict(userId);
 
         return new UserDto.Builder()
                 .withAccessToken(jwtTokenUtil.generateToken(user))
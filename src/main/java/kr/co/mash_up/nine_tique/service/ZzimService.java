@@ -1,15 +1,16 @@
 package kr.co.mash_up.nine_tique.service;
 
 import kr.co.mash_up.nine_tique.domain.Product;
+import kr.co.mash_up.nine_tique.domain.ProductCard;
 import kr.co.mash_up.nine_tique.domain.Zzim;
 import kr.co.mash_up.nine_tique.domain.ZzimProduct;
 import kr.co.mash_up.nine_tique.dto.ProductDto;
-import kr.co.mash_up.nine_tique.dto.ProductImageDto;
-import kr.co.mash_up.nine_tique.dto.ShopDto;
 import kr.co.mash_up.nine_tique.exception.AlreadyExistException;
 import kr.co.mash_up.nine_tique.exception.IdNotFoundException;
+import kr.co.mash_up.nine_tique.repository.ProductCardRepository;
 import kr.co.mash_up.nine_tique.repository.ProductRepository;
 import kr.co.mash_up.nine_tique.repository.ZzimRepository;
+import kr.co.mash_up.nine_tique.util.PagingUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.*;
@@ -33,6 +34,12 @@ public class ZzimService {
     @Autowired
     private ZzimRepository zzimRepository;
 
+    @Autowired
+    private ProductCardRepository productCardRepository;
+
+    @Autowired
+    private ProductCardService productCardService;
+
     /**
      * 찜하기
      *
@@ -85,57 +92,28 @@ public class ZzimService {
     /**
      * 찜 목록 조회
      *
-     * @param userId   요청한 유저 id
-     * @param pageable page 정보
+     * @param userId    요청한 유저 id
+     * @param pageable  page 정보
+     * @param withTotal 전체 개수 조회 여부. false면 count query 없이 다음 페이지 여부만 조회
      * @return 목록
      */
     @Transactional(readOnly = true)
-    public Page<ProductDto> findZzimProducts(Long userId, Pageable pageable) {
-        Page<ZzimProduct> zzimProductPage = zzimRepository.getZzimProducts(userId, pageable);
+    public Slice<ProductDto> findZzimProducts(Long userId, Pageable pageable, boolean withTotal) {
+        Slice<ProductCard> productCardPage = withTotal ? productCardRepository.findZzimProducts(userId, pageable)
+                : productCardRepository.findZzimProductsSlice(userId, pageable);
 
-        Optional.ofNullable(zzimProductPage).orElseThrow(() -> new IdNotFoundException("zzim products not found"));
+        Optional.ofNullable(productCardPage).orElseThrow(() -> new IdNotFoundException("zzim products not found"));
 
         // DTO로 변환
-        List<ProductDto> productDtos = zzimProductPage.getContent().stream()
-                .map(zzimProduct -> {
-                    Product product = zzimProduct.getProduct();
-
-                    List<ProductImageDto> productImageDtos = product.getProductImages().stream()
-                            .sorted((o1, o2) -> Long.compare(o1.getId(), o2.getId()))
-                            .map(productImage -> {
-                                return new ProductImageDto.Builder()
-                                        .withUrl(productImage.getImageUrl())
-                                        .build();
-                            }).collect(Collectors.toList());
-
-                    ShopDto shopDto = new ShopDto.Builder()
-                            .withName(product.getShop().getName())
-                            .withInfo(product.getShop().getInfo())
-                            .withPhone(product.getShop().getPhone())
-                            .build();
-
-                    return new ProductDto.Builder()
-                            .withId(product.getId())
-                            .withName(product.getName())
-                            .withBrandName(product.getBrandName())
-                            .withSize(product.getSize())
-                            .withPrice(product.getPrice())
-                            .withDescription(product.getDescription())
-                            .withStatus(product.getStatus())
-                            .withMainCategory(product.getCategory().getMain())
-                            .withSubCategory(product.getCategory().getSub())
-                            .withShop(shopDto)
-                            .withProductImages(productImageDtos)
-                            .withZzimStatus(true)
-                            .withCreatedAt(product.getCreatedTimestamp())
-                            .withUpdatedAt(product.getUpdatedTimestamp())
-                            .build();
-                })
+        List<ProductDto> productDtos = productCardPage.getContent().stream()
+                .map(productCard -> productCardService.toProductDto(productCard)
+                        .withZzimStatus(true)
+                        .build())
                 .collect(Collectors.toList());
 
-        Pageable resultPageable = new PageRequest(zzimProductPage.getNumber(), zzimProductPage.getSize(),
+        Pageable resultPageable = new PageRequest(productCardPage.getNumber(), productCardPage.getSize(),
                 new Sort(Sort.Direction.DESC, "createdAt"));
 
-        return new PageImpl<ProductDto>(productDtos, resultPageable, zzimProductPage.getTotalElements());
+        return PagingUtil.replaceContent(productCardPage, productDtos, resultPageable);
     }
 }
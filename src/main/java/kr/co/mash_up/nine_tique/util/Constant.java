@@ -15,6 +15,7 @@ public final class Constant {
         public static final int UN_AUTHORIZED = 401;  // 인증 필요
         public static final int FORBIDDEN = 403;  // 권한 없음
         public static final int NOT_FOUND = 404;  // 찾을 수 없음
+        public static final int INTERNAL_SERVER_ERROR = 500;  // 서버 오류(파일 저장 실패 등)
     }
 
     /**
@@ -34,5 +35,14 @@ public final class Constant {
 
         public static final String STORAGE = "/storage";
         public static final String H2_CONSOLE = "/h2-console";
+        public static final String MANAGEMENT = "/management";  // actuator endpoint
+    }
+
+    /**
+     * cache 이름 모음. 크기/TTL은 application.properties의 spring.cache.caffeine.spec
+     */
+    public final class CacheNames {
+
+        public static final String PRODUCT_DETAIL = "productDetail";  // 유저와 무관한 상품 상세 정보
     }
 }
@@ -4,13 +4,20 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 
 public class FileUtil {
 
+    private static final long TRANSFER_CHUNK_SIZE = 1024 * 1024;  // transferFrom 1번에 옮길 최대 크기
+
     public static File upload(MultipartFile multipartFile, String uploadDir, String fileName) {
         File dirPath = new File(uploadDir);
         if (!dirPath.exists()) {
@@ -40,7 +47,42 @@ public class FileUtil {
         return targetFile;
     }
 
-    public static boolean moveFile(String source, String dest) {
+    /**
+     * stream을 임시파일을 거치지 않고 targetFile에 바로 저장
+     * FileChannel.transferFrom으로 읽는대로 파일에 쓴다. 실패하면 쓰던 파일은 삭제
+     *
+     * @param inputStream 저장할 stream(multipart의 part 등)
+     * @param targetFile  저장할 파일. 이미 있으면 실패
+     * @return 저장된 byte 수
+     */
+    public static long transfer(InputStream inputStream, File targetFile) throws IOException {
+        File dirPath = targetFile.getParentFile();
+        if (!dirPath.exists() && !dirPath.mkdirs() && !dirPath.exists()) {  // 동시에 생성된 경우 제외
+            throw new IOException(String.format("make directory(%s) fail", dirPath));
+        }
+
+        try (ReadableByteChannel source = Channels.newChannel(inputStream);
+             FileChannel target = FileChannel.open(targetFile.toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            long position = 0;
+            long transferred;
+            while ((transferred = target.transferFrom(source, position, TRANSFER_CHUNK_SIZE)) > 0) {
+                position += transferred;
+            }
+            return position;
+        } catch (IOException e) {
+            targetFile.delete();
+            throw e;
+        }
+    }
+
+    /**
+     * source 파일을 dest 디렉토리로 이동. 실패하면 예외를 던진다.(rollback 판단은 호출하는 쪽에서)
+     *
+     * @param source 이동할 파일
+     * @param dest   이동할 디렉토리. 없으면 생성
+     * @return 이동된 파일 경로
+     */
+    public static Path moveFile(String source, String dest) throws IOException {
         Path file = Paths.get(source);
         Path movePath = Paths.get(dest);
 
@@ -48,19 +90,10 @@ public class FileUtil {
                 LinkOption.NOFOLLOW_LINKS);
 
         if (!movoPathExists) {  // 디렉토리 없으면 생성
-            try {
-                Files.createDirectories(movePath);
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
+            Files.createDirectories(movePath);
         }
 
-        try {
-            Files.move(file, movePath.resolve(file.getFileName()));
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-        return true;
+        return Files.move(file, movePath.resolve(file.getFileName()));
     }
 
     public static boolean deleteFile(String imageFilePath) {
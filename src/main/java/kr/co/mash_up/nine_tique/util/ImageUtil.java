@@ -0,0 +1,118 @@
+package kr.co.mash_up.nine_tique.util;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * 이미지 resize, 압축 유틸(JDK ImageIO만 사용)
+ */
+public class ImageUtil {
+
+    /**
+     * header만 읽어 이미지 크기(pixel)를 구한다. decode하지 않으므로 메모리를 거의 쓰지 않는다.
+     * 작은 파일이 decode하면 수 GB가 되는 이미지(decompression bomb)를 읽기 전에 걸러낼 때 사용
+     *
+     * @param file 이미지 파일
+     * @return 첫번째 이미지의 크기. ImageIO가 읽을 수 없는 형식이면 null
+     */
+    public static Dimension readSize(File file) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file)) {
+            if (input == null) {
+                return null;
+            }
+
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                return new Dimension(reader.getWidth(0), reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * 긴 변이 maxSize 이하가 되도록 비율을 유지해서 줄인다. 이미 작으면 크기는 그대로
+     * 한번에 많이 줄이면 계단현상이 생기므로 절반씩 여러번 줄인다.
+     * JPEG로 저장할 수 있도록 투명 영역은 흰색으로 채운 RGB 이미지를 반환
+     *
+     * @param source  원본 이미지
+     * @param maxSize 긴 변의 최대 pixel
+     * @return 줄인 이미지
+     */
+    public static BufferedImage resize(BufferedImage source, int maxSize) {
+        double scale = Math.min(1.0, (double) maxSize / Math.max(source.getWidth(), source.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage current = toRgb(source);
+        int width = current.getWidth();
+        int height = current.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            current = draw(current, width, height);
+        } while (width != targetWidth || height != targetHeight);
+
+        return current;
+    }
+
+    /**
+     * JPEG로 저장
+     *
+     * @param image   저장할 이미지(RGB)
+     * @param target  저장할 파일
+     * @param quality 0 ~ 1, 낮을수록 압축률이 높다.
+     */
+    public static void writeJpeg(BufferedImage image, File target, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(quality);
+        param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);  // 모바일에서 흐릿한 이미지부터 보이도록
+
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target)) {
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static BufferedImage toRgb(BufferedImage source) {
+        if (source.getType() == BufferedImage.TYPE_INT_RGB) {
+            return source;
+        }
+        return draw(source, source.getWidth(), source.getHeight());
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+}
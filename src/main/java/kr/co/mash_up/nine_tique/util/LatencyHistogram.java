@@ -0,0 +1,166 @@
+package kr.co.mash_up.nine_tique.util;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * latency histogram(HdrHistogram)
+ * 여러 thread가 lock 없이 기록하고, percentile은 유효숫자 2자리(오차 1% 이내)로 계산한다.
+ * 범위는 기록되는 값에 맞춰 자동으로 늘어난다.
+ * <p>
+ * percentile, max는 최근 window(기본 5분)의 값이다. 서버가 오래 떠 있어도 최근 요청을 반영하도록
+ * window를 slice로 나누고 가장 오래된 slice를 비우면서 돌린다.
+ * count, sum, bucket(getCumulativeCounts)은 시작 후 전체 누적
+ */
+public class LatencyHistogram {
+
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private static final long DEFAULT_WINDOW_SECONDS = 300;
+    private static final int DEFAULT_WINDOW_SLICES = 5;
+
+    // getCumulativeCounts()의 bucket 상한(microsecond). 마지막 bucket은 상한 없음
+    private static final long[] BOUNDS_MICROS = {
+            100, 250, 500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000,
+            100_000, 250_000, 500_000, 1_000_000, 2_500_000, 5_000_000, 10_000_000};
+
+    private final ConcurrentHistogram total = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+
+    private final LongAdder sumNanos = new LongAdder();
+
+    private final ConcurrentHistogram[] slices;
+
+    private final long sliceNanos;
+
+    private volatile int currentSlice;
+
+    private volatile long currentSliceEnd;
+
+    public LatencyHistogram() {
+        this(DEFAULT_WINDOW_SECONDS, TimeUnit.SECONDS, DEFAULT_WINDOW_SLICES);
+    }
+
+    /**
+     * @param window      percentile, max를 계산하는 최근 시간
+     * @param unit        window 단위
+     * @param sliceCount  window를 나누는 수. 많을수록 window 경계가 정확하고 기록, 조회 비용이 늘어난다.
+     */
+    public LatencyHistogram(long window, TimeUnit unit, int sliceCount) {
+        this.slices = new ConcurrentHistogram[sliceCount];
+        for (int i = 0; i < sliceCount; i++) {
+            slices[i] = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        }
+        this.sliceNanos = unit.toNanos(window) / sliceCount;
+        this.currentSliceEnd = System.nanoTime() + sliceNanos;
+    }
+
+    /**
+     * @param nanos 걸린 시간(nanosecond)
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        rotate(System.nanoTime());
+        slices[currentSlice].recordValue(value);
+        total.recordValue(value);
+        sumNanos.add(nanos);
+    }
+
+    public long getCount() {
+        return total.getTotalCount();
+    }
+
+    public double getTotalMillis() {
+        return sumNanos.sum() / 1_000_000.0;
+    }
+
+    public double getMeanMillis() {
+        long count = getCount();
+        return count == 0 ? 0 : getTotalMillis() / count;
+    }
+
+    /**
+     * @return 최근 window의 최대값(ms)
+     */
+    public double getMaxMillis() {
+        Histogram window = getWindow();
+        return window.getTotalCount() == 0 ? 0 : window.getMaxValue() / 1_000_000.0;
+    }
+
+    /**
+     * @param percentile 0 ~ 1
+     * @return 최근 window의 percentile 값(ms)
+     */
+    public double getPercentileMillis(double percentile) {
+        Histogram window = getWindow();
+        if (window.getTotalCount() == 0) {
+            return 0;
+        }
+        return window.getValueAtPercentile(percentile * 100) / 1_000_000.0;
+    }
+
+    /**
+     * @return bucket 상한(microsecond), 마지막 bucket(상한 없음) 제외
+     */
+    public static long[] getBoundsMicros() {
+        return BOUNDS_MICROS.clone();
+    }
+
+    /**
+     * @return bucket별 누적 개수(상한 이하인 기록 수). 길이는 getBoundsMicros() + 1
+     */
+    public long[] getCumulativeCounts() {
+        long[] cumulativeCounts = new long[BOUNDS_MICROS.length + 1];
+        for (int i = 0; i < BOUNDS_MICROS.length; i++) {
+            cumulativeCounts[i] = total.getCountBetweenValues(0, BOUNDS_MICROS[i] * 1_000);
+        }
+        cumulativeCounts[BOUNDS_MICROS.length] = getCount();
+        return cumulativeCounts;
+    }
+
+    /**
+     * @return window 안의 slice를 합친 복사본
+     */
+    private Histogram getWindow() {
+        rotate(System.nanoTime());
+        Histogram window = new Histogram(SIGNIFICANT_DIGITS);
+        for (ConcurrentHistogram slice : slices) {
+            window.add(slice);
+        }
+        return window;
+    }
+
+    /**
+     * 현재 slice 시간이 지났으면 다음(가장 오래된) slice를 비우고 현재 slice로 바꾼다.
+     * 기록이 없어도 조회할 때 돌리므로 오래된 값이 남지 않는다.
+     */
+    private void rotate(long now) {
+        if (now - currentSliceEnd < 0) {
+            return;
+        }
+        synchronized (this) {
+            if (now - currentSliceEnd < 0) {
+                return;  // 다른 thread가 돌렸다.
+            }
+            if (now - currentSliceEnd >= sliceNanos * slices.length) {
+                // window 전체가 지났으면 모두 비운다.
+                for (ConcurrentHistogram slice : slices) {
+                    slice.reset();
+                }
+                currentSliceEnd = now + sliceNanos;
+                return;
+            }
+            int slice = currentSlice;
+            long sliceEnd = currentSliceEnd;
+            while (now - sliceEnd >= 0) {
+                slice = (slice + 1) % slices.length;
+                slices[slice].reset();
+                sliceEnd += sliceNanos;
+            }
+            currentSlice = slice;
+            currentSliceEnd = sliceEnd;
+        }
+    }
+}
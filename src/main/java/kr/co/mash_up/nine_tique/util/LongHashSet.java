@@ -0,0 +1,101 @@
+package kr.co.mash_up.nine_tique.util;
+
+import java.util.Collection;
+
+/**
+ * boxing 없이 long 값을 저장하는 hash set
+ * 찜/판매 상품 id처럼 페이지 크기 정도의 id 집합에서 포함 여부를 O(1)로 확인할 때 사용
+ * open addressing(linear probing), 삭제는 지원하지 않는다.
+ */
+public class LongHashSet {
+
+    private static final long EMPTY = 0L;  // 빈 슬롯. 0은 별도 flag로 관리
+
+    private long[] keys;
+
+    private int mask;
+
+    private int size;
+
+    private boolean containsEmptyKey;
+
+    public LongHashSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 2) * 2 - 1) << 1;  // load factor 0.5 이하
+        this.keys = new long[capacity];
+        this.mask = capacity - 1;
+    }
+
+    public static LongHashSet of(Collection<Long> values) {
+        LongHashSet set = new LongHashSet(values.size());
+        values.forEach(set::add);
+        return set;
+    }
+
+    public boolean add(long key) {
+        if (key == EMPTY) {
+            boolean added = !containsEmptyKey;
+            containsEmptyKey = true;
+            if (added) {
+                size++;
+            }
+            return added;
+        }
+
+        if ((size + 1) * 2 > keys.length) {
+            rehash(keys.length << 1);
+        }
+
+        int index = indexOf(key);
+        if (keys[index] == key) {
+            return false;
+        }
+        keys[index] = key;
+        size++;
+        return true;
+    }
+
+    public boolean contains(long key) {
+        if (key == EMPTY) {
+            return containsEmptyKey;
+        }
+        return keys[indexOf(key)] == key;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return key가 있는 슬롯, 없으면 key가 들어갈 빈 슬롯
+     */
+    private int indexOf(long key) {
+        int index = mix(key) & mask;
+        while (keys[index] != EMPTY && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        keys = new long[capacity];
+        mask = capacity - 1;
+        for (long key : oldKeys) {
+            if (key != EMPTY) {
+                keys[indexOf(key)] = key;
+            }
+        }
+    }
+
+    /**
+     * 연속된 id가 한쪽 슬롯에 몰리지 않도록 bit를 섞는다.
+     */
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
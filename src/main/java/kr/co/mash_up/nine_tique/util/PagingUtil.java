@@ -0,0 +1,48 @@
+package kr.co.mash_up.nine_tique.util;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+
+/**
+ * Page, Slice 생성 유틸
+ */
+public class PagingUtil {
+
+    private PagingUtil() {
+    }
+
+    /**
+     * 페이지 크기보다 1개 더 조회한 결과로 Slice 생성
+     * 1개가 더 조회되었다면 다음 페이지가 존재한다. count query 없이 다음 페이지 여부를 알 수 있다.
+     *
+     * @param contentWithNext pageable.getPageSize() + 1개까지 조회한 결과
+     * @param pageable        요청한 페이지 정보
+     * @return 페이지 크기만큼 자른 Slice
+     */
+    public static <T> Slice<T> toSlice(List<T> contentWithNext, Pageable pageable) {
+        boolean hasNext = contentWithNext.size() > pageable.getPageSize();
+        List<T> content = hasNext ? contentWithNext.subList(0, pageable.getPageSize()) : contentWithNext;
+        return new SliceImpl<T>(content, pageable, hasNext);
+    }
+
+    /**
+     * 조회 결과의 페이지 정보는 유지하고 content만 교체(Entity -> DTO)
+     * 조회 결과가 Page라면 total도 유지한다.
+     *
+     * @param source   조회 결과
+     * @param content  교체할 content
+     * @param pageable 응답할 페이지 정보
+     * @return content가 교체된 Page or Slice
+     */
+    public static <T> Slice<T> replaceContent(Slice<?> source, List<T> content, Pageable pageable) {
+        if (source instanceof Page) {
+            return new PageImpl<T>(content, pageable, ((Page<?>) source).getTotalElements());
+        }
+        return new SliceImpl<T>(content, pageable, source.hasNext());
+    }
+}
@@ -0,0 +1,69 @@
+package kr.co.mash_up.nine_tique.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 트랜잭션 관련 유틸
+ */
+public class TransactionUtil {
+
+    /**
+     * 현재 트랜잭션이 commit된 후에 실행. rollback되면 실행하지 않는다.
+     * 트랜잭션 밖이면 바로 실행
+     *
+     * @param task 실행할 작업
+     */
+    public static void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+
+    /**
+     * 현재 트랜잭션이 끝난 후(commit, rollback 모두) 실행. afterCommit()으로 등록한 작업보다 나중에 실행된다.
+     * 트랜잭션 밖이면 바로 실행
+     *
+     * @param task 실행할 작업
+     */
+    public static void afterCompletion(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCompletion(int status) {
+                task.run();
+            }
+        });
+    }
+
+    /**
+     * 현재 트랜잭션이 rollback된 후에 실행. DB 밖의 작업(파일 저장 등)을 되돌릴 때 사용
+     * 트랜잭션 밖이면 rollback될 일이 없으므로 실행하지 않는다.
+     *
+     * @param task 실행할 작업
+     */
+    public static void afterRollback(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == TransactionSynchronization.STATUS_ROLLED_BACK) {
+                    task.run();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,27 @@
+package kr.co.mash_up.nine_tique.vo;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import kr.co.mash_up.nine_tique.dto.CategoryDto;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * 카테고리 목록 응답
+ * list에는 서브 카테고리별, main_categories에는 메인 카테고리별 상품 수가 들어있다.
+ */
+@Getter
+@Setter
+@ToString(callSuper = true)
+public class CategoryListResponseVO extends DataListResponseVO<CategoryDto> {
+
+    @JsonProperty(value = "main_categories")
+    private List<CategoryDto> mainCategories;  // 메인 카테고리별 합계. sub는 비어있다.
+
+    public CategoryListResponseVO(List<CategoryDto> categories, List<CategoryDto> mainCategories) {
+        super(categories);
+        this.mainCategories = mainCategories;
+    }
+}
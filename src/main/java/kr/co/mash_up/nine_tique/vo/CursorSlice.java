@@ -0,0 +1,29 @@
+package kr.co.mash_up.nine_tique.vo;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+
+/**
+ * cursor 기반 paging 결과
+ * 전체 count 없이 다음 페이지 존재 여부와 다음 페이지를 조회할 cursor만 가진다.
+ *
+ * @param <T> data 클래스
+ */
+public class CursorSlice<T> extends SliceImpl<T> {
+
+    private final String nextCursor;
+
+    public CursorSlice(List<T> content, Pageable pageable, boolean hasNext, String nextCursor) {
+        super(content, pageable, hasNext);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * @return 다음 페이지를 조회할 cursor, 다음 페이지가 없으면 null
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -16,6 +16,8 @@ public class DataListRequestVO extends RequestVO {
 
     protected int pageSize;
 
+    protected boolean withTotal = true;  // false면 count query 없이 다음 페이지 여부만 조회
+
     public int getPageNo() {
         return pageNo < 0 ? 0 : pageNo;
     }
@@ -24,6 +26,10 @@ public class DataListRequestVO extends RequestVO {
         return pageSize <= 0 ? DEFAULT_PAGE_ROW : pageSize;
     }
 
+    public boolean isWithTotal() {
+        return withTotal;
+    }
+
     public Pageable getPageable(){
         return new QPageRequest(getPageNo(), getPageSize());
     }
@@ -6,6 +6,7 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
@@ -30,6 +31,12 @@ public class DataListResponseVO<T> extends ResponseVO {
     @JsonProperty(value = "page_total")
     private int pageTotal;  // pageNo total count
 
+    @JsonProperty(value = "has_next")
+    private boolean hasNext;  // 다음 페이지 존재 여부
+
+    @JsonProperty(value = "next_cursor")
+    private String nextCursor;  // 다음 페이지 조회용 cursor. cursor paging일 때만 존재
+
     public DataListResponseVO(Integer resultCode, String message) {
         super(resultCode, message);
     }
@@ -39,12 +46,25 @@ public class DataListResponseVO<T> extends ResponseVO {
         this.list = list;
     }
 
-    public DataListResponseVO(Page<T> page) {
+    /**
+     * Page면 total/page_total까지, count 없이 조회한 Slice면 has_next만 채운다.
+     * CursorSlice면 next_cursor를 채운다.
+     */
+    public DataListResponseVO(Slice<T> slice) {
         this(Constant.ResultCodes.OK, "success");
-        this.list = page.getContent();  // 검색된 데이터
-        this.pageSize = page.getSize();
-        this.pageNo = page.getNumber();
-        this.total = page.getTotalElements();  // 검색된 전체 data 수
-        this.pageTotal = page.getTotalPages();  // 전체 페이지 수
+        this.list = slice.getContent();  // 검색된 데이터
+        this.pageSize = slice.getSize();
+        this.pageNo = slice.getNumber();
+        this.hasNext = slice.hasNext();
+
+        if (slice instanceof Page) {
+            Page<T> page = (Page<T>) slice;
+            this.total = page.getTotalElements();  // 검색된 전체 data 수
+            this.pageTotal = page.getTotalPages();  // 전체 페이지 수
+        }
+
+        if (slice instanceof CursorSlice) {
+            this.nextCursor = ((CursorSlice<T>) slice).getNextCursor();
+        }
     }
 }
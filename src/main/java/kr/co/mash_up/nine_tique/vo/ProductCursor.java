@@ -0,0 +1,85 @@
+package kr.co.mash_up.nine_tique.vo;
+
+import kr.co.mash_up.nine_tique.domain.Product;
+import kr.co.mash_up.nine_tique.domain.ProductCard;
+import kr.co.mash_up.nine_tique.exception.InvalidParameterException;
+import lombok.Getter;
+import lombok.ToString;
+import org.apache.commons.lang3.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 상품 리스트 keyset(seek) paging을 위한 cursor
+ * 마지막으로 조회한 상품의 (status, createdAt, id)를 담고, client에는 base64로 encoding된 opaque string으로 전달한다.
+ * 상품 리스트 정렬 순서(status ASC, createdAt DESC, id DESC)와 같은 key를 사용해야 한다.
+ */
+@Getter
+@ToString
+public class ProductCursor {
+
+    private static final String DELIMITER = "|";
+
+    private final Product.Status status;
+
+    private final LocalDateTime createdAt;
+
+    private final Long id;
+
+    public ProductCursor(Product.Status status, LocalDateTime createdAt, Long id) {
+        this.status = status;
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    /**
+     * 마지막으로 조회한 상품으로 다음 페이지의 cursor 생성
+     *
+     * @param product 페이지의 마지막 상품
+     * @return cursor
+     */
+    public static ProductCursor of(Product product) {
+        return new ProductCursor(product.getStatus(), product.getCreatedAt(), product.getId());
+    }
+
+    public static ProductCursor of(ProductCard productCard) {
+        return new ProductCursor(productCard.getStatus(), productCard.getCreatedAt(), productCard.getProductId());
+    }
+
+    /**
+     * client가 보낸 cursor string 해석
+     *
+     * @param cursor encoding된 cursor. 비어있으면 첫 페이지
+     * @return cursor, 첫 페이지라면 null
+     */
+    public static ProductCursor decode(String cursor) {
+        if (StringUtils.isBlank(cursor)) {
+            return null;
+        }
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] tokens = StringUtils.splitPreserveAllTokens(decoded, DELIMITER);
+            if (tokens.length != 3) {
+                throw new InvalidParameterException("invalid cursor");
+            }
+            return new ProductCursor(Product.Status.valueOf(tokens[0]), LocalDateTime.parse(tokens[1]),
+                    Long.valueOf(tokens[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {  // NumberFormatException 포함
+            throw new InvalidParameterException("invalid cursor");
+        }
+    }
+
+    /**
+     * client에 전달할 opaque string으로 encoding
+     *
+     * @return encoding된 cursor
+     */
+    public String encode() {
+        String raw = status.name() + DELIMITER + createdAt + DELIMITER + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
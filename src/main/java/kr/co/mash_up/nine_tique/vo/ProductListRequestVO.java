@@ -14,6 +14,9 @@ import org.springframework.data.domain.Sort;
     sort - 정렬방식
     ex. 1번째 페이지, 한페이지에 10개, 생성일자 내림차순, 이름 오름차순 정렬
     /product?pageNo=0&size=10&sort=createdAt,desc&sort=name,asc
+
+    cursor - keyset paging용 cursor. 파라미터가 있으면 pageNo 대신 cursor로 paging(비어있으면 첫 페이지)
+    ex. /product?mainCategory=NEW&cursor=&pageSize=20 -> 응답의 next_cursor로 다음 페이지 요청
  */
 @Setter
 public class ProductListRequestVO extends DataListRequestVO {
@@ -22,6 +25,8 @@ public class ProductListRequestVO extends DataListRequestVO {
 
     private String subCategory = "";
 
+    private String cursor;
+
     public String getMainCategory() {
         return mainCategory;
     }
@@ -30,6 +35,21 @@ public class ProductListRequestVO extends DataListRequestVO {
         return subCategory;
     }
 
+    public String getCursor() {
+        return cursor;
+    }
+
+    /**
+     * @return cursor paging 요청인지 여부. 구버전 client는 cursor를 보내지 않으므로 offset paging
+     */
+    public boolean isCursorPaging() {
+        return cursor != null;
+    }
+
+    public ProductCursor getProductCursor() {
+        return ProductCursor.decode(cursor);
+    }
+
     @Override
     public Pageable getPageable() {
         return new PageRequest(getPageNo(), getPageSize(), new Sort(Sort.Direction.DESC, "createdAt"));
@@ -0,0 +1,51 @@
+-- 배포 환경(application-deploy)은 ddl-auto=validate 이므로 schema 변경은 이 script를 배포 전에 직접 실행한다.
+-- MySQL 5.x, 1번만 실행
+--
+-- 실행 순서
+-- 1. 이 script 실행 (새 table, index 추가만 하므로 이전 버전 서버가 떠 있어도 된다)
+-- 2. 서버 배포 -> 기동시 ProductCardService.rebuildIfStale()가 비어있는 product_card를 채운다.
+--
+-- created_at, updated_at은 LocalDateTime이 tinyblob으로 mapping되어 있어서 index에 prefix 길이가 필요하다.
+-- 255(tinyblob 최대 길이)로 전체 값을 index에 넣어 정렬 순서를 유지한다.
+
+-- 상품 리스트(카드) - user-015
+CREATE TABLE product_card (
+  product_id               BIGINT       NOT NULL,
+  brand_name               VARCHAR(50),
+  category_id              BIGINT,
+  created_at               TINYBLOB,
+  description              LONGTEXT,
+  image_file_names         VARCHAR(2000),
+  main_category            VARCHAR(255),
+  name                     VARCHAR(50),
+  price                    INTEGER,
+  shop_id                  BIGINT,
+  shop_info                VARCHAR(255),
+  shop_kakao_open_chat_url VARCHAR(255),
+  shop_name                VARCHAR(255),
+  shop_phone               VARCHAR(20),
+  size                     VARCHAR(50),
+  status                   VARCHAR(20),
+  status_order             INTEGER,
+  sub_category             VARCHAR(255),
+  updated_at               TINYBLOB,
+  PRIMARY KEY (product_id)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_product_card_status_created_at ON product_card (status_order, created_at(255), product_id);
+CREATE INDEX idx_product_card_category_status_created_at ON product_card (category_id, status_order, created_at(255), product_id);
+CREATE INDEX idx_product_card_main_status_created_at ON product_card (main_category, status_order, created_at(255), product_id);
+CREATE INDEX idx_product_card_shop_status_created_at ON product_card (shop_id, status_order, created_at(255), product_id);
+
+-- 상품 이미지 - user-008(업로드 batch insert), user-011(연결되지 않은 이미지 정리)
+-- id는 이미 AUTO_INCREMENT(GenerationType.AUTO -> native)로 만들어졌다면 변경 없음
+ALTER TABLE product_image
+  MODIFY id BIGINT NOT NULL AUTO_INCREMENT,
+  ADD INDEX idx_product_image_product_id_created_at (product_id, created_at(255));
+
+-- 리스트 정렬(ORDER BY) index - user-016
+CREATE INDEX idx_product_enabled_status_created_at_id ON product (enabled, status, created_at(255), id);
+CREATE INDEX idx_seller_user_id ON seller (user_id);
+CREATE INDEX idx_seller_product_seller_id_enabled_created_at ON seller_product (seller_id, enabled, created_at(255));
+CREATE INDEX idx_zzim_user_id ON zzim (user_id);
+CREATE INDEX idx_zzim_product_zzim_id_enabled_created_at ON zzim_product (zzim_id, enabled, created_at(255));
@@ -0,0 +1,181 @@
+package kr.co.mash_up.benchmark;
+
+import kr.co.mash_up.builder.CategoryBuilder;
+import kr.co.mash_up.builder.ProductBuilder;
+import kr.co.mash_up.builder.ShopBuilder;
+import kr.co.mash_up.nine_tique.NineTiqueApplication;
+import kr.co.mash_up.nine_tique.domain.Category;
+import kr.co.mash_up.nine_tique.domain.Product;
+import kr.co.mash_up.nine_tique.domain.ProductCard;
+import kr.co.mash_up.nine_tique.domain.Shop;
+import kr.co.mash_up.nine_tique.repository.CategoryRepository;
+import kr.co.mash_up.nine_tique.repository.ProductCardRepository;
+import kr.co.mash_up.nine_tique.repository.ProductRepository;
+import kr.co.mash_up.nine_tique.repository.ShopRepository;
+import kr.co.mash_up.nine_tique.service.ProductCardService;
+import kr.co.mash_up.nine_tique.vo.ProductCursor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 상품 리스트(product_card) offset paging vs cursor(keyset) paging latency 비교
+ * 501페이지 분량의 상품 카드를 만들고 1 ~ 500 페이지를 조회했을 때 페이지별 중간값(median) latency를 출력한다.
+ * cursor paging은 페이지가 깊어져도 앞의 row를 읽고 버리지 않으므로 마지막 페이지가 첫 페이지의 MAX_DEEP_PAGE_RATIO배를 넘으면 실패
+ * 시간이 오래 걸리므로 test task에서는 제외, ./gradlew benchmark 로 실행
+ */
+@Slf4j
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = {NineTiqueApplication.class})
+@ActiveProfiles(profiles = "test")
+public class ProductPagingBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int PAGE_COUNT = 501;
+    private static final int[] MEASURE_PAGES = {1, 10, 50, 100, 200, 300, 400, 500};
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 20;
+    private static final double MAX_DEEP_PAGE_RATIO = 3.0;
+    private static final double MIN_BASE_MILLIS = 1.0;  // 첫 페이지가 너무 빠르면 측정 오차가 비율을 좌우하므로 하한
+
+    @Autowired
+    private ProductCardRepository productCardRepository;
+
+    @Autowired
+    private ProductCardService productCardService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ShopRepository shopRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Shop testShop;
+
+    private Category testCategory;
+
+    @Before
+    public void seed() {
+        testShop = shopRepository.save(new ShopBuilder()
+                .withName("benchmark")
+                .withInfo("benchmark")
+                .withPhone("000-0000-0000")
+                .withEnabled(true)
+                .build());
+        testCategory = categoryRepository.save(new CategoryBuilder()
+                .withMain("BENCHMARK_MAIN")
+                .withSub("BENCHMARK_SUB")
+                .withEnable(true)
+                .build());
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE * PAGE_COUNT; i++) {
+            products.add(new ProductBuilder()
+                    .withName("product" + i)
+                    .withStatus(i % 4 == 0 ? Product.Status.SOLD_OUT : Product.Status.SELL)
+                    .withEnabled(true)
+                    .withShop(testShop)
+                    .withCategory(testCategory)
+                    .build());
+        }
+        productRepository.save(products);
+        productCardService.rebuildAll();
+    }
+
+    @After
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM product_card WHERE category_id = ?", testCategory.getId());
+        jdbcTemplate.update("DELETE FROM product WHERE category_id = ?", testCategory.getId());
+        categoryRepository.delete(testCategory.getId());
+        shopRepository.delete(testShop.getId());
+    }
+
+    @Test
+    public void offsetVsCursor() {
+        Long categoryId = testCategory.getId();
+        Map<Integer, ProductCursor> cursors = cursorsOfMeasurePages(categoryId);
+
+        StringBuilder report = new StringBuilder(String.format("%n%8s %14s %14s%n", "page", "offset(ms)", "cursor(ms)"));
+        Map<Integer, Double> cursorMillis = new HashMap<>();
+        for (int page : MEASURE_PAGES) {
+            PageRequest pageRequest = new PageRequest(page - 1, PAGE_SIZE);
+            ProductCursor cursor = cursors.get(page);
+
+            double offset = median(() -> productCardRepository.findByCategorySlice(pageRequest, categoryId).getContent());
+            double keyset = median(() -> productCardRepository.findByCategory(cursor, PAGE_SIZE + 1, categoryId));
+            cursorMillis.put(page, keyset);
+
+            // 같은 페이지를 조회하는지 확인
+            assertThat(ids(productCardRepository.findByCategory(cursor, PAGE_SIZE + 1, categoryId).subList(0, PAGE_SIZE)))
+                    .isEqualTo(ids(productCardRepository.findByCategorySlice(pageRequest, categoryId).getContent()));
+
+            report.append(String.format("%8d %14.3f %14.3f%n", page, offset, keyset));
+        }
+        log.info(report.toString());
+
+        int firstPage = MEASURE_PAGES[0];
+        int deepPage = MEASURE_PAGES[MEASURE_PAGES.length - 1];
+        assertThat(cursorMillis.get(deepPage))
+                .isLessThanOrEqualTo(Math.max(cursorMillis.get(firstPage), MIN_BASE_MILLIS) * MAX_DEEP_PAGE_RATIO);
+    }
+
+    /**
+     * client처럼 이전 페이지의 cursor를 따라가면서 측정할 페이지의 cursor를 구한다.
+     *
+     * @return 페이지 번호 -> 그 페이지를 조회하는 cursor(첫 페이지는 null)
+     */
+    private Map<Integer, ProductCursor> cursorsOfMeasurePages(Long categoryId) {
+        Map<Integer, ProductCursor> cursors = new HashMap<>();
+        ProductCursor cursor = null;
+        for (int page = 1; page <= MEASURE_PAGES[MEASURE_PAGES.length - 1]; page++) {
+            cursors.put(page, cursor);
+            List<ProductCard> productCards = productCardRepository.findByCategory(cursor, PAGE_SIZE, categoryId);
+            cursor = ProductCursor.of(productCards.get(productCards.size() - 1));
+        }
+        cursors.keySet().retainAll(Arrays.stream(MEASURE_PAGES).boxed().collect(Collectors.toList()));
+        return cursors;
+    }
+
+    private double median(Supplier<List<ProductCard>> query) {
+        for (int i = 0; i < WARMUP; i++) {
+            query.get();
+        }
+
+        double[] elapsed = new double[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            query.get();
+            elapsed[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(elapsed);
+        return elapsed[ITERATIONS / 2];
+    }
+
+    private static List<Long> ids(List<ProductCard> productCards) {
+        return productCards.stream().map(ProductCard::getProductId).collect(Collectors.toList());
+    }
+}
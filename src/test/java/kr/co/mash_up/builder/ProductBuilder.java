@@ -0,0 +1,85 @@
+package kr.co.mash_up.builder;
+
+import kr.co.mash_up.nine_tique.domain.Category;
+import kr.co.mash_up.nine_tique.domain.Product;
+import kr.co.mash_up.nine_tique.domain.Shop;
+
+public class ProductBuilder {
+
+    private String name;
+
+    private String brandName;
+
+    private String size;
+
+    private int price;
+
+    private String description;
+
+    private Product.Status status = Product.Status.SELL;
+
+    private boolean enabled;
+
+    private Shop shop;
+
+    private Category category;
+
+    public ProductBuilder withName(String name) {
+        this.name = name;
+        return this;
+    }
+
+    public ProductBuilder withBrandName(String brandName) {
+        this.brandName = brandName;
+        return this;
+    }
+
+    public ProductBuilder withSize(String size) {
+        this.size = size;
+        return this;
+    }
+
+    public ProductBuilder withPrice(int price) {
+        this.price = price;
+        return this;
+    }
+
+    public ProductBuilder withDescription(String description) {
+        this.description = description;
+        return this;
+    }
+
+    public ProductBuilder withStatus(Product.Status status) {
+        this.status = status;
+        return this;
+    }
+
+    public ProductBuilder withEnabled(boolean enabled) {
+        this.enabled = enabled;
+        return this;
+    }
+
+    public ProductBuilder withShop(Shop shop) {
+        this.shop = shop;
+        return this;
+    }
+
+    public ProductBuilder withCategory(Category category) {
+        this.category = category;
+        return this;
+    }
+
+    public Product build() {
+        Product product = new Product();
+        product.setName(name);
+        product.setBrandName(brandName);
+        product.setSize(size);
+        product.setPrice(price);
+        product.setDescription(description);
+        product.setStatus(status);
+        product.setEnabled(enabled);
+        product.setShop(shop);
+        product.setCategory(category);
+        return product;
+    }
+}
@@ -0,0 +1,69 @@
+package kr.co.mash_up.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import kr.co.mash_up.nine_tique.NineTiqueApplication;
+import kr.co.mash_up.nine_tique.config.ConnectionPoolMetrics;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = {NineTiqueApplication.class})
+@ActiveProfiles(profiles = "test")
+public class ConnectionPoolMetricsTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ConnectionPoolMetrics connectionPoolMetrics;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testHikariPool() {
+        assertThat(dataSource).isInstanceOf(HikariDataSource.class);
+
+        HikariDataSource hikariDataSource = (HikariDataSource) dataSource;
+        assertThat(hikariDataSource.getConnectionTestQuery()).isNull();  // JDBC4 isValid()
+        assertThat(hikariDataSource.getLeakDetectionThreshold()).isGreaterThan(0);
+    }
+
+    @Test
+    public void testAcquireMetrics() {
+        long before = metrics().get("datasource.pool.acquire.count").getValue().longValue();
+
+        for (int i = 0; i < 10; i++) {
+            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+        }
+
+        Map<String, Metric<?>> metrics = metrics();
+        assertThat(metrics.get("datasource.pool.acquire.count").getValue().longValue()).isGreaterThanOrEqualTo(before + 10);
+        assertThat(metrics.get("datasource.pool.acquire.bucket.le_inf").getValue().longValue())
+                .isEqualTo(metrics.get("datasource.pool.acquire.count").getValue().longValue());
+        assertThat(metrics.get("datasource.pool.acquire.p99").getValue().doubleValue())
+                .isGreaterThanOrEqualTo(metrics.get("datasource.pool.acquire.p50").getValue().doubleValue());
+        assertThat(metrics.get("datasource.pool.usage.count").getValue().longValue()).isGreaterThan(0);
+        assertThat(metrics.get("datasource.pool.total").getValue().intValue()).isGreaterThan(0);
+        assertThat(metrics).containsKeys("datasource.pool.active", "datasource.pool.idle", "datasource.pool.pending",
+                "datasource.pool.timeouts", "datasource.pool.acquire.time.total");
+    }
+
+    private Map<String, Metric<?>> metrics() {
+        return connectionPoolMetrics.metrics().stream()
+                .collect(Collectors.toMap(Metric::getName, Function.identity()));
+    }
+}
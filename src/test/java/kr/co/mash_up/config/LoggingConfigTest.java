@@ -0,0 +1,43 @@
+package kr.co.mash_up.config;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import kr.co.mash_up.nine_tique.NineTiqueApplication;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = {NineTiqueApplication.class})
+@ActiveProfiles(profiles = "test")
+public class LoggingConfigTest {
+
+    @Test
+    public void testRootAppendersAreAsync() {
+        Logger root = (Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        List<Appender<ILoggingEvent>> appenders = new ArrayList<>();
+        for (Iterator<Appender<ILoggingEvent>> it = root.iteratorForAppenders(); it.hasNext(); ) {
+            appenders.add(it.next());
+        }
+
+        // 요청 thread는 console/file에 직접 쓰지 않는다.
+        assertThat(appenders).isNotEmpty();
+        assertThat(appenders).hasOnlyElementsOfType(AsyncAppender.class);
+        appenders.forEach(appender -> {
+            AsyncAppender asyncAppender = (AsyncAppender) appender;
+            assertThat(asyncAppender.getQueueSize()).isEqualTo(8192);
+            assertThat(asyncAppender.isIncludeCallerData()).isFalse();
+        });
+    }
+}
@@ -0,0 +1,116 @@
+package kr.co.mash_up.config;
+
+import kr.co.mash_up.nine_tique.NineTiqueApplication;
+import kr.co.mash_up.nine_tique.config.JwtSettings;
+import kr.co.mash_up.nine_tique.domain.User;
+import kr.co.mash_up.nine_tique.repository.AuthorityRepository;
+import kr.co.mash_up.nine_tique.repository.UserRepository;
+import kr.co.mash_up.nine_tique.security.Authorities;
+import kr.co.mash_up.nine_tique.security.JwtAuthenticationTokenFilter;
+import kr.co.mash_up.nine_tique.security.JwtTokenUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.servlet.Filter;
+import java.util.HashSet;
+
+import static kr.co.mash_up.nine_tique.util.Constant.RestEndpoint.MANAGEMENT;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.setup.MockMvcBuilders.webAppContextSetup;
+
+/**
+ * actuator(/management/**)는 ADMIN만 접근 가능하고, 사용하지 않는 endpoint는 꺼져 있는지 검증
+ */
+@WebAppConfiguration
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = {NineTiqueApplication.class})
+@ActiveProfiles(profiles = "test")
+public class ManagementSecurityTest {
+
+    private static final String[] ENDPOINTS = {"/env", "/configprops", "/dump", "/heapdump", "/metrics", "/health", "/prometheus"};
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private JwtTokenUtil jwtTokenUtil;
+
+    @Autowired
+    private JwtSettings jwtSettings;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuthorityRepository authorityRepository;
+
+    private MockMvc mockMvc;
+
+    private User testUser;
+
+    private User testAdmin;
+
+    @Before
+    public void setup() {
+        mockMvc = webAppContextSetup(webApplicationContext)
+                .addFilters(webApplicationContext.getBean("springSecurityFilterChain", Filter.class))
+                .build();
+
+        testUser = saveUser("managementTestUserOauthToken", Authorities.USER);
+        testAdmin = saveUser("managementTestAdminOauthToken", Authorities.ADMIN);
+    }
+
+    @After
+    public void tearDown() {
+        userRepository.delete(testUser.getId());
+        userRepository.delete(testAdmin.getId());
+    }
+
+    @Test
+    public void testAnonymousUnauthorized() throws Exception {
+        for (String endpoint : ENDPOINTS) {
+            mockMvc.perform(get(MANAGEMENT + endpoint))
+                    .andExpect(status().isUnauthorized());
+        }
+    }
+
+    @Test
+    public void testUserForbidden() throws Exception {
+        for (String endpoint : ENDPOINTS) {
+            mockMvc.perform(get(MANAGEMENT + endpoint).header(jwtSettings.getTokenHeader(), authorization(testUser)))
+                    .andExpect(status().isForbidden());
+        }
+    }
+
+    @Test
+    public void testAdmin() throws Exception {
+        mockMvc.perform(get(MANAGEMENT + "/metrics").header(jwtSettings.getTokenHeader(), authorization(testAdmin)))
+                .andExpect(status().isOk());
+
+        // 사용하지 않는 endpoint는 ADMIN이라도 없다.
+        for (String endpoint : new String[]{"/env", "/configprops", "/dump", "/heapdump"}) {
+            mockMvc.perform(get(MANAGEMENT + endpoint).header(jwtSettings.getTokenHeader(), authorization(testAdmin)))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    private User saveUser(String oauthToken, String authority) {
+        User user = new User(oauthToken, User.OauthType.KAKAO, new HashSet<>());
+        user.addAuthority(authorityRepository.findByAuthority(authority));
+        return userRepository.save(user);
+    }
+
+    private String authorization(User user) {
+        return JwtAuthenticationTokenFilter.HEADER_PREFIX + jwtTokenUtil.generateToken(user);
+    }
+}
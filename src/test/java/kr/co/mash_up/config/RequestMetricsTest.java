@@ -0,0 +1,184 @@
+package kr.co.mash_up.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import kr.co.mash_up.nine_tique.NineTiqueApplication;
+import kr.co.mash_up.nine_tique.config.JwtSettings;
+import kr.co.mash_up.nine_tique.config.RequestMetrics;
+import kr.co.mash_up.nine_tique.domain.User;
+import kr.co.mash_up.nine_tique.repository.AuthorityRepository;
+import kr.co.mash_up.nine_tique.repository.UserRepository;
+import kr.co.mash_up.nine_tique.security.Authorities;
+import kr.co.mash_up.nine_tique.security.JwtAuthenticationTokenFilter;
+import kr.co.mash_up.nine_tique.security.JwtTokenUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.servlet.Filter;
+import java.util.HashSet;
+
+import static kr.co.mash_up.nine_tique.util.Constant.RestEndpoint.API_USER;
+import static kr.co.mash_up.nine_tique.util.Constant.RestEndpoint.API_ZZIM;
+import static kr.co.mash_up.nine_tique.util.Constant.RestEndpoint.MANAGEMENT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.setup.MockMvcBuilders.webAppContextSetup;
+
+@WebAppConfiguration
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = {NineTiqueApplication.class})
+@ActiveProfiles(profiles = "test")
+public class RequestMetricsTest {
+
+    private static final String ZZIM_LIST = "ZzimController.list";
+    private static final String ZZIM_ADD = "ZzimController.add";
+    private static final String USER_REFRESH = "UserController.refreshToken";
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private RequestMetrics requestMetrics;
+
+    @Autowired
+    private JwtTokenUtil jwtTokenUtil;
+
+    @Autowired
+    private JwtSettings jwtSettings;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuthorityRepository authorityRepository;
+
+    private MockMvc mockMvc;
+
+    private User testUser;
+
+    private String authorization;
+
+    @Before
+    public void setup() {
+        mockMvc = webAppContextSetup(webApplicationContext)
+                .addFilters(webApplicationContext.getBean("springSecurityFilterChain", Filter.class))
+                .build();
+
+        User user = new User("metricsTestOauthToken", User.OauthType.KAKAO, new HashSet<>());
+        user.addAuthority(authorityRepository.findByAuthority(Authorities.USER));
+        user.addAuthority(authorityRepository.findByAuthority(Authorities.ADMIN));  // /management 조회
+        testUser = userRepository.save(user);
+        authorization = JwtAuthenticationTokenFilter.HEADER_PREFIX + jwtTokenUtil.generateToken(testUser);
+    }
+
+    @After
+    public void tearDown() {
+        userRepository.delete(testUser.getId());
+    }
+
+    @Test
+    public void testRecordLatencyAndSql() throws Exception {
+        long count = count(ZZIM_LIST);
+        long sqlStatements = sqlStatements(ZZIM_LIST);
+
+        mockMvc.perform(get(API_ZZIM).header(jwtSettings.getTokenHeader(), authorization))
+                .andExpect(status().isOk());
+
+        RequestMetrics.HandlerMetrics metrics = requestMetrics.getHandlers().get(ZZIM_LIST);
+        assertThat(metrics.getLatency().getCount()).isEqualTo(count + 1);
+        assertThat(metrics.getLatency().getMaxMillis()).isGreaterThan(0);
+        assertThat(metrics.getSqlStatements()).isGreaterThan(sqlStatements);
+        assertThat(metrics.getSqlSeconds()).isGreaterThan(0);
+        assertThat(metrics.getMaxSqlStatements()).isGreaterThan(0);
+    }
+
+    @Test
+    public void testRecordComposedMapping() throws Exception {
+        long count = count(USER_REFRESH);
+
+        // @GetMapping 등 composed annotation으로 선언한 handler도 기록한다.
+        mockMvc.perform(get(API_USER + "/refresh").header(jwtSettings.getTokenHeader(), authorization))
+                .andExpect(status().isOk());
+
+        assertThat(count(USER_REFRESH)).isEqualTo(count + 1);
+    }
+
+    @Test
+    public void testRecordError() throws Exception {
+        long count = count(ZZIM_ADD);
+        long errors = errors(ZZIM_ADD);
+
+        // IdNotFoundException -> ExceptionHandlerAdvice가 에러 응답으로 바꾼다.
+        mockMvc.perform(post(API_ZZIM).param("product_id", "-1").header(jwtSettings.getTokenHeader(), authorization))
+                .andExpect(status().isOk());
+
+        assertThat(count(ZZIM_ADD)).isEqualTo(count + 1);
+        assertThat(errors(ZZIM_ADD)).isEqualTo(errors + 1);
+    }
+
+    @Test
+    public void testSqlSummaryLog() throws Exception {
+        Logger sqlLogger = (Logger) LoggerFactory.getLogger("kr.co.mash_up.nine_tique.sql");
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        sqlLogger.addAppender(appender);
+        try {
+            mockMvc.perform(get(API_ZZIM).header(jwtSettings.getTokenHeader(), authorization))
+                    .andExpect(status().isOk());
+        } finally {
+            sqlLogger.detachAppender(appender);
+        }
+
+        // 기본 설정(application.properties)은 sql.log.sample_rate= 1.0
+        assertThat(appender.list.stream().map(ILoggingEvent::getFormattedMessage)
+                .anyMatch(message -> message.startsWith("handler=" + ZZIM_LIST + " statements="))).isTrue();
+    }
+
+    @Test
+    public void testPrometheusEndpoint() throws Exception {
+        mockMvc.perform(get(API_ZZIM).header(jwtSettings.getTokenHeader(), authorization))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(MANAGEMENT + "/prometheus").header(jwtSettings.getTokenHeader(), authorization))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/plain"))
+                .andExpect(content().string(containsString("# TYPE http_server_requests_seconds summary")))
+                .andExpect(content().string(containsString(
+                        "http_server_requests_seconds{handler=\"" + ZZIM_LIST + "\",quantile=\"0.99\"}")))
+                .andExpect(content().string(containsString(
+                        "http_server_requests_sql_statements_total{handler=\"" + ZZIM_LIST + "\"}")))
+                .andExpect(content().string(containsString("datasource_pool_active ")))
+                .andExpect(content().string(containsString("hibernate_statements_prepared ")))
+                .andExpect(content().string(containsString("cache_productDetail_size ")));
+    }
+
+    private long count(String handler) {
+        RequestMetrics.HandlerMetrics metrics = requestMetrics.getHandlers().get(handler);
+        return metrics == null ? 0 : metrics.getLatency().getCount();
+    }
+
+    private long errors(String handler) {
+        RequestMetrics.HandlerMetrics metrics = requestMetrics.getHandlers().get(handler);
+        return metrics == null ? 0 : metrics.getErrors();
+    }
+
+    private long sqlStatements(String handler) {
+        RequestMetrics.HandlerMetrics metrics = requestMetrics.getHandlers().get(handler);
+        return metrics == null ? 0 : metrics.getSqlStatements();
+    }
+}
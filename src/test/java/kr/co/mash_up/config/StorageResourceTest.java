@@ -0,0 +1,148 @@
+package kr.co.mash_up.config;
+
+import kr.co.mash_up.nine_tique.NineTiqueApplication;
+import kr.co.mash_up.nine_tique.util.CodeGeneratorUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.servlet.Filter;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static kr.co.mash_up.nine_tique.util.Constant.RestEndpoint.STORAGE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.setup.MockMvcBuilders.webAppContextSetup;
+
+@WebAppConfiguration
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = {NineTiqueApplication.class}, properties = {
+        "static.resource.location=file:${java.io.tmpdir}/nine_tique_storage_test/"})
+@ActiveProfiles(profiles = "test")
+public class StorageResourceTest {
+
+    private static final int SMALL_FILE_SIZE = 1024;
+    private static final int LARGE_FILE_SIZE = 64 * 1024;  // storage.sendfile_min_size 이상
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    private MockMvc mockMvc;
+
+    private File storageDir;
+
+    private String smallFileName;
+
+    private String largeFileName;
+
+    @Before
+    public void setup() throws Exception {
+        mockMvc = webAppContextSetup(webApplicationContext)
+                .addFilters(webApplicationContext.getBean("springSecurityFilterChain", Filter.class))
+                .build();
+
+        storageDir = new File(System.getProperty("java.io.tmpdir"), "nine_tique_storage_test");
+        File productDir = new File(storageDir, "product/1");
+        productDir.mkdirs();
+
+        smallFileName = CodeGeneratorUtil.generateFileName("small.png");
+        largeFileName = CodeGeneratorUtil.generateFileName("large.png");
+        Files.write(new File(productDir, smallFileName).toPath(), bytes(SMALL_FILE_SIZE));
+        Files.write(new File(productDir, largeFileName).toPath(), bytes(LARGE_FILE_SIZE));
+    }
+
+    @After
+    public void tearDown() {
+        FileSystemUtils.deleteRecursively(storageDir);
+    }
+
+    @Test
+    public void testImmutableCacheHeaders() throws Exception {
+        MvcResult result = mockMvc.perform(get(STORAGE + "/product/1/" + smallFileName))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"))
+                .andExpect(header().string(HttpHeaders.LAST_MODIFIED, containsString("GMT")))
+                .andExpect(content().contentTypeCompatibleWith("image/*"))
+                .andExpect(content().bytes(bytes(SMALL_FILE_SIZE)))
+                .andReturn();
+
+        String eTag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).startsWith("\"").endsWith("\"");  // strong ETag
+
+        mockMvc.perform(get(STORAGE + "/product/1/" + smallFileName).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    public void testRange() throws Exception {
+        mockMvc.perform(get(STORAGE + "/product/1/" + largeFileName).header(HttpHeaders.RANGE, "bytes=10-19"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 10-19/" + LARGE_FILE_SIZE))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("immutable")))
+                .andExpect(content().bytes(Arrays.copyOfRange(bytes(LARGE_FILE_SIZE), 10, 20)));
+    }
+
+    @Test
+    public void testSendfile() throws Exception {
+        MvcResult result = mockMvc.perform(get(STORAGE + "/product/1/" + largeFileName)
+                .requestAttr("org.apache.tomcat.sendfile.support", Boolean.TRUE))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, LARGE_FILE_SIZE))
+                .andExpect(content().bytes(new byte[0]))  // body는 Tomcat이 파일에서 바로 보낸다.
+                .andReturn();
+
+        File file = new File(storageDir, "product/1/" + largeFileName);
+        assertThat(result.getRequest().getAttribute("org.apache.tomcat.sendfile.filename")).isEqualTo(file.getCanonicalPath());
+        assertThat(result.getRequest().getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo((long) LARGE_FILE_SIZE);
+
+        // 작은 파일은 sendfile을 사용하지 않는다.
+        result = mockMvc.perform(get(STORAGE + "/product/1/" + smallFileName)
+                .requestAttr("org.apache.tomcat.sendfile.support", Boolean.TRUE))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(bytes(SMALL_FILE_SIZE)))
+                .andReturn();
+        assertThat(result.getRequest().getAttribute("org.apache.tomcat.sendfile.filename")).isNull();
+    }
+
+    @Test
+    public void testDerivativeFallbackNotCached() throws Exception {
+        // 썸네일이 아직 없으면 원본을 응답하고, 다음 요청에서 썸네일을 받도록 캐시하지 않는다.
+        mockMvc.perform(get(STORAGE + "/product/1/thumb/" + smallFileName + ".jpg"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(content().bytes(bytes(SMALL_FILE_SIZE)));
+    }
+
+    @Test
+    public void testNotFound() throws Exception {
+        mockMvc.perform(get(STORAGE + "/product/1/" + CodeGeneratorUtil.generateFileName("none.png")))
+                .andExpect(status().isNotFound());
+    }
+
+    private static byte[] bytes(int size) {
+        byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte) i;
+        }
+        return bytes;
+    }
+}
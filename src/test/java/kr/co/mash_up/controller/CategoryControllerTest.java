@@ -14,6 +14,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
@@ -22,6 +23,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
 import static kr.co.mash_up.nine_tique.util.Constant.RestEndpoint.API_CATEGORY;
+import static org.hamcrest.Matchers.notNullValue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.springframework.test.web.servlet.setup.MockMvcBuilders.standaloneSetup;
@@ -156,6 +158,19 @@ public class CategoryControllerTest {
 //        verifyNoMoreInteractions(categoryService);
     }
 
+    @Test
+    public void testListNotModified() throws Exception {
+        MvcResult result = mockMvc.perform(get(API_CATEGORY))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, notNullValue()))
+                .andReturn();
+        String eTag = result.getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(API_CATEGORY).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
     @Test
     public void testDetail() throws Exception {
         Long id = 2L;
@@ -0,0 +1,249 @@
+package kr.co.mash_up.controller;
+
+import kr.co.mash_up.builder.CategoryBuilder;
+import kr.co.mash_up.builder.ProductBuilder;
+import kr.co.mash_up.builder.ShopBuilder;
+import kr.co.mash_up.nine_tique.NineTiqueApplication;
+import kr.co.mash_up.nine_tique.config.JwtSettings;
+import kr.co.mash_up.nine_tique.domain.*;
+import kr.co.mash_up.nine_tique.repository.*;
+import kr.co.mash_up.nine_tique.security.Authorities;
+import kr.co.mash_up.nine_tique.security.JwtAuthenticationTokenFilter;
+import kr.co.mash_up.nine_tique.security.JwtTokenUtil;
+import kr.co.mash_up.nine_tique.service.ProductCardService;
+import kr.co.mash_up.nine_tique.service.ProductCountService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.servlet.Filter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static kr.co.mash_up.nine_tique.util.Constant.RestEndpoint.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.setup.MockMvcBuilders.webAppContextSetup;
+
+/**
+ * open-session-in-view를 끈 상태에서 조회 API가 service transaction 안에서 응답을 모두 조립하는지 검증
+ * transaction 밖에서 실행된 SQL(= view에서의 lazy loading)을 모아 요청이 끝난 뒤 비어 있는지 확인한다.
+ * OSIV가 켜져 있으면 transaction이 끝난 뒤에도 session이 열려 있어 lazy loading SQL이 잡히고,
+ * 꺼져 있는데 entity가 응답까지 새어 나가면 LazyInitializationException으로 200이 아니게 된다.
+ */
+@WebAppConfiguration
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = {NineTiqueApplication.class}, properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "kr.co.mash_up.controller.OpenSessionInViewDisabledTest$NonTransactionalSqlCapture"})
+@ActiveProfiles(profiles = "test")
+public class OpenSessionInViewDisabledTest {
+
+    public static final String TEST_MAIN = "OSIV_TEST_MAIN";
+    public static final String TEST_SUB = "OSIV_TEST_SUB";
+    public static final int TEST_PRODUCT_COUNT = 5;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private JwtTokenUtil jwtTokenUtil;
+
+    @Autowired
+    private JwtSettings jwtSettings;
+
+    @Autowired
+    private ProductCardService productCardService;
+
+    @Autowired
+    private ProductCountService productCountService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuthorityRepository authorityRepository;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @Autowired
+    private ZzimRepository zzimRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ShopRepository shopRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mockMvc;
+
+    private Shop testShop;
+
+    private Category testCategory;
+
+    private User testUser;
+
+    private Seller testSeller;
+
+    private Zzim testZzim;
+
+    private List<Product> testProducts;
+
+    private String authorization;
+
+    @Before
+    public void setup() {
+        mockMvc = webAppContextSetup(webApplicationContext)
+                .addFilters(webApplicationContext.getBean("springSecurityFilterChain", Filter.class))
+                .build();
+
+        testShop = shopRepository.save(new ShopBuilder()
+                .withName("osivTestShop")
+                .withInfo("info")
+                .withPhone("010-7777-8888")
+                .withEnabled(true)
+                .build());
+        testCategory = categoryRepository.save(new CategoryBuilder()
+                .withMain(TEST_MAIN)
+                .withSub(TEST_SUB)
+                .withEnable(true)
+                .build());
+
+        User user = new User("osivTestOauthToken", User.OauthType.KAKAO, new HashSet<>());
+        user.addAuthority(authorityRepository.findByAuthority(Authorities.USER));
+        user.addAuthority(authorityRepository.findByAuthority(Authorities.SELLER));
+        user.addAuthority(authorityRepository.findByAuthority(Authorities.ADMIN));  // 매장 조회
+        testUser = userRepository.save(user);
+
+        testProducts = new ArrayList<>();
+        for (int i = 0; i < TEST_PRODUCT_COUNT; i++) {
+            testProducts.add(productRepository.save(new ProductBuilder()
+                    .withName("osivProduct" + i)
+                    .withEnabled(true)
+                    .withShop(testShop)
+                    .withCategory(testCategory)
+                    .build()));
+        }
+
+        testSeller = sellerRepository.save(new Seller(testShop, testUser));
+        testZzim = zzimRepository.save(new Zzim(testUser));
+
+        // detached 상품을 cascade로 merge하지 않도록 연결 row는 직접 insert
+        testProducts.forEach(product -> {
+            jdbcTemplate.update("INSERT INTO seller_product (seller_id, product_id, enabled, created_at, updated_at) "
+                    + "VALUES (?, ?, TRUE, NOW(), NOW())", testSeller.getId(), product.getId());
+            jdbcTemplate.update("INSERT INTO zzim_product (zzim_id, product_id, enabled, created_at, updated_at) "
+                    + "VALUES (?, ?, TRUE, NOW(), NOW())", testZzim.getId(), product.getId());
+        });
+        productCardService.refresh(testProducts.stream().map(Product::getId).collect(Collectors.toList()));
+        productCountService.invalidate();
+
+        authorization = JwtAuthenticationTokenFilter.HEADER_PREFIX + jwtTokenUtil.generateToken(testUser);
+    }
+
+    @After
+    public void tearDown() {
+        List<Long> productIds = testProducts.stream().map(Product::getId).collect(Collectors.toList());
+
+        productCardService.remove(productIds);
+        jdbcTemplate.update("DELETE FROM zzim_product WHERE zzim_id = ?", testZzim.getId());
+        jdbcTemplate.update("DELETE FROM seller_product WHERE seller_id = ?", testSeller.getId());
+        jdbcTemplate.update("DELETE FROM zzim WHERE id = ?", testZzim.getId());
+        jdbcTemplate.update("DELETE FROM seller WHERE id = ?", testSeller.getId());
+        productIds.forEach(productId -> jdbcTemplate.update("DELETE FROM product WHERE id = ?", productId));
+        userRepository.delete(testUser.getId());
+        categoryRepository.delete(testCategory.getId());
+        shopRepository.delete(testShop.getId());
+        productCountService.invalidate();
+    }
+
+    @Test
+    public void testOpenSessionInViewDisabled() {
+        assertThat(webApplicationContext.getBeansOfType(OpenEntityManagerInViewInterceptor.class)).isEmpty();
+    }
+
+    @Test
+    public void testProductResponsesAssembledInTransaction() throws Exception {
+        Long productId = testProducts.get(0).getId();
+
+        assertNoSqlOutsideTransaction(API_PRODUCT + "?mainCategory=" + TEST_MAIN + "&subCategory=" + TEST_SUB,
+                TEST_PRODUCT_COUNT);
+        assertNoSqlOutsideTransaction(API_PRODUCT + "/" + productId, -1);
+        assertNoSqlOutsideTransaction(API_ZZIM, TEST_PRODUCT_COUNT);
+        assertNoSqlOutsideTransaction(API_SELLER + "/products", TEST_PRODUCT_COUNT);
+    }
+
+    @Test
+    public void testSellerAndShopResponsesAssembledInTransaction() throws Exception {
+        assertNoSqlOutsideTransaction(API_SELLER, -1);
+        assertNoSqlOutsideTransaction(API_SHOP, -1);
+        assertNoSqlOutsideTransaction(API_SHOP + "/" + testShop.getId(), -1);
+        assertNoSqlOutsideTransaction(API_CATEGORY + "/" + testCategory.getId(), -1);
+    }
+
+    /**
+     * @param url           조회 url
+     * @param expectedCount 목록 조회면 list 크기, 아니면 -1
+     */
+    private void assertNoSqlOutsideTransaction(String url, int expectedCount) throws Exception {
+        NonTransactionalSqlCapture.start();
+        try {
+            mockMvc.perform(get(url).header(jwtSettings.getTokenHeader(), authorization))
+                    .andExpect(status().isOk())
+                    .andExpect(expectedCount < 0 ? result -> { } : jsonPath("$.list", hasSize(expectedCount)));
+        } finally {
+            assertThat(NonTransactionalSqlCapture.stop()).as(url).isEmpty();
+        }
+    }
+
+    /**
+     * 현재 thread에서 Spring transaction 밖에서 실행된 SQL만 모은다.
+     */
+    public static class NonTransactionalSqlCapture implements StatementInspector {
+
+        private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+        static void start() {
+            CAPTURED.set(new ArrayList<>());
+        }
+
+        static List<String> stop() {
+            List<String> captured = CAPTURED.get();
+            CAPTURED.remove();
+            return captured;
+        }
+
+        @Override
+        public String inspect(String sql) {
+            List<String> captured = CAPTURED.get();
+            if (captured != null && !TransactionSynchronizationManager.isActualTransactionActive()) {
+                captured.add(sql);
+            }
+            return sql;
+        }
+    }
+}
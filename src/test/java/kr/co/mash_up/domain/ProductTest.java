@@ -0,0 +1,107 @@
+package kr.co.mash_up.domain;
+
+import kr.co.mash_up.builder.CategoryBuilder;
+import kr.co.mash_up.builder.ProductBuilder;
+import kr.co.mash_up.builder.ShopBuilder;
+import kr.co.mash_up.nine_tique.NineTiqueApplication;
+import kr.co.mash_up.nine_tique.domain.Category;
+import kr.co.mash_up.nine_tique.domain.Product;
+import kr.co.mash_up.nine_tique.domain.Shop;
+import kr.co.mash_up.nine_tique.exception.InvalidParameterException;
+import kr.co.mash_up.nine_tique.repository.CategoryRepository;
+import kr.co.mash_up.nine_tique.repository.ProductRepository;
+import kr.co.mash_up.nine_tique.repository.ShopRepository;
+import kr.co.mash_up.nine_tique.vo.ProductCursor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = {NineTiqueApplication.class})
+@ActiveProfiles(profiles = "test")
+public class ProductTest {
+
+    public static final String TEST_MAIN = "productTestMain";
+    public static final String TEST_SUB = "productTestSub";
+    public static final int TEST_PRODUCT_COUNT = 25;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ShopRepository shopRepository;
+
+    private Shop testShop;
+
+    private Category testCategory;
+
+    private List<Product> testProducts;
+
+    @Before
+    public void setup() {
+        testShop = shopRepository.save(new ShopBuilder()
+                .withName("productTestShop")
+                .withInfo("info")
+                .withPhone("010-1234-5678")
+                .withEnabled(true)
+                .build());
+
+        testCategory = categoryRepository.save(new CategoryBuilder()
+                .withMain(TEST_MAIN)
+                .withSub(TEST_SUB)
+                .withEnable(true)
+                .build());
+
+        testProducts = new ArrayList<>();
+        for (int i = 0; i < TEST_PRODUCT_COUNT; i++) {
+            Product product = new ProductBuilder()
+                    .withName("product" + i)
+                    .withStatus(i % 3 == 0 ? Product.Status.SOLD_OUT : Product.Status.SELL)
+                    .withEnabled(i != 7)
+                    .withShop(testShop)
+                    .withCategory(testCategory)
+                    .build();
+            testProducts.add(productRepository.save(product));
+        }
+    }
+
+    @After
+    public void tearDown() {
+        testProducts.forEach(product -> productRepository.delete(product.getId()));
+        categoryRepository.delete(testCategory.getId());
+        shopRepository.delete(testShop.getId());
+    }
+
+    @Test
+    public void testCursorEncodeAndDecode() {
+        // given
+        Product product = testProducts.get(0);
+
+        // when
+        ProductCursor cursor = ProductCursor.decode(ProductCursor.of(product).encode());
+
+        // then
+        assertThat(cursor.getStatus()).isEqualTo(product.getStatus());
+        assertThat(cursor.getCreatedAt()).isEqualTo(product.getCreatedAt());
+        assertThat(cursor.getId()).isEqualTo(product.getId());
+        assertThat(ProductCursor.decode("")).isNull();
+    }
+
+    @Test(expected = InvalidParameterException.class)
+    public void testDecodeInvalidCursor() {
+        ProductCursor.decode("invalid-cursor");
+    }
+}
@@ -0,0 +1,437 @@
+package kr.co.mash_up.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import kr.co.mash_up.nine_tique.NineTiqueApplication;
+import kr.co.mash_up.nine_tique.util.FileUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.embedded.EmbeddedWebApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.LongStream;
+
+import static kr.co.mash_up.nine_tique.util.Constant.RestEndpoint.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 생성한 데이터로 서버를 띄우고 API 요청 비율대로 부하를 준 뒤 endpoint별 p50/p95/p99 latency가 SLO 안에 있는지 확인
+ * 설정(데이터 크기, 가상 유저 수, 요청 비율, SLO)은 loadtest.properties. 결과는 로그와 loadtest.report_file(json)에 남긴다.
+ * 시간이 오래 걸리므로 test task에서는 제외, ./gradlew loadTest 로 실행
+ */
+@Slf4j
+public class ApiLoadTest {
+
+    private static final String BOUNDARY = "----9tiqueLoadTestBoundary";
+    private static final int PAGE_SIZE = 20;
+
+    /**
+     * 부하를 주는 endpoint. key는 loadtest.mix.*, loadtest.slo.* 의 이름
+     */
+    enum Endpoint {
+        PRODUCT_LIST("products.list", "GET " + API_PRODUCT),
+        PRODUCT_DETAIL("products.detail", "GET " + API_PRODUCT + "/{id}"),
+        ZZIM_LIST("zzims.list", "GET " + API_ZZIM),
+        ZZIM_ADD("zzims.add", "POST " + API_ZZIM),
+        IMAGE_UPLOAD("product_images.upload", "POST " + API_PRODUCT_IMAGE);
+
+        private final String key;
+
+        private final String description;
+
+        Endpoint(String key, String description) {
+            this.key = key;
+            this.description = description;
+        }
+    }
+
+    private final LoadTestSettings settings = new LoadTestSettings();
+
+    @Test
+    public void apiMixWithinSlo() throws Exception {
+        int virtualUsers = settings.getInt("virtual_users");
+        System.setProperty("http.maxConnections", String.valueOf(virtualUsers));  // 가상 유저마다 keep-alive connection 유지
+
+        File storageDir = Files.createTempDirectory("9tique-loadtest-storage").toFile();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(NineTiqueApplication.class)
+                .profiles("test")
+                .properties("server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:nine_tique_loadtest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.jpa.show-sql=false",
+                        "storage.path=" + storageDir.getPath(),
+                        "logging.level.kr.co.mash_up.nine_tique=warn")
+                .run()) {
+            CatalogSeeder.SeededCatalog catalog = new CatalogSeeder(context, settings).seed();
+            String baseUrl = "http://localhost:" + ((EmbeddedWebApplicationContext) context).getEmbeddedServletContainer().getPort();
+            Scenario scenario = new Scenario(baseUrl, catalog, imageBytes());
+
+            scenario.run(virtualUsers, settings.getInt("warmup_seconds"));
+            Map<Endpoint, Result> results = scenario.run(virtualUsers, settings.getInt("measure_seconds"));
+
+            List<String> breaches = checkSlo(results);
+            log.info(report(results, virtualUsers));
+            writeReport(results, virtualUsers, breaches);
+
+            assertThat(breaches).as("SLO breaches").isEmpty();
+        } finally {
+            FileUtil.deleteDir(storageDir.getPath());
+        }
+    }
+
+    private List<String> checkSlo(Map<Endpoint, Result> results) {
+        double maxErrorRate = settings.getDouble("slo.error_rate");
+        List<String> breaches = new ArrayList<>();
+        results.forEach((endpoint, result) -> {
+            double p95Slo = settings.getDouble("slo." + endpoint.key + ".p95");
+            double p99Slo = settings.getDouble("slo." + endpoint.key + ".p99");
+            if (result.getP95() > p95Slo) {
+                breaches.add(String.format("%s p95 %.1fms > %.1fms", endpoint.key, result.getP95(), p95Slo));
+            }
+            if (result.getP99() > p99Slo) {
+                breaches.add(String.format("%s p99 %.1fms > %.1fms", endpoint.key, result.getP99(), p99Slo));
+            }
+            if (result.getErrorRate() > maxErrorRate) {
+                breaches.add(String.format("%s error rate %.4f > %.4f", endpoint.key, result.getErrorRate(), maxErrorRate));
+            }
+        });
+        return breaches;
+    }
+
+    private String report(Map<Endpoint, Result> results, int virtualUsers) {
+        int seconds = settings.getInt("measure_seconds");
+        StringBuilder report = new StringBuilder(String.format("%n%d virtual users, %d seconds, %s products, %s users%n",
+                virtualUsers, seconds, settings.get("seed.products"), settings.get("seed.users")));
+        report.append(String.format("%-28s %8s %8s %7s %9s %9s %9s %9s %13s%n",
+                "endpoint", "count", "req/s", "errors", "p50(ms)", "p95(ms)", "p99(ms)", "max(ms)", "slo p95/p99"));
+        results.forEach((endpoint, result) -> report.append(String.format("%-28s %8d %8.1f %7d %9.2f %9.2f %9.2f %9.2f %6s/%-6s%n",
+                endpoint.description, result.getCount(), (double) result.getCount() / seconds, result.getErrors(),
+                result.getP50(), result.getP95(), result.getP99(), result.getMax(),
+                settings.get("slo." + endpoint.key + ".p95"), settings.get("slo." + endpoint.key + ".p99"))));
+        return report.toString();
+    }
+
+    /**
+     * release마다 비교할 수 있도록 결과를 json으로 남긴다.
+     */
+    private void writeReport(Map<Endpoint, Result> results, int virtualUsers, List<String> breaches) throws IOException {
+        File reportFile = new File(settings.get("report_file", "build/reports/loadtest/results.json"));
+        reportFile.getAbsoluteFile().getParentFile().mkdirs();
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        results.forEach((endpoint, result) -> {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("count", result.getCount());
+            values.put("errors", result.getErrors());
+            values.put("p50_ms", result.getP50());
+            values.put("p95_ms", result.getP95());
+            values.put("p99_ms", result.getP99());
+            values.put("max_ms", result.getMax());
+            values.put("slo_p95_ms", settings.getDouble("slo." + endpoint.key + ".p95"));
+            values.put("slo_p99_ms", settings.getDouble("slo." + endpoint.key + ".p99"));
+            endpoints.put(endpoint.key, values);
+        });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("virtual_users", virtualUsers);
+        report.put("measure_seconds", settings.getInt("measure_seconds"));
+        report.put("products", settings.getInt("seed.products"));
+        report.put("users", settings.getInt("seed.users"));
+        report.put("endpoints", endpoints);
+        report.put("breaches", breaches);
+
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportFile, report);
+        log.info("load test report: " + reportFile.getAbsolutePath());
+    }
+
+    /**
+     * 상품 사진 크기의 jpeg. 업로드 후 썸네일/압축본 생성까지 실제와 같은 비용이 들도록 노이즈를 섞는다.
+     */
+    private static byte[] imageBytes() throws IOException {
+        Random random = new Random(9);
+        BufferedImage image = new BufferedImage(1080, 1440, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                image.setRGB(x, y, ((x * 255 / image.getWidth()) << 16) | ((y * 255 / image.getHeight()) << 8) | random.nextInt(64));
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", out);
+        return out.toByteArray();
+    }
+
+    /**
+     * 가상 유저마다 thread 1개로 요청 비율에 따라 endpoint를 고르고, 응답을 받자마자 다음 요청을 보낸다.(closed model)
+     * 가상 유저는 시드 유저를 나눠 가지므로 같은 유저의 찜 목록을 동시에 바꾸지 않는다.
+     */
+    private class Scenario {
+
+        private final String baseUrl;
+
+        private final CatalogSeeder.SeededCatalog catalog;
+
+        private final byte[] image;
+
+        private final Endpoint[] endpoints = Endpoint.values();
+
+        private final int[] cumulativeWeights = new int[endpoints.length];
+
+        Scenario(String baseUrl, CatalogSeeder.SeededCatalog catalog, byte[] image) {
+            this.baseUrl = baseUrl;
+            this.catalog = catalog;
+            this.image = image;
+
+            int sum = 0;
+            for (int i = 0; i < endpoints.length; i++) {
+                sum += settings.getInt("mix." + endpoints[i].key);
+                cumulativeWeights[i] = sum;
+            }
+        }
+
+        Map<Endpoint, Result> run(int virtualUsers, int seconds) throws InterruptedException {
+            long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+            CountDownLatch done = new CountDownLatch(virtualUsers);
+            List<VirtualUser> users = new ArrayList<>();
+
+            for (int i = 0; i < virtualUsers; i++) {
+                VirtualUser user = new VirtualUser(i, virtualUsers);
+                users.add(user);
+                Thread thread = new Thread(null, () -> {
+                    try {
+                        user.run(deadline);
+                    } finally {
+                        done.countDown();
+                    }
+                }, "load-user-" + i, 256 * 1024);
+                thread.setDaemon(true);
+                thread.start();
+            }
+            done.await();
+
+            Map<Endpoint, Result> results = new EnumMap<>(Endpoint.class);
+            for (Endpoint endpoint : endpoints) {
+                long[] sorted = users.stream()
+                        .flatMapToLong(user -> user.latencies.get(endpoint).build())
+                        .sorted()
+                        .toArray();
+                long errors = users.stream().mapToLong(user -> user.errors.get(endpoint)[0]).sum();
+                results.put(endpoint, new Result(sorted, errors));
+            }
+            return results;
+        }
+
+        private class VirtualUser {
+
+            private final Random random;
+
+            private final List<CatalogSeeder.SeededCatalog.SeededUser> seededUsers = new ArrayList<>();
+
+            private final List<CatalogSeeder.SeededCatalog.SeededUser> sellers = new ArrayList<>();
+
+            private final Map<Endpoint, LongStream.Builder> latencies = new EnumMap<>(Endpoint.class);
+
+            private final Map<Endpoint, long[]> errors = new EnumMap<>(Endpoint.class);
+
+            VirtualUser(int index, int virtualUsers) {
+                random = new Random(index);
+                List<CatalogSeeder.SeededCatalog.SeededUser> all = catalog.getUsers();
+                for (int u = index; u < all.size(); u += virtualUsers) {
+                    seededUsers.add(all.get(u));
+                }
+                all.stream().filter(CatalogSeeder.SeededCatalog.SeededUser::isSeller).forEach(sellers::add);
+                for (Endpoint endpoint : endpoints) {
+                    latencies.put(endpoint, LongStream.builder());
+                    errors.put(endpoint, new long[1]);
+                }
+            }
+
+            void run(long deadline) {
+                while (System.nanoTime() < deadline) {
+                    Endpoint endpoint = nextEndpoint();
+                    CatalogSeeder.SeededCatalog.SeededUser user = endpoint == Endpoint.IMAGE_UPLOAD
+                            ? sellers.get(random.nextInt(sellers.size()))
+                            : seededUsers.get(random.nextInt(seededUsers.size()));
+
+                    long start = System.nanoTime();
+                    if (request(endpoint, user)) {
+                        latencies.get(endpoint).add(System.nanoTime() - start);
+                    } else {
+                        errors.get(endpoint)[0]++;
+                    }
+                }
+            }
+
+            private Endpoint nextEndpoint() {
+                int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+                for (int i = 0; i < cumulativeWeights.length; i++) {
+                    if (pick < cumulativeWeights[i]) {
+                        return endpoints[i];
+                    }
+                }
+                return endpoints[endpoints.length - 1];
+            }
+
+            private boolean request(Endpoint endpoint, CatalogSeeder.SeededCatalog.SeededUser user) {
+                switch (endpoint) {
+                    case PRODUCT_LIST:
+                        return send("GET", API_PRODUCT + listQuery(), user, null);
+                    case PRODUCT_DETAIL:
+                        return send("GET", API_PRODUCT + "/" + catalog.popularProductId(random), user, null);
+                    case ZZIM_LIST:
+                        return send("GET", API_ZZIM + "?pageNo=0&pageSize=" + PAGE_SIZE, user, null);
+                    case ZZIM_ADD:
+                        return addZzim(user);
+                    case IMAGE_UPLOAD:
+                        return send("POST", API_PRODUCT_IMAGE, user, image);
+                    default:
+                        throw new IllegalArgumentException(endpoint.name());
+                }
+            }
+
+            /**
+             * 40%는 최신 상품(NEW), 나머지는 메인 또는 서브 카테고리. 대부분 첫 페이지, 일부는 2 ~ 5 페이지
+             */
+            private String listQuery() {
+                String mainCategory = "NEW";
+                String subCategory = "ALL";
+                if (random.nextInt(10) >= 4) {
+                    Object[] category = catalog.getCategories().get(random.nextInt(catalog.getCategories().size()));
+                    mainCategory = (String) category[1];
+                    subCategory = random.nextBoolean() ? "ALL" : (String) category[2];
+                }
+                int pageNo = random.nextInt(10) < 7 ? 0 : 1 + random.nextInt(4);
+                return "?mainCategory=" + mainCategory + "&subCategory=" + subCategory
+                        + "&pageNo=" + pageNo + "&pageSize=" + PAGE_SIZE;
+            }
+
+            /**
+             * 인기 상품 중 아직 찜하지 않은 상품을 찜한다.
+             */
+            private boolean addZzim(CatalogSeeder.SeededCatalog.SeededUser user) {
+                long productId = catalog.popularProductId(random);
+                while (user.getZzimProductIds().contains(productId)) {
+                    productId = catalog.popularProductId(random);
+                }
+                if (!send("POST", API_ZZIM + "?product_id=" + productId, user, null)) {
+                    return false;
+                }
+                user.getZzimProductIds().add(productId);
+                return true;
+            }
+
+            private boolean send(String method, String path, CatalogSeeder.SeededCatalog.SeededUser user, byte[] file) {
+                HttpURLConnection connection = null;
+                try {
+                    connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+                    connection.setRequestMethod(method);
+                    connection.setConnectTimeout(settings.getInt("timeout_millis"));
+                    connection.setReadTimeout(settings.getInt("timeout_millis"));
+                    connection.setRequestProperty("Authorization", "Bearer " + user.getToken());
+                    if (file != null) {
+                        writeMultipart(connection, file);
+                    }
+
+                    int status = connection.getResponseCode();
+                    if (status / 100 != 2) {
+                        drain(connection.getErrorStream());
+                        return false;
+                    }
+                    drain(connection.getInputStream());  // 끝까지 읽어야 connection을 재사용한다.
+                    return true;
+                } catch (IOException e) {
+                    if (connection != null) {
+                        connection.disconnect();
+                    }
+                    return false;
+                }
+            }
+
+            private void writeMultipart(HttpURLConnection connection, byte[] file) throws IOException {
+                byte[] head = ("--" + BOUNDARY + "\r\n"
+                        + "Content-Disposition: form-data; name=\"files\"; filename=\"loadtest.jpg\"\r\n"
+                        + "Content-Type: image/jpeg\r\n\r\n").getBytes(StandardCharsets.UTF_8);
+                byte[] tail = ("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8);
+
+                connection.setDoOutput(true);
+                connection.setRequestProperty("Content-Type", "multipart/form-data; boundary=" + BOUNDARY);
+                connection.setFixedLengthStreamingMode(head.length + file.length + tail.length);
+                try (OutputStream out = connection.getOutputStream()) {
+                    out.write(head);
+                    out.write(file);
+                    out.write(tail);
+                }
+            }
+        }
+    }
+
+    private static void drain(InputStream inputStream) throws IOException {
+        if (inputStream != null) {
+            try (InputStream in = inputStream) {
+                IOUtils.skip(in, Long.MAX_VALUE);
+            }
+        }
+    }
+
+    private static class Result {
+
+        private final long[] sortedNanos;
+
+        private final long errors;
+
+        Result(long[] sortedNanos, long errors) {
+            this.sortedNanos = sortedNanos;
+            this.errors = errors;
+        }
+
+        long getCount() {
+            return sortedNanos.length;
+        }
+
+        long getErrors() {
+            return errors;
+        }
+
+        double getErrorRate() {
+            long total = sortedNanos.length + errors;
+            return total == 0 ? 0 : (double) errors / total;
+        }
+
+        double getP50() {
+            return percentile(0.50);
+        }
+
+        double getP95() {
+            return percentile(0.95);
+        }
+
+        double getP99() {
+            return percentile(0.99);
+        }
+
+        double getMax() {
+            return sortedNanos.length == 0 ? 0 : sortedNanos[sortedNanos.length - 1] / 1_000_000.0;
+        }
+
+        private double percentile(double percentile) {
+            if (sortedNanos.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+            return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package kr.co.mash_up.loadtest;
+
+import kr.co.mash_up.nine_tique.domain.Authority;
+import kr.co.mash_up.nine_tique.domain.User;
+import kr.co.mash_up.nine_tique.repository.AuthorityRepository;
+import kr.co.mash_up.nine_tique.security.Authorities;
+import kr.co.mash_up.nine_tique.security.JwtTokenUtil;
+import kr.co.mash_up.nine_tique.service.CategoryRegistry;
+import kr.co.mash_up.nine_tique.service.ProductCardService;
+import kr.co.mash_up.nine_tique.service.ProductCountService;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 부하 테스트용 데이터 생성
+ * 매장, 상품(+ 이미지, 판매자 상품), 유저(+ 찜)를 JDBC batch insert로 넣고 상품 카드를 다시 만든다.
+ * 상품 인기도는 zipf 분포, 유저당 찜 수는 pareto 분포를 따른다. 같은 random_seed면 같은 데이터가 만들어진다.
+ * <p>
+ * id는 import.sql, 앱이 생성하는 id와 겹치지 않도록 ID_START부터 사용한다.
+ */
+@Slf4j
+public class CatalogSeeder {
+
+    public static final long ID_START = 1_000_000L;
+
+    private static final int BATCH_SIZE = 5_000;
+    private static final int CREATED_AT_RANGE_DAYS = 90;
+    private static final String[] BRANDS = {"Burberry", "Polo", "Levi's", "Nike", "Adidas", "Uniqlo", "Zara", "Vintage"};
+    private static final String[] SIZES = {"XS", "S", "M", "L", "XL", "FREE"};
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ApplicationContext context;
+
+    private final LoadTestSettings settings;
+
+    private final Random random;
+
+    public CatalogSeeder(ApplicationContext context, LoadTestSettings settings) {
+        this.context = context;
+        this.jdbcTemplate = context.getBean(JdbcTemplate.class);
+        this.settings = settings;
+        this.random = new Random(settings.getLong("seed.random_seed"));
+    }
+
+    public SeededCatalog seed() {
+        long start = System.currentTimeMillis();
+
+        int productCount = settings.getInt("seed.products");
+        int userCount = settings.getInt("seed.users");
+        int productsPerShop = settings.getInt("seed.products_per_shop");
+        int shopCount = (productCount + productsPerShop - 1) / productsPerShop;
+
+        List<Object[]> categories = jdbcTemplate.query("SELECT id, main, sub FROM category WHERE enabled = TRUE ORDER BY id",
+                (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getString(2), rs.getString(3)});
+
+        insertShops(shopCount);
+        insertProducts(productCount, productsPerShop, categories);
+        insertUsers(userCount, shopCount);
+
+        // 인기 순위 -> 상품 id. 최신 상품만 인기가 많지 않도록 섞는다.
+        long[] popularity = new long[productCount];
+        for (int i = 0; i < productCount; i++) {
+            popularity[i] = ID_START + i;
+        }
+        for (int i = productCount - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long tmp = popularity[i];
+            popularity[i] = popularity[j];
+            popularity[j] = tmp;
+        }
+        ZipfSampler zipfSampler = new ZipfSampler(productCount, settings.getDouble("seed.zipf_exponent"));
+
+        List<Set<Long>> zzimProductIds = insertZzims(userCount, popularity, zipfSampler);
+        log.info("seeded {} shops, {} products, {} users in {} ms", shopCount, productCount, userCount,
+                System.currentTimeMillis() - start);
+
+        long rebuildStart = System.currentTimeMillis();
+        context.getBean(ProductCardService.class).rebuildAll();
+        context.getBean(ProductCountService.class).invalidate();
+        context.getBean(CategoryRegistry.class).refresh();
+        log.info("rebuilt product cards in {} ms", System.currentTimeMillis() - rebuildStart);
+
+        return new SeededCatalog(categories, popularity, zipfSampler,
+                tokens(userCount, shopCount, zzimProductIds), shopCount);
+    }
+
+    private void insertShops(int shopCount) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>();
+        for (int s = 0; s < shopCount; s++) {
+            rows.add(new Object[]{ID_START + s, "shop" + s, "빈티지 셀렉샵 " + s, String.format("010-%08d", s), true, now, now});
+        }
+        batchInsert("INSERT INTO shop(id, name, info, phone, enabled, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private void insertProducts(int productCount, int productsPerShop, List<Object[]> categories) {
+        int imagesPerProduct = settings.getInt("seed.images_per_product");
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Object[]> products = new ArrayList<>();
+        List<Object[]> images = new ArrayList<>();
+        for (int i = 0; i < productCount; i++) {
+            long productId = ID_START + i;
+            long shopId = ID_START + i / productsPerShop;
+            Timestamp createdAt = Timestamp.valueOf(now.minusSeconds(random.nextInt(CREATED_AT_RANGE_DAYS * 24 * 3600)));
+            Object[] category = categories.get(random.nextInt(categories.size()));
+
+            products.add(new Object[]{productId, "product" + i, BRANDS[random.nextInt(BRANDS.length)],
+                    SIZES[random.nextInt(SIZES.length)], 5_000 + random.nextInt(200) * 1_000,
+                    "load test product " + i, random.nextInt(5) == 0 ? "SOLD_OUT" : "SELL", true,
+                    createdAt, createdAt, category[0], shopId});
+            for (int k = 0; k < imagesPerProduct; k++) {
+                images.add(new Object[]{"seed_" + productId + "_" + k + ".jpg", "original.jpg", 150_000, true,
+                        productId, createdAt, createdAt});
+            }
+
+            if (products.size() == BATCH_SIZE) {
+                flushProducts(products, images);
+            }
+        }
+        flushProducts(products, images);
+    }
+
+    private void flushProducts(List<Object[]> products, List<Object[]> images) {
+        batchInsert("INSERT INTO product(id, name, brand_name, size, price, description, status, enabled, "
+                + "created_at, updated_at, category_id, shop_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", products);
+        batchInsert("INSERT INTO product_image(file_name, original_file_name, size, enabled, product_id, "
+                + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)", images);
+    }
+
+    /**
+     * 유저마다 USER 권한, 앞의 shopCount명은 매장 판매자(SELLER). 판매자 id는 매장 id와 같다.
+     */
+    private void insertUsers(int userCount, int shopCount) {
+        Long userAuthorityId = jdbcTemplate.queryForObject("SELECT id FROM authority WHERE authority = ?", Long.class, Authorities.USER);
+        Long sellerAuthorityId = jdbcTemplate.queryForObject("SELECT id FROM authority WHERE authority = ?", Long.class, Authorities.SELLER);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> userAuthorities = new ArrayList<>();
+        for (int u = 0; u < userCount; u++) {
+            long userId = ID_START + u;
+            users.add(new Object[]{userId, "user" + u, "user" + u + "@loadtest.com", "loadTestOauthToken" + u, "KAKAO", now, now});
+            userAuthorities.add(new Object[]{userId, userAuthorityId});
+            if (u < shopCount) {
+                userAuthorities.add(new Object[]{userId, sellerAuthorityId});
+            }
+        }
+        batchInsert("INSERT INTO user(id, name, email, oauth_token, oauth_type, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)", users);
+        batchInsert("INSERT INTO user_authority(user_id, authority_id) VALUES (?, ?)", userAuthorities);
+
+        List<Object[]> sellers = new ArrayList<>();
+        for (int s = 0; s < shopCount && s < userCount; s++) {
+            sellers.add(new Object[]{ID_START + s, "loadtest-" + s, ID_START + s, ID_START + s, true, now, now});
+        }
+        batchInsert("INSERT INTO seller(id, authenti_code, shop_id, user_id, enabled, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)", sellers);
+        jdbcTemplate.update("INSERT INTO seller_product(seller_id, product_id, enabled, created_at, updated_at) "
+                + "SELECT shop_id, id, TRUE, created_at, updated_at FROM product WHERE id >= ? AND shop_id < ?",
+                ID_START, ID_START + sellers.size());
+    }
+
+    /**
+     * ZzimService는 유저 id로 찜 목록을 찾으므로 찜 id는 유저 id와 같게 넣는다.
+     *
+     * @return 유저별 찜한 상품 id
+     */
+    private List<Set<Long>> insertZzims(int userCount, long[] popularity, ZipfSampler zipfSampler) {
+        double alpha = settings.getDouble("seed.zzim_pareto_alpha");
+        int maxPerUser = Math.min(settings.getInt("seed.zzim_max_per_user"), popularity.length);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> zzims = new ArrayList<>();
+        List<Object[]> zzimProducts = new ArrayList<>();
+        List<Set<Long>> zzimProductIds = new ArrayList<>(userCount);
+        for (int u = 0; u < userCount; u++) {
+            long userId = ID_START + u;
+            zzims.add(new Object[]{userId, userId, now, now});
+
+            // pareto(x_m = 1): 1 / U^(1/alpha) - 1 -> 0개부터 시작
+            int count = (int) Math.min(maxPerUser, Math.floor(1 / Math.pow(1 - random.nextDouble(), 1 / alpha)) - 1);
+            Set<Long> productIds = new HashSet<>();
+            while (productIds.size() < count) {
+                productIds.add(popularity[zipfSampler.sample(random)]);
+            }
+            productIds.forEach(productId -> zzimProducts.add(new Object[]{userId, productId, true, now, now}));
+            zzimProductIds.add(Collections.synchronizedSet(productIds));
+        }
+        batchInsert("INSERT INTO zzim(id, user_id, created_at, updated_at) VALUES (?, ?, ?, ?)", zzims);
+        batchInsert("INSERT INTO zzim_product(zzim_id, product_id, enabled, created_at, updated_at) VALUES (?, ?, ?, ?, ?)", zzimProducts);
+        log.info("seeded {} zzims", zzimProducts.size());
+        return zzimProductIds;
+    }
+
+    private List<SeededCatalog.SeededUser> tokens(int userCount, int shopCount, List<Set<Long>> zzimProductIds) {
+        AuthorityRepository authorityRepository = context.getBean(AuthorityRepository.class);
+        Authority user = authorityRepository.findByAuthority(Authorities.USER);
+        Authority seller = authorityRepository.findByAuthority(Authorities.SELLER);
+        JwtTokenUtil jwtTokenUtil = context.getBean(JwtTokenUtil.class);
+
+        List<SeededCatalog.SeededUser> users = new ArrayList<>(userCount);
+        for (int u = 0; u < userCount; u++) {
+            User entity = new User("loadTestOauthToken" + u, User.OauthType.KAKAO, new HashSet<>());
+            entity.setId(ID_START + u);
+            entity.addAuthority(user);
+            if (u < shopCount) {
+                entity.addAuthority(seller);
+            }
+            users.add(new SeededCatalog.SeededUser(entity.getId(), jwtTokenUtil.generateToken(entity), u < shopCount,
+                    zzimProductIds.get(u)));
+        }
+        return users;
+    }
+
+    private void batchInsert(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+        rows.clear();
+    }
+
+    /**
+     * 생성된 데이터 중 부하 시나리오가 사용하는 값
+     */
+    @Getter
+    public static class SeededCatalog {
+
+        private final List<Object[]> categories;  // id, main, sub
+
+        private final long[] popularity;  // 인기 순위 -> 상품 id
+
+        private final ZipfSampler zipfSampler;
+
+        private final List<SeededUser> users;
+
+        private final int sellerCount;
+
+        SeededCatalog(List<Object[]> categories, long[] popularity, ZipfSampler zipfSampler, List<SeededUser> users,
+                      int sellerCount) {
+            this.categories = categories;
+            this.popularity = popularity;
+            this.zipfSampler = zipfSampler;
+            this.users = users;
+            this.sellerCount = sellerCount;
+        }
+
+        public long popularProductId(Random random) {
+            return popularity[zipfSampler.sample(random)];
+        }
+
+        @Getter
+        public static class SeededUser {
+
+            private final Long id;
+
+            private final String token;
+
+            private final boolean seller;
+
+            private final Set<Long> zzimProductIds;
+
+            SeededUser(Long id, String token, boolean seller, Set<Long> zzimProductIds) {
+                this.id = id;
+                this.token = token;
+                this.seller = seller;
+                this.zzimProductIds = zzimProductIds;
+            }
+        }
+    }
+}
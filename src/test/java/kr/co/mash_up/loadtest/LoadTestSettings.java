@@ -0,0 +1,56 @@
+package kr.co.mash_up.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * loadtest.properties + -Dloadtest.* system property
+ */
+public class LoadTestSettings {
+
+    private static final String RESOURCE = "/loadtest.properties";
+    private static final String PREFIX = "loadtest.";
+
+    private final Properties properties = new Properties();
+
+    public LoadTestSettings() {
+        try (InputStream in = LoadTestSettings.class.getResourceAsStream(RESOURCE)) {
+            properties.load(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("can not read " + RESOURCE, e);
+        }
+
+        System.getProperties().stringPropertyNames().stream()
+                .filter(key -> key.startsWith(PREFIX))
+                .forEach(key -> properties.setProperty(key, System.getProperty(key)));
+    }
+
+    public int getInt(String key) {
+        return Integer.parseInt(get(key));
+    }
+
+    public long getLong(String key) {
+        return Long.parseLong(get(key));
+    }
+
+    public double getDouble(String key) {
+        return Double.parseDouble(get(key));
+    }
+
+    /**
+     * @param key loadtest. 을 뺀 key
+     * @return 설정값
+     */
+    public String get(String key) {
+        String value = properties.getProperty(PREFIX + key);
+        if (value == null) {
+            throw new IllegalArgumentException(PREFIX + key + " is not configured");
+        }
+        return value.trim();
+    }
+
+    public String get(String key, String defaultValue) {
+        return properties.getProperty(PREFIX + key, defaultValue).trim();
+    }
+}
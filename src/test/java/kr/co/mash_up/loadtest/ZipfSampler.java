@@ -0,0 +1,31 @@
+package kr.co.mash_up.loadtest;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * zipf 분포로 0 ~ n-1 순위를 뽑는다. 순위 k가 뽑힐 확률은 1 / (k + 1)^exponent 에 비례
+ * 누적 확률표를 만들어 두고 이진 탐색하므로 여러 thread에서 각자의 Random으로 같이 사용할 수 있다.
+ */
+public class ZipfSampler {
+
+    private final double[] cumulative;
+
+    public ZipfSampler(int n, double exponent) {
+        cumulative = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cumulative[k] /= sum;
+        }
+    }
+
+    public int sample(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+}
@@ -0,0 +1,463 @@
+package kr.co.mash_up.repository;
+
+import kr.co.mash_up.builder.CategoryBuilder;
+import kr.co.mash_up.builder.ProductBuilder;
+import kr.co.mash_up.builder.ShopBuilder;
+import kr.co.mash_up.nine_tique.NineTiqueApplication;
+import kr.co.mash_up.nine_tique.domain.*;
+import kr.co.mash_up.nine_tique.repository.*;
+import kr.co.mash_up.nine_tique.service.ProductCardService;
+import kr.co.mash_up.nine_tique.service.ProductService;
+import kr.co.mash_up.nine_tique.service.SellerService;
+import kr.co.mash_up.nine_tique.service.ZzimService;
+import kr.co.mash_up.nine_tique.vo.ProductCursor;
+import kr.co.mash_up.nine_tique.vo.ProductListRequestVO;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * 상품 리스트 API가 실행하는 SQL의 실행 계획 회귀 테스트
+ * Hibernate가 실제로 만든 SQL을 모아 MySQL 모드의 H2에서 EXPLAIN하고,
+ * table scan을 하거나 정렬(filesort)을 index 순서로 대신할 수 없는 쿼리가 있으면 실패한다.
+ * <p>
+ * H2는 index의 앞 컬럼이 ORDER BY와 같을 때만 "index sorted"로 표시하므로,
+ * MySQL처럼 "= 조건으로 고정된 앞 컬럼 + ORDER BY 컬럼" 순서의 index인지 직접 확인한다.
+ * MySQL 5.x는 index의 DESC를 무시하므로 ORDER BY 방향은 index와 모두 같거나 모두 반대(역순 scan)여야 한다.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = {NineTiqueApplication.class}, properties = {
+        "spring.datasource.url=jdbc:h2:mem:nine_tique_plan;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=kr.co.mash_up.repository.ListingQueryPlanTest$SqlCapture"})
+@ActiveProfiles(profiles = "test")
+public class ListingQueryPlanTest {
+
+    public static final String TEST_MAIN = "PLAN_TEST_MAIN";
+    public static final String TEST_SUB = "PLAN_TEST_SUB";
+    public static final int TEST_PRODUCT_COUNT = 30;
+
+    // FROM PUBLIC.TABLE ALIAS /* PUBLIC.INDEX: 조건 */, subquery 안의 plan은 /++ ++/로 표시된다.
+    private static final Pattern TABLE_ACCESS = Pattern.compile(
+            "FROM PUBLIC\\.(\\w+) (\\w+)\\s*/\\* PUBLIC\\.([\\w.]+)(?:: (.*?))? \\*/", Pattern.DOTALL);
+    private static final String TABLE_SCAN = ".tableScan";
+    private static final Pattern EQUALITY = Pattern.compile("(\\w+) = ");
+    private static final Pattern ORDER_ITEM = Pattern.compile("(\\w+)\\.(\\w+)(?: (asc|desc))?");
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ZzimService zzimService;
+
+    @Autowired
+    private SellerService sellerService;
+
+    @Autowired
+    private ProductCardService productCardService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ShopRepository shopRepository;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @Autowired
+    private ZzimRepository zzimRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Shop testShop;
+
+    private Category testCategory;
+
+    private User testUser;
+
+    private Seller testSeller;
+
+    private Zzim testZzim;
+
+    private List<Product> testProducts;
+
+    @Before
+    public void setup() {
+        testShop = shopRepository.save(new ShopBuilder()
+                .withName("planTestShop")
+                .withInfo("info")
+                .withPhone("010-1212-3434")
+                .withEnabled(true)
+                .build());
+        testCategory = categoryRepository.save(new CategoryBuilder()
+                .withMain(TEST_MAIN)
+                .withSub(TEST_SUB)
+                .withEnable(true)
+                .build());
+        testUser = userRepository.save(new User("planTestOauthToken", User.OauthType.KAKAO, new HashSet<>()));
+
+        testProducts = new ArrayList<>();
+        for (int i = 0; i < TEST_PRODUCT_COUNT; i++) {
+            testProducts.add(productRepository.save(new ProductBuilder()
+                    .withName("planProduct" + i)
+                    .withEnabled(true)
+                    .withShop(testShop)
+                    .withCategory(testCategory)
+                    .build()));
+        }
+
+        testSeller = sellerRepository.save(new Seller(testShop, testUser));
+        testZzim = zzimRepository.save(new Zzim(testUser));
+
+        // detached 상품을 cascade로 merge하지 않도록 연결 row는 직접 insert
+        testProducts.forEach(product -> {
+            jdbcTemplate.update("INSERT INTO seller_product (seller_id, product_id, enabled, created_at, updated_at) "
+                    + "VALUES (?, ?, TRUE, NOW(), NOW())", testSeller.getId(), product.getId());
+            jdbcTemplate.update("INSERT INTO zzim_product (zzim_id, product_id, enabled, created_at, updated_at) "
+                    + "VALUES (?, ?, TRUE, NOW(), NOW())", testZzim.getId(), product.getId());
+        });
+
+        productCardService.refresh(testProducts.stream()
+                .map(Product::getId)
+                .collect(Collectors.toList()));
+    }
+
+    @After
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM zzim_product WHERE zzim_id = ?", testZzim.getId());
+        jdbcTemplate.update("DELETE FROM seller_product WHERE seller_id = ?", testSeller.getId());
+        jdbcTemplate.update("DELETE FROM zzim WHERE id = ?", testZzim.getId());
+        jdbcTemplate.update("DELETE FROM seller WHERE id = ?", testSeller.getId());
+        testProducts.forEach(product -> {
+            jdbcTemplate.update("DELETE FROM product_card WHERE product_id = ?", product.getId());
+            jdbcTemplate.update("DELETE FROM product WHERE id = ?", product.getId());
+        });
+        userRepository.delete(testUser.getId());
+        categoryRepository.delete(testCategory.getId());
+        shopRepository.delete(testShop.getId());
+    }
+
+    @Test
+    public void testNewProductList() {
+        assertListingPlans(() -> {
+            productService.findProductsByCategory(testUser.getId(), listRequest("NEW", "ALL", false));
+            productService.findProductsByCategoryWithCursor(testUser.getId(), cursorRequest("NEW", "ALL"));
+        });
+    }
+
+    @Test
+    public void testMainCategoryProductList() {
+        assertListingPlans(() -> {
+            productService.findProductsByCategory(testUser.getId(), listRequest(TEST_MAIN, "ALL", false));
+            productService.findProductsByCategoryWithCursor(testUser.getId(), cursorRequest(TEST_MAIN, "ALL"));
+        });
+    }
+
+    @Test
+    public void testCategoryProductList() {
+        assertListingPlans(() -> {
+            productService.findProductsByCategory(testUser.getId(), listRequest(TEST_MAIN, TEST_SUB, true));
+            productService.findProductsByCategoryWithCursor(testUser.getId(), cursorRequest(TEST_MAIN, TEST_SUB));
+        });
+    }
+
+    @Test
+    public void testZzimProductList() {
+        assertListingPlans(() -> {
+            zzimService.findZzimProducts(testUser.getId(), new PageRequest(0, 10), false);
+            zzimService.findZzimProducts(testUser.getId(), new PageRequest(1, 10), true);
+        });
+    }
+
+    @Test
+    public void testSellerProductList() {
+        assertListingPlans(() -> {
+            sellerService.findProducts(testUser.getId(), new PageRequest(0, 10), false);
+            sellerService.findProducts(testUser.getId(), new PageRequest(1, 10), true);
+        });
+    }
+
+    @Test
+    public void testFilesortIsDetected() {
+        try {
+            assertPlan("select p.name from product_card p where p.shop_id = ? order by p.name asc limit ?");
+        } catch (AssertionError e) {
+            assertThat(e.getMessage()).contains("filesort");
+            return;
+        }
+        fail("order by unindexed column must be detected");
+    }
+
+    @Test
+    public void testMixedOrderDirectionIsDetected() {
+        try {
+            assertPlan("select p.name from product_card p where p.category_id = ? "
+                    + "order by p.status_order asc, p.created_at desc, p.product_id desc limit ?");
+        } catch (AssertionError e) {
+            assertThat(e.getMessage()).contains("filesort");
+            return;
+        }
+        fail("mixed order direction must be detected");
+    }
+
+    @Test
+    public void testTableScanIsDetected() {
+        try {
+            assertPlan("select p.name from product_card p where p.name = ?");
+        } catch (AssertionError e) {
+            assertThat(e.getMessage()).contains("table scan");
+            return;
+        }
+        fail("table scan must be detected");
+    }
+
+    /**
+     * 첫 호출에만 나가는 쿼리(상품 수 집계, 카테고리 index 갱신)를 제외하기 위해 1번 실행한 후,
+     * 다시 실행하면서 SELECT를 모아 실행 계획을 확인한다.
+     */
+    private void assertListingPlans(Runnable listing) {
+        listing.run();
+
+        List<String> selects;
+        SqlCapture.start();
+        try {
+            listing.run();
+        } finally {
+            selects = SqlCapture.stop().stream()
+                    .filter(sql -> sql.trim().toLowerCase().startsWith("select"))
+                    .collect(Collectors.toList());
+        }
+
+        assertThat(selects).isNotEmpty();
+        selects.forEach(this::assertPlan);
+    }
+
+    /**
+     * 1. 어떤 table도 table scan하지 않는다.
+     * 2. ORDER BY가 있으면 먼저 읽는(driving) table의 index가 정렬 순서를 제공한다.
+     * <p>
+     * H2는 index를 역순으로 읽지 못해서 조건 없이 ORDER BY ... DESC LIMIT으로 읽는 경우를 table scan으로 표시한다.
+     * MySQL은 같은 쿼리를 index 역순 scan으로 LIMIT개만 읽으므로, driving table의 index 중
+     * ORDER BY 순서를 그대로 제공하는 index가 있으면 허용한다.
+     */
+    private void assertPlan(String sql) {
+        String plan = explain(sql);
+        List<String[]> orderItems = orderItems(sql);
+
+        Matcher access = TABLE_ACCESS.matcher(plan);
+        boolean hasDriving = access.find();
+        String table = hasDriving ? access.group(1) : null;
+        String alias = hasDriving ? access.group(2) : null;
+        String index = hasDriving ? access.group(3) : null;
+
+        int tableScanCount = plan.split("tableScan", -1).length - 1;
+        boolean drivingTableScan = hasDriving && index.endsWith(TABLE_SCAN);
+        if (drivingTableScan && tableScanCount == 1 && !orderItems.isEmpty() && sql.toLowerCase().contains(" limit ")) {
+            String backwardIndex = indexNames(table).stream()
+                    .filter(name -> notServedReason(alias, indexColumns(table, name), Collections.emptySet(), orderItems) == null)
+                    .findFirst()
+                    .orElse(null);
+            if (backwardIndex != null) {
+                return;
+            }
+        }
+        if (tableScanCount > 0) {
+            fail("table scan\nsql: " + sql + "\nplan: " + plan);
+        }
+
+        if (orderItems.isEmpty() || plan.contains("/* index sorted */")) {
+            return;
+        }
+        if (!hasDriving) {
+            fail("filesort, driving table index not found\nsql: " + sql + "\nplan: " + plan);
+        }
+
+        List<String[]> indexColumns = indexColumns(table, index);
+        String reason = notServedReason(alias, indexColumns, equalityColumns(access.group(4)), orderItems);
+        if (reason != null) {
+            fail("filesort, " + reason + " by " + table + "." + index + indexColumns.stream()
+                    .map(column -> column[0] + " " + column[1])
+                    .collect(Collectors.joining(", ", "(", ")"))
+                    + "\nsql: " + sql + "\nplan: " + plan);
+        }
+    }
+
+    /**
+     * = 조건으로 고정된 앞 컬럼은 건너뛰고, 이어지는 컬럼이 ORDER BY와 같은 순서/방향(또는 모두 반대)이어야 한다.
+     *
+     * @return index가 정렬 순서를 제공하지 못하는 이유, 제공하면 null
+     */
+    private String notServedReason(String alias, List<String[]> indexColumns, Set<String> equalityColumns,
+                                   List<String[]> orderItems) {
+        int start = 0;
+        while (start < indexColumns.size() && equalityColumns.contains(indexColumns.get(start)[0].toUpperCase())) {
+            start++;
+        }
+
+        Boolean reversed = null;
+        for (int i = 0; i < orderItems.size(); i++) {
+            String[] orderItem = orderItems.get(i);
+            String[] indexColumn = start + i < indexColumns.size() ? indexColumns.get(start + i) : null;
+            boolean sameColumn = indexColumn != null
+                    && orderItem[0].equalsIgnoreCase(alias) && orderItem[1].equalsIgnoreCase(indexColumn[0]);
+            if (!sameColumn) {
+                return "order by " + orderItem[0] + "." + orderItem[1] + " is not served";
+            }
+            boolean itemReversed = !orderItem[2].equals(indexColumn[1]);
+            if (reversed != null && reversed != itemReversed) {
+                return "order direction does not match";
+            }
+            reversed = itemReversed;
+        }
+        return null;
+    }
+
+    /**
+     * 파라미터는 모두 null로 바인딩. H2는 값이 아니라 조건의 형태로 index를 고른다.
+     */
+    private String explain(String sql) {
+        return jdbcTemplate.execute("EXPLAIN " + sql, (PreparedStatement ps) -> {
+            int parameterCount = ps.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameterCount; i++) {
+                ps.setObject(i, null);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getString(1);
+            }
+        });
+    }
+
+    /**
+     * @return [alias, column, A|D]
+     */
+    private List<String[]> orderItems(String sql) {
+        String lowerSql = sql.toLowerCase();
+        int orderBy = lowerSql.lastIndexOf(" order by ");
+        if (orderBy < 0) {
+            return Collections.emptyList();
+        }
+        int limit = lowerSql.indexOf(" limit ", orderBy);
+        String clause = lowerSql.substring(orderBy + " order by ".length(), limit < 0 ? lowerSql.length() : limit);
+
+        List<String[]> items = new ArrayList<>();
+        for (String item : clause.split(",")) {
+            Matcher matcher = ORDER_ITEM.matcher(item.trim());
+            if (!matcher.matches()) {
+                fail("unexpected order by item: " + item + "\nsql: " + sql);
+            }
+            items.add(new String[]{matcher.group(1), matcher.group(2), "desc".equals(matcher.group(3)) ? "D" : "A"});
+        }
+        return items;
+    }
+
+    /**
+     * index 조건 중 = 로 고정된 컬럼(대문자). subquery(괄호) 안의 조건은 제외
+     */
+    private Set<String> equalityColumns(String condition) {
+        if (condition == null) {
+            return Collections.emptySet();
+        }
+
+        StringBuilder topLevel = new StringBuilder();
+        int depth = 0;
+        for (char c : condition.toCharArray()) {
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (depth == 0) {
+                topLevel.append(c);
+            }
+        }
+
+        Set<String> columns = new HashSet<>();
+        Matcher matcher = EQUALITY.matcher(topLevel);
+        while (matcher.find()) {
+            columns.add(matcher.group(1).toUpperCase());
+        }
+        return columns;
+    }
+
+    private List<String> indexNames(String table) {
+        return jdbcTemplate.queryForList("SELECT DISTINCT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES WHERE TABLE_NAME = ?",
+                String.class, table);
+    }
+
+    /**
+     * @return [column, A|D] index 컬럼 순서대로
+     */
+    private List<String[]> indexColumns(String table, String index) {
+        return jdbcTemplate.query("SELECT COLUMN_NAME, ASC_OR_DESC FROM INFORMATION_SCHEMA.INDEXES "
+                        + "WHERE TABLE_NAME = ? AND INDEX_NAME = ? ORDER BY ORDINAL_POSITION",
+                (rs, rowNum) -> new String[]{rs.getString(1), rs.getString(2)}, table, index);
+    }
+
+    private ProductListRequestVO listRequest(String mainCategory, String subCategory, boolean withTotal) {
+        ProductListRequestVO requestVO = new ProductListRequestVO();
+        requestVO.setMainCategory(mainCategory);
+        requestVO.setSubCategory(subCategory);
+        requestVO.setPageSize(10);
+        requestVO.setWithTotal(withTotal);
+        return requestVO;
+    }
+
+    private ProductListRequestVO cursorRequest(String mainCategory, String subCategory) {
+        ProductListRequestVO requestVO = listRequest(mainCategory, subCategory, false);
+        requestVO.setCursor(new ProductCursor(Product.Status.SELL, LocalDateTime.now(), Long.MAX_VALUE).encode());
+        return requestVO;
+    }
+
+    /**
+     * Hibernate가 JDBC로 보내는 SQL을 현재 thread에서만 모은다.
+     */
+    public static class SqlCapture implements StatementInspector {
+
+        private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+        static void start() {
+            CAPTURED.set(new ArrayList<>());
+        }
+
+        static List<String> stop() {
+            List<String> captured = CAPTURED.get();
+            CAPTURED.remove();
+            return captured;
+        }
+
+        @Override
+        public String inspect(String sql) {
+            List<String> captured = CAPTURED.get();
+            if (captured != null) {
+                captured.add(sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package kr.co.mash_up.scheduler;
+
+import kr.co.mash_up.builder.CategoryBuilder;
+import kr.co.mash_up.builder.ProductBuilder;
+import kr.co.mash_up.builder.ShopBuilder;
+import kr.co.mash_up.nine_tique.NineTiqueApplication;
+import kr.co.mash_up.nine_tique.config.SystemPropertiesConfig;
+import kr.co.mash_up.nine_tique.domain.Category;
+import kr.co.mash_up.nine_tique.domain.Product;
+import kr.co.mash_up.nine_tique.domain.ProductImage;
+import kr.co.mash_up.nine_tique.domain.Seller;
+import kr.co.mash_up.nine_tique.domain.Shop;
+import kr.co.mash_up.nine_tique.domain.User;
+import kr.co.mash_up.nine_tique.dto.ProductImageDto;
+import kr.co.mash_up.nine_tique.repository.CategoryRepository;
+import kr.co.mash_up.nine_tique.repository.ProductImageRepository;
+import kr.co.mash_up.nine_tique.repository.ProductRepository;
+import kr.co.mash_up.nine_tique.repository.SellerRepository;
+import kr.co.mash_up.nine_tique.repository.ShopRepository;
+import kr.co.mash_up.nine_tique.repository.UserRepository;
+import kr.co.mash_up.nine_tique.scheduler.ProductImageSweepTask;
+import kr.co.mash_up.nine_tique.service.CategoryRegistry;
+import kr.co.mash_up.nine_tique.service.ProductImageDerivativeService;
+import kr.co.mash_up.nine_tique.service.ProductImageSweepService;
+import kr.co.mash_up.nine_tique.service.ProductService;
+import kr.co.mash_up.nine_tique.util.FileUtil;
+import kr.co.mash_up.nine_tique.vo.ProductRequestVO;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = {NineTiqueApplication.class})
+@ActiveProfiles(profiles = "test")
+public class ProductImageSweepTaskTest {
+
+    public static final int TEST_ORPHAN_COUNT = 3;
+    public static final int TEST_FILE_SIZE = 100;
+
+    @Autowired
+    private ProductImageSweepTask productImageSweepTask;
+
+    @Autowired
+    private ProductImageSweepService productImageSweepService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryRegistry categoryRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductImageRepository productImageRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ShopRepository shopRepository;
+
+    private String originalStoragePath;
+
+    private File storageDir;
+
+    private Shop testShop;
+
+    private Category testCategory;
+
+    private Product testProduct;
+
+    private ProductImage attachedImage;
+
+    private List<ProductImage> productImages;
+
+    private List<ProductImage> orphanImages;
+
+    @Before
+    public void setup() throws Exception {
+        originalStoragePath = System.getProperty(SystemPropertiesConfig.STORAGE_PATH);
+        storageDir = Files.createTempDirectory("9tique-sweep").toFile();
+        System.setProperty(SystemPropertiesConfig.STORAGE_PATH, storageDir.getPath());
+
+        testShop = shopRepository.save(new ShopBuilder()
+                .withName("sweepTestShop")
+                .withInfo("info")
+                .withPhone("010-1111-2222")
+                .withEnabled(true)
+                .build());
+        testCategory = categoryRepository.save(new CategoryBuilder()
+                .withMain("SWEEP_TEST_MAIN")
+                .withSub("SWEEP_TEST_SUB")
+                .withEnable(true)
+                .build());
+        testProduct = productRepository.save(new ProductBuilder()
+                .withName("sweepProduct")
+                .withEnabled(true)
+                .withShop(testShop)
+                .withCategory(testCategory)
+                .build());
+
+        orphanImages = new ArrayList<>();
+        for (int i = 0; i < TEST_ORPHAN_COUNT; i++) {
+            orphanImages.add(saveImage("orphan" + i + ".jpg", null));
+        }
+        attachedImage = saveImage("attached.jpg", testProduct);
+        productImages = new ArrayList<>();
+        productImages.add(attachedImage);
+    }
+
+    @After
+    public void tearDown() {
+        productImages.addAll(orphanImages);
+        productImages.stream()
+                .filter(productImage -> productImageRepository.exists(productImage.getId()))
+                .forEach(productImage -> productImageRepository.delete(productImage.getId()));
+        jdbcTemplate.update("DELETE FROM product_card WHERE product_id = ?", testProduct.getId());
+        productRepository.delete(testProduct.getId());
+        categoryRepository.delete(testCategory.getId());
+        shopRepository.delete(testShop.getId());
+        categoryRegistry.refresh();
+
+        FileUtil.deleteDir(storageDir.getPath());
+        System.setProperty(SystemPropertiesConfig.STORAGE_PATH, originalStoragePath);
+    }
+
+    @Test
+    public void testKeepRecentOrphans() {
+        assertThat(productImageSweepTask.sweep(LocalDateTime.now().minusHours(1))).isEqualTo(0);
+
+        orphanImages.forEach(productImage -> assertThat(tempFile(productImage)).exists());
+    }
+
+    @Test
+    public void testSweepOrphans() {
+        long reclaimedFiles = metric("image.sweep.reclaimed.files");
+        long reclaimedBytes = metric("image.sweep.reclaimed.bytes");
+
+        assertThat(productImageSweepTask.sweep(LocalDateTime.now().plusMinutes(1))).isEqualTo(TEST_ORPHAN_COUNT);
+
+        orphanImages.forEach(productImage -> {
+            assertThat(productImageRepository.exists(productImage.getId())).isFalse();
+            assertThat(tempFile(productImage)).doesNotExist();
+        });
+        assertThat(productImageRepository.exists(attachedImage.getId())).isTrue();
+        assertThat(tempFile(attachedImage)).exists();
+
+        assertThat(metric("image.sweep.reclaimed.files")).isEqualTo(reclaimedFiles + TEST_ORPHAN_COUNT);
+        assertThat(metric("image.sweep.reclaimed.bytes")).isEqualTo(reclaimedBytes + TEST_ORPHAN_COUNT * TEST_FILE_SIZE);
+    }
+
+    @Test
+    public void testSweepDetachedImage() throws Exception {
+        User user = userRepository.save(new User("sweepTestOauthToken", User.OauthType.KAKAO, new HashSet<>()));
+        Seller seller = sellerRepository.save(new Seller(testShop, user));
+        categoryRegistry.refresh();
+        try {
+            // 상품에 연결된 이미지 2개 중 1개를 수정에서 뺀다.
+            ProductImage keptImage = saveProductImage("kept.jpg");
+            ProductImage detachedImage = saveProductImage("detached.jpg");
+            File detachedFile = new File(ProductImage.getImageUploadPath(testProduct.getId()), detachedImage.getFileName());
+            File thumbnail = ProductImageDerivativeService.getDerivativeFile(detachedFile, ProductImage.Derivative.THUMBNAIL);
+            thumbnail.getParentFile().mkdirs();
+            Files.write(thumbnail.toPath(), new byte[TEST_FILE_SIZE]);
+
+            productService.update(user.getId(), testProduct.getId(), updateRequest(attachedImage, keptImage));
+
+            // 연결이 끊긴 이미지는 tmp로 옮겨지고 썸네일은 지워진다.
+            assertThat(productImageRepository.findOne(detachedImage.getId()).getProduct()).isNull();
+            assertThat(detachedFile).doesNotExist();
+            assertThat(tempFile(detachedImage)).exists();
+            assertThat(thumbnail).doesNotExist();
+            assertThat(new File(ProductImage.getImageUploadPath(testProduct.getId()), keptImage.getFileName())).exists();
+
+            long reclaimedFiles = metric("image.sweep.reclaimed.files");
+            long reclaimedBytes = metric("image.sweep.reclaimed.bytes");
+
+            assertThat(productImageSweepTask.sweep(LocalDateTime.now().plusMinutes(1))).isEqualTo(TEST_ORPHAN_COUNT + 1);
+
+            assertThat(productImageRepository.exists(detachedImage.getId())).isFalse();
+            assertThat(tempFile(detachedImage)).doesNotExist();
+            assertThat(productImageRepository.exists(keptImage.getId())).isTrue();
+            assertThat(metric("image.sweep.reclaimed.files")).isEqualTo(reclaimedFiles + TEST_ORPHAN_COUNT + 1);
+            assertThat(metric("image.sweep.reclaimed.bytes")).isEqualTo(reclaimedBytes + (TEST_ORPHAN_COUNT + 1) * TEST_FILE_SIZE);
+        } finally {
+            sellerRepository.delete(seller.getId());
+            userRepository.delete(user.getId());
+        }
+    }
+
+    @Test
+    public void testKeepRowWhenFileDeleteFails() throws Exception {
+        // 파일을 지우지 못하면 row를 남겨 다음 정리때 다시 시도한다.
+        ProductImage orphan = orphanImages.get(0);
+        File file = tempFile(orphan);
+        file.delete();
+        file.mkdir();
+        new File(file, "child").createNewFile();  // 비어있지 않은 디렉토리는 삭제 실패
+
+        assertThat(productImageSweepTask.sweep(LocalDateTime.now().plusMinutes(1))).isEqualTo(TEST_ORPHAN_COUNT - 1);
+        assertThat(productImageRepository.exists(orphan.getId())).isTrue();
+
+        FileUtil.deleteDir(file.getPath());
+        assertThat(productImageSweepTask.sweep(LocalDateTime.now().plusMinutes(1))).isEqualTo(1);
+        assertThat(productImageRepository.exists(orphan.getId())).isFalse();
+    }
+
+    private ProductImage saveProductImage(String fileName) throws Exception {
+        ProductImage productImage = saveImage(fileName, testProduct);
+        productImages.add(productImage);
+        File file = new File(ProductImage.getImageUploadPath(testProduct.getId()), fileName);
+        file.getParentFile().mkdirs();
+        Files.move(tempFile(productImage).toPath(), file.toPath());
+        return productImage;
+    }
+
+    private ProductRequestVO updateRequest(ProductImage... keptImages) {
+        ProductRequestVO requestVO = new ProductRequestVO();
+        requestVO.setName("sweepProduct");
+        requestVO.setBrandName("brand");
+        requestVO.setSize("free");
+        requestVO.setPrice(10000);
+        requestVO.setDescription("description");
+        requestVO.setMainCategory(testCategory.getMain());
+        requestVO.setSubCategory(testCategory.getSub());
+        requestVO.setProductImages(Arrays.stream(keptImages)
+                .map(productImage -> new ProductImageDto.Builder()
+                        .withUrl(productImage.getImageUrl())
+                        .build())
+                .collect(Collectors.toList()));
+        return requestVO;
+    }
+
+    private ProductImage saveImage(String fileName, Product product) throws Exception {
+        ProductImage productImage = new ProductImage();
+        productImage.setFileName(fileName);
+        productImage.setOriginalFileName(fileName);
+        productImage.setSize(TEST_FILE_SIZE);
+        productImage.setEnabled(true);
+        productImage.setProduct(product);
+
+        File file = new File(ProductImage.getImageUploadTempPath(), fileName);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), new byte[TEST_FILE_SIZE]);
+
+        return productImageRepository.save(productImage);
+    }
+
+    private static File tempFile(ProductImage productImage) {
+        return new File(ProductImage.getImageUploadTempPath(), productImage.getFileName());
+    }
+
+    private long metric(String name) {
+        return productImageSweepService.metrics().stream()
+                .filter(metric -> metric.getName().equals(name))
+                .map(Metric::getValue)
+                .findFirst()
+                .orElseThrow(IllegalStateException::new)
+                .longValue();
+    }
+}
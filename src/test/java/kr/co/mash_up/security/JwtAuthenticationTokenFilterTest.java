@@ -0,0 +1,140 @@
+package kr.co.mash_up.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import kr.co.mash_up.nine_tique.NineTiqueApplication;
+import kr.co.mash_up.nine_tique.config.JwtSettings;
+import kr.co.mash_up.nine_tique.domain.User;
+import kr.co.mash_up.nine_tique.repository.AuthorityRepository;
+import kr.co.mash_up.nine_tique.repository.UserRepository;
+import kr.co.mash_up.nine_tique.security.Authorities;
+import kr.co.mash_up.nine_tique.security.JwtAuthenticationTokenFilter;
+import kr.co.mash_up.nine_tique.security.JwtTokenUtil;
+import kr.co.mash_up.nine_tique.security.SecurityUtil;
+import kr.co.mash_up.nine_tique.security.UserPrincipal;
+import kr.co.mash_up.nine_tique.service.UserService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = {NineTiqueApplication.class})
+@ActiveProfiles(profiles = "test")
+public class JwtAuthenticationTokenFilterTest {
+
+    @Autowired
+    private JwtAuthenticationTokenFilter jwtAuthenticationTokenFilter;
+
+    @Autowired
+    private JwtTokenUtil jwtTokenUtil;
+
+    @Autowired
+    private JwtSettings jwtSettings;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuthorityRepository authorityRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User testUser;
+
+    @Before
+    public void setup() {
+        User user = new User("filterTestOauthToken", User.OauthType.KAKAO, new HashSet<>());
+        user.addAuthority(authorityRepository.findByAuthority(Authorities.USER));
+        testUser = userRepository.save(user);
+    }
+
+    @After
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        userRepository.delete(testUser.getId());
+    }
+
+    @Test
+    public void testPrincipalFromClaimsWithoutQuery() throws Exception {
+        String token = jwtTokenUtil.generateToken(testUser);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        doFilter(token);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(0);
+        assertThat(SecurityUtil.getCurrentUser().getId()).isEqualTo(testUser.getId());
+        assertThat(authorities()).containsExactly(Authorities.USER);
+    }
+
+    @Test
+    public void testPrincipalStoreIsCachedAndEvicted() throws Exception {
+        String token = tokenWithoutAuthorities(testUser);  // 권한 claim 추가 전에 발급된 token
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        doFilter(token);
+        assertThat(authorities()).containsExactly(Authorities.USER);
+
+        statistics.clear();
+        doFilter(token);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(0);  // 캐시된 principal
+
+        userService.addAdminAuthority(testUser.getId());
+
+        doFilter(token);
+        assertThat(authorities()).containsOnly(Authorities.USER, Authorities.ADMIN);
+    }
+
+    private void doFilter(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        request.addHeader(jwtSettings.getTokenHeader(), JwtAuthenticationTokenFilter.HEADER_PREFIX + token);
+        jwtAuthenticationTokenFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    }
+
+    private static Set<String> authorities() {
+        UserPrincipal principal = SecurityUtil.getCurrentUser();
+        return principal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+    }
+
+    private String tokenWithoutAuthorities(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("user_id", user.getId().toString());
+        claims.put("roles", user.findAuthority());
+
+        return Jwts.builder()
+                .setClaims(claims)
+                .setExpiration(new Date(System.currentTimeMillis() + jwtSettings.getTokenExpirationTime() * 1000))
+                .signWith(SignatureAlgorithm.HS256, jwtSettings.getTokenSigningKey())
+                .compact();
+    }
+}
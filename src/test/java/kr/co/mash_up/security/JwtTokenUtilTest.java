@@ -0,0 +1,59 @@
+package kr.co.mash_up.security;
+
+import kr.co.mash_up.nine_tique.NineTiqueApplication;
+import kr.co.mash_up.nine_tique.domain.User;
+import kr.co.mash_up.nine_tique.exception.InvalidTokenException;
+import kr.co.mash_up.nine_tique.security.JwtClaims;
+import kr.co.mash_up.nine_tique.security.JwtTokenUtil;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.HashSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = {NineTiqueApplication.class})
+@ActiveProfiles(profiles = "test")
+public class JwtTokenUtilTest {
+
+    @Autowired
+    private JwtTokenUtil jwtTokenUtil;
+
+    private User testUser;
+
+    @Before
+    public void setup() {
+        testUser = new User("jwtTestOauthToken", User.OauthType.KAKAO, new HashSet<>());
+        testUser.setId(12345L);
+    }
+
+    @Test
+    public void testParseTokenOnce() {
+        String token = jwtTokenUtil.generateToken(testUser);
+
+        JwtClaims claims = jwtTokenUtil.parseToken(token);
+        assertThat(claims.getUserId()).isEqualTo(testUser.getId());
+        assertThat(claims.getOauthToken()).isEqualTo("jwtTestOauthToken");
+        assertThat(claims.getRoles()).isEqualTo(testUser.findAuthority());
+        assertThat(claims.isExpired()).isFalse();
+
+        // 같은 token은 다시 검증하지 않고 캐시된 claim을 쓴다.
+        assertThat(jwtTokenUtil.parseToken(token)).isSameAs(claims);
+    }
+
+    @Test(expected = InvalidTokenException.class)
+    public void testTamperedToken() {
+        String token = jwtTokenUtil.generateToken(testUser);
+        String signature = token.substring(token.lastIndexOf('.') + 1);
+        String tampered = token.substring(0, token.lastIndexOf('.') + 1)
+                + (signature.charAt(0) == 'A' ? 'B' : 'A') + signature.substring(1);
+
+        jwtTokenUtil.parseToken(tampered);
+    }
+}
@@ -0,0 +1,154 @@
+package kr.co.mash_up.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.co.mash_up.builder.ProductBuilder;
+import kr.co.mash_up.builder.ShopBuilder;
+import kr.co.mash_up.nine_tique.NineTiqueApplication;
+import kr.co.mash_up.nine_tique.domain.Category;
+import kr.co.mash_up.nine_tique.domain.Product;
+import kr.co.mash_up.nine_tique.domain.Shop;
+import kr.co.mash_up.nine_tique.repository.CategoryRepository;
+import kr.co.mash_up.nine_tique.repository.ProductRepository;
+import kr.co.mash_up.nine_tique.repository.ShopRepository;
+import kr.co.mash_up.nine_tique.service.CategoryRegistry;
+import kr.co.mash_up.nine_tique.service.ProductCountService;
+import kr.co.mash_up.nine_tique.service.CategorySservice;
+import kr.co.mash_up.nine_tique.vo.CategoryRequestVO;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = {NineTiqueApplication.class})
+@ActiveProfiles(profiles = "test")
+public class CategoryRegistryTest {
+
+    public static final String TEST_MAIN = "registryTestMain";
+    public static final String TEST_SUB = "registryTestSub";
+
+    @Autowired
+    private CategoryRegistry categoryRegistry;
+
+    @Autowired
+    private CategorySservice categorySservice;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProductCountService productCountService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ShopRepository shopRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Shop testShop;
+
+    private Category testCategory;
+
+    @Before
+    public void setup() {
+        CategoryRequestVO requestVO = new CategoryRequestVO();
+        requestVO.setMain(TEST_MAIN);
+        requestVO.setSub(TEST_SUB);
+        testCategory = categorySservice.create(requestVO);
+        testShop = shopRepository.save(new ShopBuilder()
+                .withName("registryTestShop")
+                .withInfo("info")
+                .withPhone("010-7777-8888")
+                .withEnabled(true)
+                .build());
+    }
+
+    @After
+    public void tearDown() {
+        categoryRepository.delete(testCategory.getId());
+        shopRepository.delete(testShop.getId());
+        categoryRegistry.refresh();
+    }
+
+    @Test
+    public void testFindWithoutQuery() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        Category category = categoryRegistry.findEnabled(TEST_MAIN, TEST_SUB);
+
+        assertThat(category.getId()).isEqualTo(testCategory.getId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(0);
+        assertThat(categoryRegistry.findEnabled(TEST_MAIN, TEST_SUB + "unknown")).isNull();
+    }
+
+    @Test
+    public void testRefreshAfterCommit() {
+        CategoryRegistry.Snapshot before = categoryRegistry.getSnapshot();
+        String beforeETag = categoryRegistry.getListResponse().getETag();
+
+        categorySservice.delete(testCategory.getId());
+
+        assertThat(categoryRegistry.getSnapshot()).isNotSameAs(before);
+        assertThat(categoryRegistry.getListResponse().getETag()).isNotEqualTo(beforeETag);
+        assertThat(categoryRegistry.findEnabled(TEST_MAIN, TEST_SUB)).isNull();
+    }
+
+    @Test
+    public void testListResponseIsReusedUntilCountChanges() throws Exception {
+        CategoryRegistry.ListResponse first = categoryRegistry.getListResponse();
+        assertThat(categoryRegistry.getListResponse()).isSameAs(first);
+
+        Product product = productRepository.save(new ProductBuilder()
+                .withName("registryProduct")
+                .withEnabled(true)
+                .withShop(testShop)
+                .withCategory(testCategory)
+                .build());
+        productCountService.increase(product);
+
+        try {
+            CategoryRegistry.ListResponse second = categoryRegistry.getListResponse();
+            assertThat(second).isNotSameAs(first);
+            assertThat(second.getETag()).isNotEqualTo(first.getETag());
+
+            JsonNode body = objectMapper.readTree(second.getBody());
+            JsonNode categoryNode = findByField(body.get("list"), "id", testCategory.getId().toString());
+            assertThat(categoryNode.get("product_count").asLong()).isEqualTo(1);
+            assertThat(categoryNode.get("sell_count").asLong()).isEqualTo(1);
+            assertThat(categoryNode.get("sold_out_count").asLong()).isEqualTo(0);
+
+            JsonNode mainNode = findByField(body.get("main_categories"), "main", TEST_MAIN);
+            assertThat(mainNode.get("product_count").asLong()).isEqualTo(1);
+        } finally {
+            productRepository.delete(product.getId());
+            productCountService.invalidate();
+        }
+    }
+
+    private static JsonNode findByField(JsonNode array, String field, String value) {
+        for (JsonNode node : array) {
+            if (node.get(field).asText().equals(value)) {
+                return node;
+            }
+        }
+        throw new AssertionError(field + " " + value + " not found");
+    }
+}
@@ -0,0 +1,104 @@
+package kr.co.mash_up.service;
+
+import kr.co.mash_up.nine_tique.NineTiqueApplication;
+import kr.co.mash_up.nine_tique.exception.FileStorageException;
+import kr.co.mash_up.nine_tique.service.FileStorageService;
+import kr.co.mash_up.nine_tique.util.FileUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = {NineTiqueApplication.class})
+@ActiveProfiles(profiles = "test")
+public class FileStorageServiceTest {
+
+    public static final int TEST_FILE_COUNT = 10;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private File storageDir;
+
+    private File tmpDir;
+
+    private File productDir;
+
+    private List<FileStorageService.FileMove> fileMoves;
+
+    @Before
+    public void setup() throws Exception {
+        storageDir = Files.createTempDirectory("9tique-move").toFile();
+        tmpDir = new File(storageDir, "product/tmp");
+        productDir = new File(storageDir, "product/1");
+        tmpDir.mkdirs();
+
+        fileMoves = new ArrayList<>();
+        for (int i = 0; i < TEST_FILE_COUNT; i++) {
+            File file = new File(tmpDir, "image" + i + ".jpg");
+            Files.write(file.toPath(), new byte[]{(byte) i});
+            fileMoves.add(new FileStorageService.FileMove(file.getPath(), productDir.getPath()));
+        }
+    }
+
+    @After
+    public void tearDown() {
+        FileUtil.deleteDir(storageDir.getPath());
+    }
+
+    @Test
+    public void testMoveCommitted() {
+        new TransactionTemplate(transactionManager).execute(status -> {
+            fileStorageService.moveAll(fileMoves);
+            return null;
+        });
+
+        assertThat(productDir.list()).hasSize(TEST_FILE_COUNT);
+        assertThat(tmpDir.list()).isEmpty();
+    }
+
+    @Test
+    public void testMoveRevertedOnRollback() {
+        new TransactionTemplate(transactionManager).execute(status -> {
+            fileStorageService.moveAll(fileMoves);
+            assertThat(productDir.list()).hasSize(TEST_FILE_COUNT);
+
+            status.setRollbackOnly();  // DB commit 실패
+            return null;
+        });
+
+        assertThat(tmpDir.list()).hasSize(TEST_FILE_COUNT);
+        assertThat(productDir.list()).isEmpty();
+    }
+
+    @Test
+    public void testFailedMoveRevertsOthers() {
+        fileMoves.add(new FileStorageService.FileMove(new File(tmpDir, "missing.jpg").getPath(), productDir.getPath()));
+
+        try {
+            fileStorageService.moveAll(fileMoves);
+            fail("file move fail");
+        } catch (FileStorageException e) {
+            assertThat(tmpDir.list()).hasSize(TEST_FILE_COUNT);
+            assertThat(productDir.list()).isEmpty();
+        }
+    }
+}
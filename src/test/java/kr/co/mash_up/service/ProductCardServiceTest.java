@@ -0,0 +1,267 @@
+package kr.co.mash_up.service;
+
+import kr.co.mash_up.builder.CategoryBuilder;
+import kr.co.mash_up.builder.ProductBuilder;
+import kr.co.mash_up.builder.ShopBuilder;
+import kr.co.mash_up.nine_tique.NineTiqueApplication;
+import kr.co.mash_up.nine_tique.domain.*;
+import kr.co.mash_up.nine_tique.dto.ProductDto;
+import kr.co.mash_up.nine_tique.repository.*;
+import kr.co.mash_up.nine_tique.service.ProductCardService;
+import kr.co.mash_up.nine_tique.service.SellerService;
+import kr.co.mash_up.nine_tique.service.ZzimService;
+import kr.co.mash_up.nine_tique.vo.ProductCursor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = {NineTiqueApplication.class})
+@ActiveProfiles(profiles = "test")
+public class ProductCardServiceTest {
+
+    public static final int TEST_PRODUCT_COUNT = 5;
+    public static final int TEST_IMAGE_COUNT = 2;
+
+    @Autowired
+    private ProductCardService productCardService;
+
+    @Autowired
+    private SellerService sellerService;
+
+    @Autowired
+    private ZzimService zzimService;
+
+    @Autowired
+    private ProductCardRepository productCardRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductImageRepository productImageRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ShopRepository shopRepository;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @Autowired
+    private ZzimRepository zzimRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Shop testShop;
+
+    private Category testCategory;
+
+    private User testUser;
+
+    private Seller testSeller;
+
+    private Zzim testZzim;
+
+    private List<Product> testProducts;
+
+    @Before
+    public void setup() {
+        testShop = shopRepository.save(new ShopBuilder()
+                .withName("cardTestShop")
+                .withInfo("info")
+                .withPhone("010-7777-8888")
+                .withEnabled(true)
+                .build());
+        testCategory = categoryRepository.save(new CategoryBuilder()
+                .withMain("CARD_TEST_MAIN")
+                .withSub("CARD_TEST_SUB")
+                .withEnable(true)
+                .build());
+        testUser = userRepository.save(new User("cardTestOauthToken", User.OauthType.KAKAO, new HashSet<>()));
+
+        testProducts = new ArrayList<>();
+        for (int i = 0; i < TEST_PRODUCT_COUNT; i++) {
+            Product product = productRepository.save(new ProductBuilder()
+                    .withName("cardProduct" + i)
+                    .withEnabled(true)
+                    .withShop(testShop)
+                    .withCategory(testCategory)
+                    .build());
+            testProducts.add(product);
+
+            for (int j = 0; j < TEST_IMAGE_COUNT; j++) {
+                ProductImage productImage = new ProductImage();
+                productImage.setFileName("cardTest" + i + "_" + j + ".jpg");
+                productImage.setOriginalFileName("original.jpg");
+                productImage.setEnabled(true);
+                productImage.setProduct(product);
+                productImageRepository.save(productImage);
+            }
+        }
+
+        testSeller = sellerRepository.save(new Seller(testShop, testUser));
+        testZzim = zzimRepository.save(new Zzim(testUser));
+
+        // detached 상품을 cascade로 merge하지 않도록 연결 row는 직접 insert
+        testProducts.forEach(product -> {
+            jdbcTemplate.update("INSERT INTO seller_product (seller_id, product_id, enabled, created_at, updated_at) "
+                    + "VALUES (?, ?, TRUE, NOW(), NOW())", testSeller.getId(), product.getId());
+            jdbcTemplate.update("INSERT INTO zzim_product (zzim_id, product_id, enabled, created_at, updated_at) "
+                    + "VALUES (?, ?, TRUE, NOW(), NOW())", testZzim.getId(), product.getId());
+        });
+
+        productCardService.refresh(productIds());
+    }
+
+    @After
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM zzim_product WHERE zzim_id = ?", testZzim.getId());
+        jdbcTemplate.update("DELETE FROM seller_product WHERE seller_id = ?", testSeller.getId());
+        jdbcTemplate.update("DELETE FROM zzim WHERE id = ?", testZzim.getId());
+        jdbcTemplate.update("DELETE FROM seller WHERE id = ?", testSeller.getId());
+        productIds().forEach(productId -> {
+            jdbcTemplate.update("DELETE FROM product_card WHERE product_id = ?", productId);
+            jdbcTemplate.update("DELETE FROM product_image WHERE product_id = ?", productId);
+            jdbcTemplate.update("DELETE FROM product WHERE id = ?", productId);
+        });
+        userRepository.delete(testUser.getId());
+        categoryRepository.delete(testCategory.getId());
+        shopRepository.delete(testShop.getId());
+    }
+
+    @Test
+    public void testRefresh() {
+        Product product = testProducts.get(0);
+
+        ProductCard productCard = productCardRepository.findOne(product.getId());
+        assertThat(productCard.getName()).isEqualTo(product.getName());
+        assertThat(productCard.getShopName()).isEqualTo(testShop.getName());
+        assertThat(productCard.getMainCategory()).isEqualTo(testCategory.getMain());
+        assertThat(productCard.getImageFileNameList()).containsExactly("cardTest0_0.jpg", "cardTest0_1.jpg");
+
+        product = productRepository.findOne(product.getId());
+        product.setStatus(Product.Status.SOLD_OUT);
+        productRepository.save(product);
+        productCardService.refresh(product.getId());
+        assertThat(productCardRepository.findOne(product.getId()).getStatus()).isEqualTo(Product.Status.SOLD_OUT);
+
+        jdbcTemplate.update("UPDATE product SET enabled = FALSE WHERE id = ?", product.getId());
+        productCardService.refresh(product.getId());
+        assertThat(productCardRepository.findOne(product.getId())).isNull();
+    }
+
+    @Test
+    public void testRefreshShop() {
+        Shop shop = shopRepository.findOne(testShop.getId());
+        shop.update(new ShopBuilder()
+                .withName("cardTestShopRenamed")
+                .withInfo("new info")
+                .withPhone("010-7777-9999")
+                .build());
+        shopRepository.save(shop);
+
+        productCardService.refreshShop(shop);
+
+        productIds().forEach(productId -> {
+            ProductCard productCard = productCardRepository.findOne(productId);
+            assertThat(productCard.getShopName()).isEqualTo("cardTestShopRenamed");
+            assertThat(productCard.getShopPhone()).isEqualTo("010-7777-9999");
+        });
+    }
+
+    @Test
+    public void testSellerAndZzimListReadCardsOnly() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        Slice<ProductDto> sellerProducts = sellerService.findProducts(testUser.getId(), new PageRequest(0, TEST_PRODUCT_COUNT), false);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        Slice<ProductDto> zzimProducts = zzimService.findZzimProducts(testUser.getId(), new PageRequest(0, TEST_PRODUCT_COUNT), false);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        assertThat(sellerProducts.getContent()).hasSize(TEST_PRODUCT_COUNT);
+        assertThat(zzimProducts.getContent()).hasSize(TEST_PRODUCT_COUNT);
+        sellerProducts.getContent().forEach(productDto -> {
+            assertThat(productDto.isSeller()).isTrue();
+            assertThat(productDto.getProductImageDtos()).hasSize(TEST_IMAGE_COUNT);
+        });
+        zzimProducts.getContent().forEach(productDto -> assertThat(productDto.isZzimStatus()).isTrue());
+    }
+
+    @Test
+    public void testSliceWithoutCount() {
+        Slice<ProductCard> first = productCardRepository.findByCategorySlice(new PageRequest(0, TEST_PRODUCT_COUNT - 1), testCategory.getId());
+        assertThat(first.getContent()).hasSize(TEST_PRODUCT_COUNT - 1);
+        assertThat(first.hasNext()).isTrue();
+
+        Slice<ProductCard> last = productCardRepository.findByCategorySlice(new PageRequest(1, TEST_PRODUCT_COUNT - 1), testCategory.getId());
+        assertThat(last.getContent()).hasSize(1);
+        assertThat(last.hasNext()).isFalse();
+    }
+
+    @Test
+    public void testFindByCategoryWithCursor() {
+        // given
+        Long soldOutId = testProducts.get(TEST_PRODUCT_COUNT - 1).getId();  // 가장 최근 상품이지만 판매완료라 마지막
+        jdbcTemplate.update("UPDATE product SET status = 'SOLD_OUT' WHERE id = ?", soldOutId);
+        productCardService.refresh(soldOutId);
+
+        List<Long> expected = productCardRepository.findByCategorySlice(new PageRequest(0, TEST_PRODUCT_COUNT), testCategory.getId())
+                .getContent().stream()
+                .map(ProductCard::getProductId)
+                .collect(Collectors.toList());
+
+        // when
+        List<Long> actual = new ArrayList<>();
+        ProductCursor cursor = null;
+        List<ProductCard> productCards;
+        do {
+            productCards = productCardRepository.findByCategory(cursor, 2, testCategory.getId());
+            productCards.forEach(productCard -> actual.add(productCard.getProductId()));
+            if (!productCards.isEmpty()) {
+                cursor = ProductCursor.decode(ProductCursor.of(productCards.get(productCards.size() - 1)).encode());
+            }
+        } while (productCards.size() == 2);
+
+        // then
+        assertThat(actual).hasSize(TEST_PRODUCT_COUNT);
+        assertThat(actual).containsExactlyElementsOf(expected);
+        assertThat(actual.get(TEST_PRODUCT_COUNT - 1)).isEqualTo(soldOutId);
+    }
+
+    private List<Long> productIds() {
+        return testProducts.stream()
+                .map(Product::getId)
+                .collect(Collectors.toList());
+    }
+}
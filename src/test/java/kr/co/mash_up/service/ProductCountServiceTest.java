@@ -0,0 +1,180 @@
+package kr.co.mash_up.service;
+
+import kr.co.mash_up.builder.CategoryBuilder;
+import kr.co.mash_up.builder.ProductBuilder;
+import kr.co.mash_up.builder.ShopBuilder;
+import kr.co.mash_up.nine_tique.NineTiqueApplication;
+import kr.co.mash_up.nine_tique.domain.Category;
+import kr.co.mash_up.nine_tique.domain.Product;
+import kr.co.mash_up.nine_tique.domain.Shop;
+import kr.co.mash_up.nine_tique.repository.CategoryRepository;
+import kr.co.mash_up.nine_tique.repository.ProductRepository;
+import kr.co.mash_up.nine_tique.repository.ShopRepository;
+import kr.co.mash_up.nine_tique.service.ProductCountService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = {NineTiqueApplication.class})
+@ActiveProfiles(profiles = "test")
+public class ProductCountServiceTest {
+
+    public static final String TEST_MAIN = "countTestMain";
+    public static final String TEST_SUB = "countTestSub";
+    public static final int TEST_PRODUCT_COUNT = 5;
+
+    @Autowired
+    private ProductCountService productCountService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ShopRepository shopRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Shop testShop;
+
+    private Category testCategory;
+
+    private List<Product> testProducts;
+
+    @Before
+    public void setup() {
+        testShop = shopRepository.save(new ShopBuilder()
+                .withName("countTestShop")
+                .withInfo("info")
+                .withPhone("010-9876-5432")
+                .withEnabled(true)
+                .build());
+
+        testCategory = categoryRepository.save(new CategoryBuilder()
+                .withMain(TEST_MAIN)
+                .withSub(TEST_SUB)
+                .withEnable(true)
+                .build());
+
+        testProducts = new ArrayList<>();
+        for (int i = 0; i < TEST_PRODUCT_COUNT; i++) {
+            testProducts.add(productRepository.save(new ProductBuilder()
+                    .withName("countProduct" + i)
+                    .withEnabled(true)
+                    .withShop(testShop)
+                    .withCategory(testCategory)
+                    .build()));
+        }
+
+        productCountService.invalidate();  // 다른 테스트에서 집계된 값을 버린다.
+    }
+
+    @After
+    public void tearDown() {
+        productRepository.delete(testProducts);
+        categoryRepository.delete(testCategory.getId());
+        shopRepository.delete(testShop.getId());
+        productCountService.invalidate();
+    }
+
+    @Test
+    public void testCountByCategory() {
+        assertThat(productCountService.countByCategory(testCategory.getId())).isEqualTo(TEST_PRODUCT_COUNT);
+        assertThat(productCountService.countByMainCategory(TEST_MAIN)).isEqualTo(TEST_PRODUCT_COUNT);
+        assertThat(productCountService.countAll()).isEqualTo(productRepository.findAll(new PageRequest(0, 1)).getTotalElements());
+    }
+
+    @Test
+    public void testIncrementalUpdate() {
+        long before = productCountService.countAll();
+
+        Product soldOut = productRepository.findOne(testProducts.get(0).getId());
+        soldOut.setStatus(Product.Status.SOLD_OUT);
+        productRepository.save(soldOut);
+        productCountService.changeStatus(soldOut, Product.Status.SELL);
+        assertThat(productCountService.countByCategory(testCategory.getId())).isEqualTo(TEST_PRODUCT_COUNT);
+
+        Product deleted = productRepository.findOne(testProducts.get(1).getId());
+        deleted.setEnabled(false);
+        productRepository.save(deleted);
+        productCountService.decrease(deleted);
+        assertThat(productCountService.countByCategory(testCategory.getId())).isEqualTo(TEST_PRODUCT_COUNT - 1);
+        assertThat(productCountService.countAll()).isEqualTo(before - 1);
+
+        // 증감된 값이 DB에서 다시 집계한 값과 같아야 한다.
+        productCountService.invalidate();
+        assertThat(productCountService.countByCategory(testCategory.getId())).isEqualTo(TEST_PRODUCT_COUNT - 1);
+        assertThat(productCountService.countAll()).isEqualTo(before - 1);
+    }
+
+    @Test
+    public void testCountByStatus() {
+        Product soldOut = productRepository.findOne(testProducts.get(0).getId());
+        soldOut.setStatus(Product.Status.SOLD_OUT);
+        productRepository.save(soldOut);
+        productCountService.changeStatus(soldOut, Product.Status.SELL);
+
+        assertThat(productCountService.countByCategory(testCategory.getId(), Product.Status.SELL)).isEqualTo(TEST_PRODUCT_COUNT - 1);
+        assertThat(productCountService.countByCategory(testCategory.getId(), Product.Status.SOLD_OUT)).isEqualTo(1);
+        assertThat(productCountService.countByMainCategory(TEST_MAIN, Product.Status.SOLD_OUT)).isEqualTo(1);
+    }
+
+    @Test
+    public void testReconcile() {
+        assertThat(productCountService.countByCategory(testCategory.getId())).isEqualTo(TEST_PRODUCT_COUNT);
+        assertThat(productCountService.reconcile()).isEqualTo(0);
+
+        // 증감 없이 DB만 바뀐 경우
+        Product deleted = productRepository.findOne(testProducts.get(0).getId());
+        deleted.setEnabled(false);
+        productRepository.save(deleted);
+        long version = productCountService.getVersion();
+
+        assertThat(productCountService.reconcile()).isEqualTo(1);
+        assertThat(productCountService.countByCategory(testCategory.getId())).isEqualTo(TEST_PRODUCT_COUNT - 1);
+        assertThat(productCountService.getVersion()).isGreaterThan(version);
+    }
+
+    @Test
+    public void testReconcileSkipsPendingChange() {
+        assertThat(productCountService.countByCategory(testCategory.getId())).isEqualTo(TEST_PRODUCT_COUNT);
+
+        // commit 전에 집계되면 집계 결과와 commit 후 증감에 2번 포함되므로 건너뛰어야 한다.
+        new TransactionTemplate(transactionManager).execute(status -> {
+            Product product = productRepository.save(new ProductBuilder()
+                    .withName("countProductPending")
+                    .withEnabled(true)
+                    .withShop(testShop)
+                    .withCategory(testCategory)
+                    .build());
+            testProducts.add(product);
+            productCountService.increase(product);
+
+            productCountService.reconcile();
+            assertThat(productCountService.countByCategory(testCategory.getId())).isEqualTo(TEST_PRODUCT_COUNT);
+            return null;
+        });
+
+        assertThat(productCountService.countByCategory(testCategory.getId())).isEqualTo(TEST_PRODUCT_COUNT + 1);
+        assertThat(productCountService.reconcile()).isEqualTo(0);
+        assertThat(productCountService.countByCategory(testCategory.getId())).isEqualTo(TEST_PRODUCT_COUNT + 1);
+    }
+
+}
@@ -0,0 +1,143 @@
+package kr.co.mash_up.service;
+
+import kr.co.mash_up.nine_tique.NineTiqueApplication;
+import kr.co.mash_up.nine_tique.domain.ProductImage;
+import kr.co.mash_up.nine_tique.service.ProductImageDerivativeService;
+import kr.co.mash_up.nine_tique.util.FileUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = {NineTiqueApplication.class})
+@ActiveProfiles(profiles = "test")
+public class ProductImageDerivativeServiceTest {
+
+    @Autowired
+    private ProductImageDerivativeService productImageDerivativeService;
+
+    private File storageDir;
+
+    private File original;
+
+    @Before
+    public void setup() throws Exception {
+        storageDir = Files.createTempDirectory("9tique-derivative").toFile();
+
+        BufferedImage image = new BufferedImage(2000, 1000, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.RED);
+        graphics.fillRect(0, 0, 1000, 1000);
+        graphics.dispose();
+
+        File productDir = new File(storageDir, "product/1");
+        productDir.mkdirs();
+        original = new File(productDir, "original.png");
+        ImageIO.write(image, "png", original);
+    }
+
+    @After
+    public void tearDown() {
+        FileUtil.deleteDir(storageDir.getPath());
+    }
+
+    @Test
+    public void testGenerateDerivatives() throws Exception {
+        productImageDerivativeService.generate(original);
+
+        for (ProductImage.Derivative derivative : ProductImage.Derivative.values()) {
+            File derivativeFile = ProductImageDerivativeService.getDerivativeFile(original, derivative);
+            assertThat(derivativeFile.getName()).isEqualTo("original.png.jpg");
+
+            BufferedImage image = ImageIO.read(derivativeFile);
+            assertThat(image.getWidth()).isEqualTo(derivative.getMaxSize());
+            assertThat(image.getHeight()).isEqualTo(derivative.getMaxSize() / 2);  // 비율 유지
+        }
+        assertThat(ProductImageDerivativeService.getDerivativeFile(original, ProductImage.Derivative.THUMBNAIL).length())
+                .isLessThan(original.length());
+    }
+
+    @Test
+    public void testGenerateIsIdempotent() throws Exception {
+        File thumbnail = ProductImageDerivativeService.getDerivativeFile(original, ProductImage.Derivative.THUMBNAIL);
+
+        productImageDerivativeService.generate(original);
+        long lastModified = thumbnail.lastModified();
+        byte[] content = Files.readAllBytes(thumbnail.toPath());
+
+        productImageDerivativeService.generate(original);  // 원본이 바뀌지 않았으면 다시 만들지 않는다.
+        assertThat(thumbnail.lastModified()).isEqualTo(lastModified);
+
+        thumbnail.delete();
+        productImageDerivativeService.generate(original);  // 지워진 파생 이미지만 원본에서 다시 만든다.
+        assertThat(Files.readAllBytes(thumbnail.toPath())).isEqualTo(content);
+        assertThat(new File(thumbnail.getParentFile().getParentFile(), ProductImage.Derivative.COMPRESSED.getDirName()).list())
+                .containsExactly("original.png.jpg");  // 임시파일이 남지 않는다.
+    }
+
+    @Test
+    public void testSkipTooLargeImage() throws Exception {
+        // header에는 100000 x 100000(decode하면 40GB), 실제 pixel 데이터는 없는 PNG
+        File bomb = new File(original.getParentFile(), "bomb.png");
+        Files.write(bomb.toPath(), pngHeader(100000, 100000));
+
+        productImageDerivativeService.generate(bomb);
+
+        for (ProductImage.Derivative derivative : ProductImage.Derivative.values()) {
+            assertThat(ProductImageDerivativeService.getDerivativeFile(bomb, derivative)).doesNotExist();
+        }
+    }
+
+    @Test
+    public void testSubmitRunsInBackground() throws Exception {
+        File compressed = ProductImageDerivativeService.getDerivativeFile(original, ProductImage.Derivative.COMPRESSED);
+
+        assertThat(productImageDerivativeService.submit(original)).isTrue();
+
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!compressed.exists() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(compressed).exists();
+    }
+
+    /**
+     * PNG signature + IHDR chunk
+     */
+    private static byte[] pngHeader(int width, int height) throws Exception {
+        ByteArrayOutputStream ihdr = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(ihdr);
+        data.write("IHDR".getBytes(StandardCharsets.US_ASCII));
+        data.writeInt(width);
+        data.writeInt(height);
+        data.write(new byte[]{8, 6, 0, 0, 0});  // 8bit RGBA, deflate, filter, no interlace
+
+        CRC32 crc = new CRC32();
+        crc.update(ihdr.toByteArray());
+
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(png);
+        out.write(new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'});
+        out.writeInt(13);
+        out.write(ihdr.toByteArray());
+        out.writeInt((int) crc.getValue());
+        return png.toByteArray();
+    }
+}
@@ -0,0 +1,142 @@
+package kr.co.mash_up.service;
+
+import kr.co.mash_up.nine_tique.NineTiqueApplication;
+import kr.co.mash_up.nine_tique.config.SystemPropertiesConfig;
+import kr.co.mash_up.nine_tique.domain.ProductImage;
+import kr.co.mash_up.nine_tique.dto.ProductImageDto;
+import kr.co.mash_up.nine_tique.exception.InvalidParameterException;
+import kr.co.mash_up.nine_tique.repository.ProductImageRepository;
+import kr.co.mash_up.nine_tique.service.ProductImageService;
+import kr.co.mash_up.nine_tique.util.FileUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = {NineTiqueApplication.class})
+@ActiveProfiles(profiles = "test")
+public class ProductImageServiceTest {
+
+    public static final String BOUNDARY = "----9tiqueTestBoundary";
+
+    @Autowired
+    private ProductImageService productImageService;
+
+    @Autowired
+    private ProductImageRepository productImageRepository;
+
+    private String originalStoragePath;
+
+    private File storageDir;
+
+    private List<ProductImage> savedProductImages;
+
+    @Before
+    public void setup() throws Exception {
+        originalStoragePath = System.getProperty(SystemPropertiesConfig.STORAGE_PATH);
+        storageDir = Files.createTempDirectory("9tique-storage").toFile();
+        System.setProperty(SystemPropertiesConfig.STORAGE_PATH, storageDir.getPath());
+        savedProductImages = new ArrayList<>();
+    }
+
+    @After
+    public void tearDown() {
+        productImageRepository.delete(savedProductImages);
+        FileUtil.deleteDir(storageDir.getPath());
+        System.setProperty(SystemPropertiesConfig.STORAGE_PATH, originalStoragePath);
+    }
+
+    @Test
+    public void testStreamingUpload() throws Exception {
+        byte[] first = new byte[300 * 1024];
+        Arrays.fill(first, (byte) 1);
+        byte[] second = "second image".getBytes(StandardCharsets.UTF_8);
+
+        List<ProductImageDto> productImageDtos = productImageService.create(multipartRequest(
+                part("files", "first.jpg", first),
+                part("description", null, "form field".getBytes(StandardCharsets.UTF_8)),
+                part("files", "second.png", second)));
+
+        assertThat(productImageDtos).hasSize(2);
+
+        byte[][] expectedContents = {first, second};
+        for (int i = 0; i < productImageDtos.size(); i++) {
+            String fileName = ProductImage.getFileNameFromUrl(productImageDtos.get(i).getUrl());
+
+            File savedFile = new File(ProductImage.getImageUploadTempPath(), fileName);
+            assertThat(Files.readAllBytes(savedFile.toPath())).isEqualTo(expectedContents[i]);
+
+            ProductImage productImage = productImageRepository.findByFileName(fileName);
+            assertThat(productImage).isNotNull();
+            assertThat(productImage.getSize()).isEqualTo(expectedContents[i].length);
+            assertThat(productImage.isEnabled()).isTrue();
+            assertThat(productImage.getProduct()).isNull();
+            savedProductImages.add(productImage);
+        }
+    }
+
+    @Test
+    public void testFileSizeLimitExceeded() throws Exception {
+        long originalMaxFileSize = (long) ReflectionTestUtils.getField(productImageService, "maxFileSize");
+        ReflectionTestUtils.setField(productImageService, "maxFileSize", 1024L);
+        try {
+            productImageService.create(multipartRequest(
+                    part("files", "small.jpg", new byte[100]),
+                    part("files", "large.jpg", new byte[10 * 1024])));
+            fail("file size limit exceeded");
+        } catch (InvalidParameterException e) {
+            // 먼저 저장된 파일도 rollback과 함께 삭제된다.
+            File tempDir = new File(ProductImage.getImageUploadTempPath());
+            assertThat(tempDir.list()).isNullOrEmpty();
+        } finally {
+            ReflectionTestUtils.setField(productImageService, "maxFileSize", originalMaxFileSize);
+        }
+    }
+
+    private static byte[] part(String name, String fileName, byte[] content) throws Exception {
+        ByteArrayOutputStream part = new ByteArrayOutputStream();
+        StringBuilder header = new StringBuilder("--" + BOUNDARY + "\r\n")
+                .append("Content-Disposition: form-data; name=\"").append(name).append("\"");
+        if (fileName != null) {
+            header.append("; filename=\"").append(fileName).append("\"\r\n")
+                    .append("Content-Type: application/octet-stream");
+        }
+        header.append("\r\n\r\n");
+
+        part.write(header.toString().getBytes(StandardCharsets.UTF_8));
+        part.write(content);
+        part.write("\r\n".getBytes(StandardCharsets.UTF_8));
+        return part.toByteArray();
+    }
+
+    private static MockHttpServletRequest multipartRequest(byte[]... parts) throws Exception {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            body.write(part);
+        }
+        body.write(("--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/product_images");
+        request.setContentType("multipart/form-data; boundary=" + BOUNDARY);
+        request.setContent(body.toByteArray());
+        return request;
+    }
+}
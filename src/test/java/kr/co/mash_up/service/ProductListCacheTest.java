@@ -0,0 +1,279 @@
+package kr.co.mash_up.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.co.mash_up.builder.CategoryBuilder;
+import kr.co.mash_up.builder.ProductBuilder;
+import kr.co.mash_up.builder.ShopBuilder;
+import kr.co.mash_up.nine_tique.NineTiqueApplication;
+import kr.co.mash_up.nine_tique.config.JwtSettings;
+import kr.co.mash_up.nine_tique.domain.*;
+import kr.co.mash_up.nine_tique.dto.ProductDto;
+import kr.co.mash_up.nine_tique.repository.*;
+import kr.co.mash_up.nine_tique.security.Authorities;
+import kr.co.mash_up.nine_tique.security.JwtAuthenticationTokenFilter;
+import kr.co.mash_up.nine_tique.security.JwtTokenUtil;
+import kr.co.mash_up.nine_tique.service.CategoryRegistry;
+import kr.co.mash_up.nine_tique.service.ProductCardService;
+import kr.co.mash_up.nine_tique.service.ProductCountService;
+import kr.co.mash_up.nine_tique.service.ProductListCache;
+import kr.co.mash_up.nine_tique.service.ProductService;
+import kr.co.mash_up.nine_tique.vo.DataListResponseVO;
+import kr.co.mash_up.nine_tique.vo.ProductListRequestVO;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.servlet.Filter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static kr.co.mash_up.nine_tique.util.Constant.RestEndpoint.API_PRODUCT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.setup.MockMvcBuilders.webAppContextSetup;
+
+@WebAppConfiguration
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = {NineTiqueApplication.class})
+@ActiveProfiles(profiles = "test")
+public class ProductListCacheTest {
+
+    public static final String TEST_MAIN = "LIST_CACHE_TEST_MAIN";
+    public static final String TEST_SUB = "LIST_CACHE_TEST_SUB";
+    public static final int TEST_PRODUCT_COUNT = 5;
+    public static final int TEST_PAGE_SIZE = 3;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private JwtTokenUtil jwtTokenUtil;
+
+    @Autowired
+    private JwtSettings jwtSettings;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryRegistry categoryRegistry;
+
+    @Autowired
+    private ProductCardService productCardService;
+
+    @Autowired
+    private ProductCountService productCountService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuthorityRepository authorityRepository;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @Autowired
+    private ZzimRepository zzimRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ShopRepository shopRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mockMvc;
+
+    private Shop testShop;
+
+    private Category testCategory;
+
+    private User testUser;
+
+    private User otherUser;
+
+    private Seller testSeller;
+
+    private Zzim testZzim;
+
+    private List<Product> testProducts;
+
+    @Before
+    public void setup() {
+        mockMvc = webAppContextSetup(webApplicationContext)
+                .addFilters(webApplicationContext.getBean("springSecurityFilterChain", Filter.class))
+                .build();
+
+        testShop = shopRepository.save(new ShopBuilder()
+                .withName("listCacheTestShop")
+                .withInfo("info")
+                .withPhone("010-5555-6666")
+                .withEnabled(true)
+                .build());
+        testCategory = categoryRepository.save(new CategoryBuilder()
+                .withMain(TEST_MAIN)
+                .withSub(TEST_SUB)
+                .withEnable(true)
+                .build());
+        categoryRegistry.refresh();
+
+        testUser = saveUser("listCacheTestOauthToken");
+        otherUser = saveUser("listCacheOtherOauthToken");
+
+        testProducts = new ArrayList<>();
+        for (int i = 0; i < TEST_PRODUCT_COUNT; i++) {
+            testProducts.add(productRepository.save(new ProductBuilder()
+                    .withName("listCacheProduct" + i)
+                    .withEnabled(true)
+                    .withShop(testShop)
+                    .withCategory(testCategory)
+                    .build()));
+        }
+
+        // testUser - 모든 상품 찜, 첫번째 상품만 판매
+        testSeller = sellerRepository.save(new Seller(testShop, testUser));
+        testZzim = zzimRepository.save(new Zzim(testUser));
+        jdbcTemplate.update("INSERT INTO seller_product (seller_id, product_id, enabled, created_at, updated_at) "
+                + "VALUES (?, ?, TRUE, NOW(), NOW())", testSeller.getId(), testProducts.get(0).getId());
+        testProducts.forEach(product -> jdbcTemplate.update("INSERT INTO zzim_product (zzim_id, product_id, enabled, created_at, updated_at) "
+                + "VALUES (?, ?, TRUE, NOW(), NOW())", testZzim.getId(), product.getId()));
+
+        productCardService.refresh(productIds());
+        productCountService.invalidate();
+    }
+
+    @After
+    public void tearDown() {
+        productCardService.remove(productIds());
+        jdbcTemplate.update("DELETE FROM zzim_product WHERE zzim_id = ?", testZzim.getId());
+        jdbcTemplate.update("DELETE FROM seller_product WHERE seller_id = ?", testSeller.getId());
+        jdbcTemplate.update("DELETE FROM zzim WHERE id = ?", testZzim.getId());
+        jdbcTemplate.update("DELETE FROM seller WHERE id = ?", testSeller.getId());
+        productIds().forEach(productId -> jdbcTemplate.update("DELETE FROM product WHERE id = ?", productId));
+        userRepository.delete(testUser.getId());
+        userRepository.delete(otherUser.getId());
+        categoryRepository.delete(testCategory.getId());
+        shopRepository.delete(testShop.getId());
+        categoryRegistry.refresh();
+        productCountService.invalidate();
+    }
+
+    @Test
+    public void testSameAsUncachedResponse() throws Exception {
+        for (int pageNo = 0; pageNo < 2; pageNo++) {
+            for (boolean withTotal : new boolean[]{true, false}) {
+                ProductListRequestVO requestVO = request(pageNo, withTotal);
+
+                JsonNode uncached = objectMapper.readTree(objectMapper.writeValueAsBytes(
+                        new DataListResponseVO<ProductDto>(productService.findProductsByCategory(testUser.getId(), requestVO))));
+                JsonNode cached = objectMapper.readTree(
+                        productService.findProductsByCategoryCached(testUser.getId(), requestVO).getBody());
+
+                assertThat(cached.get("list").size()).isGreaterThan(0);
+                assertThat(cached).isEqualTo(uncached);
+            }
+        }
+    }
+
+    @Test
+    public void testUserFlags() throws Exception {
+        ProductListRequestVO requestVO = request(0, true);
+
+        ProductListCache.UserPage testUserPage = productService.findProductsByCategoryCached(testUser.getId(), requestVO);
+        ProductListCache.UserPage otherUserPage = productService.findProductsByCategoryCached(otherUser.getId(), requestVO);
+
+        for (JsonNode product : objectMapper.readTree(testUserPage.getBody()).get("list")) {
+            assertThat(product.get("zzim_status").asBoolean()).isTrue();
+            assertThat(product.get("seller").asBoolean()).isEqualTo(product.get("id").asLong() == testProducts.get(0).getId());
+        }
+        for (JsonNode product : objectMapper.readTree(otherUserPage.getBody()).get("list")) {
+            assertThat(product.get("zzim_status").asBoolean()).isFalse();
+            assertThat(product.get("seller").asBoolean()).isFalse();
+        }
+
+        // 같은 페이지(hash)라도 유저별 값이 다르면 ETag가 다르다.
+        assertThat(testUserPage.getETag()).isNotEqualTo(otherUserPage.getETag());
+        assertThat(productService.findProductsByCategoryCached(testUser.getId(), requestVO).getETag())
+                .isEqualTo(testUserPage.getETag());
+    }
+
+    @Test
+    public void testInvalidateOnProductChange() throws Exception {
+        ProductListRequestVO requestVO = request(0, true);
+        Product newest = testProducts.get(TEST_PRODUCT_COUNT - 1);
+
+        String eTag = productService.findProductsByCategoryCached(testUser.getId(), requestVO).getETag();
+
+        jdbcTemplate.update("UPDATE product SET name = ? WHERE id = ?", "listCacheRenamed", newest.getId());
+        productCardService.refresh(newest.getId());
+
+        ProductListCache.UserPage page = productService.findProductsByCategoryCached(testUser.getId(), requestVO);
+        List<String> names = new ArrayList<>();
+        objectMapper.readTree(page.getBody()).get("list").forEach(product -> names.add(product.get("name").asText()));
+
+        assertThat(names).contains("listCacheRenamed");
+        assertThat(page.getETag()).isNotEqualTo(eTag);
+    }
+
+    @Test
+    public void testNotModified() throws Exception {
+        String authorization = JwtAuthenticationTokenFilter.HEADER_PREFIX + jwtTokenUtil.generateToken(testUser);
+        String url = API_PRODUCT + "?mainCategory=" + TEST_MAIN + "&subCategory=" + TEST_SUB + "&pageSize=" + TEST_PAGE_SIZE;
+
+        MvcResult result = mockMvc.perform(get(url).header(jwtSettings.getTokenHeader(), authorization))
+                .andExpect(status().isOk())
+                .andReturn();
+        String eTag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).isNotEmpty();
+        assertThat(objectMapper.readTree(result.getResponse().getContentAsByteArray()).get("list")).hasSize(TEST_PAGE_SIZE);
+
+        mockMvc.perform(get(url).header(jwtSettings.getTokenHeader(), authorization).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+    }
+
+    private ProductListRequestVO request(int pageNo, boolean withTotal) {
+        ProductListRequestVO requestVO = new ProductListRequestVO();
+        requestVO.setMainCategory(TEST_MAIN);
+        requestVO.setSubCategory(TEST_SUB);
+        requestVO.setPageNo(pageNo);
+        requestVO.setPageSize(TEST_PAGE_SIZE);
+        requestVO.setWithTotal(withTotal);
+        return requestVO;
+    }
+
+    private User saveUser(String oauthToken) {
+        User user = new User(oauthToken, User.OauthType.KAKAO, new HashSet<>());
+        user.addAuthority(authorityRepository.findByAuthority(Authorities.USER));
+        return userRepository.save(user);
+    }
+
+    private List<Long> productIds() {
+        return testProducts.stream().map(Product::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,192 @@
+package kr.co.mash_up.service;
+
+import kr.co.mash_up.builder.CategoryBuilder;
+import kr.co.mash_up.builder.ProductBuilder;
+import kr.co.mash_up.builder.ShopBuilder;
+import kr.co.mash_up.nine_tique.NineTiqueApplication;
+import kr.co.mash_up.nine_tique.domain.Category;
+import kr.co.mash_up.nine_tique.domain.Product;
+import kr.co.mash_up.nine_tique.domain.ProductImage;
+import kr.co.mash_up.nine_tique.domain.Shop;
+import kr.co.mash_up.nine_tique.dto.ProductDto;
+import kr.co.mash_up.nine_tique.repository.CategoryRepository;
+import kr.co.mash_up.nine_tique.repository.ProductImageRepository;
+import kr.co.mash_up.nine_tique.repository.ProductRepository;
+import kr.co.mash_up.nine_tique.repository.ShopRepository;
+import kr.co.mash_up.nine_tique.service.ProductCardService;
+import kr.co.mash_up.nine_tique.service.ProductService;
+import kr.co.mash_up.nine_tique.vo.ProductListRequestVO;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static kr.co.mash_up.nine_tique.util.Constant.CacheNames.PRODUCT_DETAIL;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = {NineTiqueApplication.class})
+@ActiveProfiles(profiles = "test")
+public class ProductServiceTest {
+
+    public static final String TEST_MAIN = "SERVICE_TEST_MAIN";
+    public static final String TEST_SUB = "SERVICE_TEST_SUB";
+    public static final int TEST_PRODUCT_COUNT = 20;
+    public static final int TEST_IMAGE_COUNT = 3;
+
+    /*
+    상품 카드 조회 1 + 유저의 찜/판매 상품 조회 2
+    카테고리는 CategoryRegistry에서 찾고, shop, category, 이미지는 product_card에 비정규화되어 있으므로 페이지 크기와 상관없이 고정
+     */
+    public static final long MAX_LIST_STATEMENT_COUNT = 3;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductImageRepository productImageRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ShopRepository shopRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProductCardService productCardService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Shop testShop;
+
+    private Category testCategory;
+
+    private List<Product> testProducts;
+
+    private List<ProductImage> testProductImages;
+
+    @Before
+    public void setup() {
+        testShop = shopRepository.save(new ShopBuilder()
+                .withName("serviceTestShop")
+                .withInfo("info")
+                .withPhone("010-5555-5555")
+                .withEnabled(true)
+                .build());
+
+        testCategory = categoryRepository.save(new CategoryBuilder()
+                .withMain(TEST_MAIN)
+                .withSub(TEST_SUB)
+                .withEnable(true)
+                .build());
+
+        testProducts = new ArrayList<>();
+        testProductImages = new ArrayList<>();
+        for (int i = 0; i < TEST_PRODUCT_COUNT; i++) {
+            Product product = productRepository.save(new ProductBuilder()
+                    .withName("serviceProduct" + i)
+                    .withEnabled(true)
+                    .withShop(testShop)
+                    .withCategory(testCategory)
+                    .build());
+            testProducts.add(product);
+
+            for (int j = 0; j < TEST_IMAGE_COUNT; j++) {
+                ProductImage productImage = new ProductImage();
+                productImage.setFileName("serviceTest" + i + "_" + j + ".jpg");
+                productImage.setOriginalFileName("original.jpg");
+                productImage.setEnabled(true);
+                productImage.setProduct(product);
+                testProductImages.add(productImageRepository.save(productImage));
+            }
+        }
+        productCardService.refresh(productIds());
+    }
+
+    @After
+    public void tearDown() {
+        productImageRepository.delete(testProductImages);
+        productRepository.delete(testProducts);
+        productCardService.refresh(productIds());  // 삭제된 상품의 카드 제거, 캐시 evict
+        categoryRepository.delete(testCategory.getId());
+        shopRepository.delete(testShop.getId());
+    }
+
+    @Test
+    public void testListStatementCountIsBounded() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        findProducts(TEST_PRODUCT_COUNT);  // 상품 수 캐시 집계, 카테고리 index 갱신 등 첫 조회에만 나가는 쿼리 제외
+
+        statistics.clear();
+        Slice<ProductDto> small = findProducts(5);
+        long smallPageStatementCount = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        Slice<ProductDto> large = findProducts(TEST_PRODUCT_COUNT);
+        long largePageStatementCount = statistics.getPrepareStatementCount();
+
+        assertThat(small.getContent()).hasSize(5);
+        assertThat(large.getContent()).hasSize(TEST_PRODUCT_COUNT);
+        large.getContent().forEach(productDto -> assertThat(productDto.getProductImageDtos()).hasSize(TEST_IMAGE_COUNT));
+
+        assertThat(largePageStatementCount).isLessThanOrEqualTo(MAX_LIST_STATEMENT_COUNT);
+        assertThat(largePageStatementCount).isEqualTo(smallPageStatementCount);
+    }
+
+    @Test
+    public void testDetailIsCachedAndEvicted() {
+        Long productId = testProducts.get(0).getId();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache(PRODUCT_DETAIL);
+        long beforeHitCount = cache.getNativeCache().stats().hitCount();
+
+        ProductDto first = productService.findOne(0L, productId);
+        assertThat(cache.get(productId)).isNotNull();
+
+        statistics.clear();
+        ProductDto second = productService.findOne(0L, productId);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);  // 찜/판매자 여부만 조회
+        assertThat(cache.getNativeCache().stats().hitCount()).isGreaterThan(beforeHitCount);
+        assertThat(second.getName()).isEqualTo(first.getName());
+        assertThat(second.getProductImageDtos()).hasSize(TEST_IMAGE_COUNT);
+
+        productCardService.evict(productId);
+        assertThat(cache.get(productId)).isNull();
+    }
+
+    private List<Long> productIds() {
+        return testProducts.stream()
+                .map(Product::getId)
+                .collect(Collectors.toList());
+    }
+
+    private Slice<ProductDto> findProducts(int pageSize) {
+        ProductListRequestVO requestVO = new ProductListRequestVO();
+        requestVO.setMainCategory(TEST_MAIN);
+        requestVO.setSubCategory(TEST_SUB);
+        requestVO.setPageSize(pageSize);
+        return productService.findProductsByCategory(0L, requestVO);
+    }
+}
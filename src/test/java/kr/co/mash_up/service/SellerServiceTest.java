@@ -0,0 +1,241 @@
+package kr.co.mash_up.service;
+
+import kr.co.mash_up.builder.CategoryBuilder;
+import kr.co.mash_up.builder.ProductBuilder;
+import kr.co.mash_up.builder.ShopBuilder;
+import kr.co.mash_up.nine_tique.NineTiqueApplication;
+import kr.co.mash_up.nine_tique.domain.*;
+import kr.co.mash_up.nine_tique.exception.UserIdNotMatchedException;
+import kr.co.mash_up.nine_tique.repository.*;
+import kr.co.mash_up.nine_tique.service.ProductCountService;
+import kr.co.mash_up.nine_tique.service.SellerService;
+import kr.co.mash_up.nine_tique.vo.ProductDeleteRequestVO;
+import kr.co.mash_up.nine_tique.vo.ProductRequestVO;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = {NineTiqueApplication.class})
+@ActiveProfiles(profiles = "test")
+public class SellerServiceTest {
+
+    public static final int TEST_PRODUCT_COUNT = 10;
+    public static final int TEST_IMAGE_COUNT = 2;
+
+    @Autowired
+    private SellerService sellerService;
+
+    @Autowired
+    private ProductCountService productCountService;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @Autowired
+    private ZzimRepository zzimRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductImageRepository productImageRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ShopRepository shopRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Shop testShop;
+
+    private Shop otherShop;
+
+    private Category testCategory;
+
+    private User testUser;
+
+    private Seller testSeller;
+
+    private Zzim testZzim;
+
+    private List<Product> testProducts;
+
+    private Product otherProduct;
+
+    @Before
+    public void setup() {
+        testShop = shopRepository.save(new ShopBuilder()
+                .withName("sellerTestShop")
+                .withInfo("info")
+                .withPhone("010-3333-4444")
+                .withEnabled(true)
+                .build());
+        otherShop = shopRepository.save(new ShopBuilder()
+                .withName("sellerTestOtherShop")
+                .withInfo("info")
+                .withPhone("010-3333-5555")
+                .withEnabled(true)
+                .build());
+        testCategory = categoryRepository.save(new CategoryBuilder()
+                .withMain("SELLER_TEST_MAIN")
+                .withSub("SELLER_TEST_SUB")
+                .withEnable(true)
+                .build());
+        testUser = userRepository.save(new User("sellerTestOauthToken", User.OauthType.KAKAO, new HashSet<>()));
+
+        testProducts = new ArrayList<>();
+        for (int i = 0; i < TEST_PRODUCT_COUNT; i++) {
+            testProducts.add(saveProduct("sellerProduct" + i, testShop));
+        }
+        otherProduct = saveProduct("otherProduct", otherShop);
+
+        testSeller = sellerRepository.save(new Seller(testShop, testUser));
+        testZzim = zzimRepository.save(new Zzim(testUser));
+
+        // detached 상품을 cascade로 merge하지 않도록 연결 row는 직접 insert
+        testProducts.forEach(product -> {
+            jdbcTemplate.update("INSERT INTO seller_product (seller_id, product_id, enabled, created_at, updated_at) "
+                    + "VALUES (?, ?, TRUE, NOW(), NOW())", testSeller.getId(), product.getId());
+            jdbcTemplate.update("INSERT INTO zzim_product (zzim_id, product_id, enabled, created_at, updated_at) "
+                    + "VALUES (?, ?, TRUE, NOW(), NOW())", testZzim.getId(), product.getId());
+        });
+
+        productCountService.invalidate();  // 다른 테스트에서 집계된 값을 버린다.
+    }
+
+    @After
+    public void tearDown() {
+        List<Long> productIds = testProducts.stream().map(Product::getId).collect(Collectors.toList());
+        productIds.add(otherProduct.getId());
+
+        jdbcTemplate.update("DELETE FROM zzim_product WHERE zzim_id = ?", testZzim.getId());
+        jdbcTemplate.update("DELETE FROM seller_product WHERE seller_id = ?", testSeller.getId());
+        jdbcTemplate.update("DELETE FROM zzim WHERE id = ?", testZzim.getId());
+        jdbcTemplate.update("DELETE FROM seller WHERE id = ?", testSeller.getId());
+        productIds.forEach(productId -> {
+            jdbcTemplate.update("DELETE FROM product_image WHERE product_id = ?", productId);
+            jdbcTemplate.update("DELETE FROM product WHERE id = ?", productId);
+        });
+        userRepository.delete(testUser.getId());
+        categoryRepository.delete(testCategory.getId());
+        shopRepository.delete(testShop.getId());
+        shopRepository.delete(otherShop.getId());
+        productCountService.invalidate();
+    }
+
+    @Test
+    public void testDeleteProductsStatementCountIsBounded() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long before = productCountService.countByCategory(testCategory.getId());
+
+        statistics.clear();
+        sellerService.deleteProducts(testUser.getId(), deleteRequest(testProducts.subList(0, 2)));
+        long smallStatementCount = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        sellerService.deleteProducts(testUser.getId(), deleteRequest(testProducts.subList(2, TEST_PRODUCT_COUNT)));
+        long largeStatementCount = statistics.getPrepareStatementCount();
+
+        assertThat(largeStatementCount).isEqualTo(smallStatementCount);
+        assertDisabled(0);
+        assertThat(productCountService.countByCategory(testCategory.getId())).isEqualTo(before - TEST_PRODUCT_COUNT);
+    }
+
+    @Test
+    public void testDeleteProductsNotOwned() {
+        List<Product> products = new ArrayList<>(testProducts);
+        products.add(otherProduct);
+
+        try {
+            sellerService.deleteProducts(testUser.getId(), deleteRequest(products));
+            fail("delete other shop product");
+        } catch (UserIdNotMatchedException e) {
+            assertDisabled(TEST_PRODUCT_COUNT);
+            assertThat(productRepository.findOne(otherProduct.getId()).isEnabled()).isTrue();
+        }
+    }
+
+    @Test
+    public void testDeleteProductsAll() {
+        sellerService.deleteProductsAll(testUser.getId());
+
+        assertDisabled(0);
+        assertThat(productRepository.findOne(otherProduct.getId()).isEnabled()).isTrue();
+    }
+
+    private Product saveProduct(String name, Shop shop) {
+        Product product = productRepository.save(new ProductBuilder()
+                .withName(name)
+                .withEnabled(true)
+                .withShop(shop)
+                .withCategory(testCategory)
+                .build());
+
+        for (int i = 0; i < TEST_IMAGE_COUNT; i++) {
+            ProductImage productImage = new ProductImage();
+            productImage.setFileName(name + "_" + i + ".jpg");
+            productImage.setOriginalFileName("original.jpg");
+            productImage.setEnabled(true);
+            productImage.setProduct(product);
+            productImageRepository.save(productImage);
+        }
+        return product;
+    }
+
+    private ProductDeleteRequestVO deleteRequest(List<Product> products) {
+        ProductDeleteRequestVO requestVO = new ProductDeleteRequestVO();
+        requestVO.setProducts(products.stream()
+                .map(product -> {
+                    ProductRequestVO productRequestVO = new ProductRequestVO();
+                    productRequestVO.setId(product.getId());
+                    return productRequestVO;
+                })
+                .collect(Collectors.toList()));
+        return requestVO;
+    }
+
+    /**
+     * 판매자 상품과 이미지, 판매자 상품, 찜 상품 중 enable된 개수 확인
+     */
+    private void assertDisabled(int expectedEnabledCount) {
+        assertThat(count("SELECT COUNT(*) FROM product p JOIN seller_product sp ON sp.product_id = p.id "
+                + "WHERE sp.seller_id = ? AND p.enabled = TRUE")).isEqualTo(expectedEnabledCount);
+        assertThat(count("SELECT COUNT(*) FROM product_image pi JOIN seller_product sp ON sp.product_id = pi.product_id "
+                + "WHERE sp.seller_id = ? AND pi.enabled = TRUE")).isEqualTo(expectedEnabledCount * TEST_IMAGE_COUNT);
+        assertThat(count("SELECT COUNT(*) FROM seller_product WHERE seller_id = ? AND enabled = TRUE"))
+                .isEqualTo(expectedEnabledCount);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM zzim_product WHERE zzim_id = ? AND enabled = TRUE",
+                Long.class, testZzim.getId())).isEqualTo(expectedEnabledCount);
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class, testSeller.getId());
+    }
+}
@@ -0,0 +1,30 @@
+package kr.co.mash_up.util;
+
+import kr.co.mash_up.nine_tique.util.LatencyHistogram;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testPercentileOfRecentWindow() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram(200, TimeUnit.MILLISECONDS, 2);
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(1_000));
+        assertThat(histogram.getMaxMillis()).isGreaterThan(900);
+
+        // window가 지나면 예전 값은 percentile, max에서 빠진다.
+        Thread.sleep(300);
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(10));
+        assertThat(histogram.getMaxMillis()).isLessThan(11);
+        assertThat(histogram.getPercentileMillis(0.99)).isLessThan(11);
+
+        // count, sum, bucket은 누적
+        assertThat(histogram.getCount()).isEqualTo(2);
+        assertThat(histogram.getTotalMillis()).isEqualTo(1_010.0);
+        long[] cumulativeCounts = histogram.getCumulativeCounts();
+        assertThat(cumulativeCounts[cumulativeCounts.length - 1]).isEqualTo(2);
+    }
+}